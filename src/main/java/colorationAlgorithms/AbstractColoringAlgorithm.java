@@ -0,0 +1,165 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.ArrayList;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Base of the coloring algorithms working on the {@link Adjacency} of a graph and keeping the
+ * conflicts of their coloring in a {@link ConflictLedger}.
+ * <p>
+ * A run stores its coloring in {@link #nodeColors} and its conflicts in a new ledger in
+ * {@link #conflictLedger}, from which the number of conflicts and the list of conflicts are read.
+ */
+public abstract class AbstractColoringAlgorithm implements ColoringAlgorithm {
+
+    /** The graph to be colored. */
+    final GraphPlus graph;
+
+    /** The adjacency of the graph. */
+    final Adjacency adjacency;
+
+    /** Maximum number of colors, 0 or less when the number of colors is not limited. */
+    int kMax;
+
+    /** Condition checked during the coloring to stop it early, null to always run to the end. */
+    BooleanSupplier stopCondition;
+
+    /** Colors assigned to each node. */
+    int[] nodeColors;
+
+    /** Conflicts of the coloring. */
+    ConflictLedger conflictLedger;
+
+    /** Ledger from which indConflictsList was built. */
+    private ConflictLedger listedLedger;
+
+    /** List of the conflicts, built from the ledger on first use. */
+    private ArrayList<int[]> indConflictsList;
+
+    /**
+     * Constructs an algorithm coloring a graph with its kMax.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
+     */
+    AbstractColoringAlgorithm(GraphPlus newGraph, Adjacency newAdjacency) {
+        graph = newGraph;
+        adjacency = newAdjacency;
+        kMax = graph.getKMax();
+    }
+
+    /**
+     * Sets a new maximum number of colors (kMax).
+     * @param newKMax The new maximum number of colors.
+     */
+    @Override
+    public void setKMax(int newKMax) {
+        kMax = newKMax;
+    }
+
+    /**
+     * Sets a condition checked during the coloring, which ends it as soon as it is true.
+     * @param newStopCondition The condition, null to always run to the end.
+     */
+    @Override
+    public void setStopCondition(BooleanSupplier newStopCondition) {
+        stopCondition = newStopCondition;
+    }
+
+    /**
+     * Checks the stop condition.
+     * @return True if the coloring must stop.
+     */
+    boolean isStopped() {
+        return stopCondition != null && stopCondition.getAsBoolean();
+    }
+
+    /**
+     * Finds the color shared by the fewest colored neighbors of a node (the lowest one in case of a tie).
+     *
+     * @param nodeIndex the index of the node
+     * @param colorCounts scratch array of one counter per color, all zero, left all zero
+     * @return the least conflict color
+     */
+    int getLeastConflictColor(int nodeIndex, int[] colorCounts) {
+        int[] adjStart = adjacency.adjStart;
+        int[] adjNodes = adjacency.adjNodes;
+        for (int jj = adjStart[nodeIndex]; jj < adjStart[nodeIndex + 1]; jj++) {
+            if (nodeColors[adjNodes[jj]] != -1)
+                colorCounts[nodeColors[adjNodes[jj]]]++;
+        }
+        int leastConflictColor = 0;
+        for (int color = 1; color < colorCounts.length; color++) {
+            if (colorCounts[color] < colorCounts[leastConflictColor])
+                leastConflictColor = color;
+        }
+        for (int jj = adjStart[nodeIndex]; jj < adjStart[nodeIndex + 1]; jj++) {
+            if (nodeColors[adjNodes[jj]] != -1)
+                colorCounts[nodeColors[adjNodes[jj]]] = 0;
+        }
+        return leastConflictColor;
+    }
+
+    /**
+     * Gives a node the lowest color not used by its colored neighbors, or the last color if they use them all.
+     *
+     * @param node The node.
+     * @param colorMarks Scratch array of one mark per color, all different from node + 1.
+     */
+    void colorFirstFit(int node, int[] colorMarks) {
+        for (int jj = adjacency.adjStart[node]; jj < adjacency.adjStart[node + 1]; jj++) {
+            int color = nodeColors[adjacency.adjNodes[jj]];
+            if (color != -1)
+                colorMarks[color] = node + 1;
+        }
+        int color = 0;
+        while (color < colorMarks.length - 1 && colorMarks[color] == node + 1) {
+            color++;
+        }
+        nodeColors[node] = color;
+    }
+
+    /**
+     * Retrieves the colors assigned to each node.
+     * @return The array of node colors.
+     */
+    @Override
+    public int[] getNodeColors() {
+        return nodeColors;
+    }
+
+    /**
+     * Retrieves the number of conflicts in the graph.
+     * @return The number of conflicts.
+     */
+    @Override
+    public int getNbConflicts() {
+        return conflictLedger.getNbConflicts();
+    }
+
+    /**
+     * Retrieves the list of conflicts in the graph.
+     * @return The list of conflicts.
+     */
+    @Override
+    public ArrayList<int[]> getIndConflictsList() {
+        if (listedLedger != conflictLedger) {
+            indConflictsList = conflictLedger.getConflictList();
+            listedLedger = conflictLedger;
+        }
+        return indConflictsList;
+    }
+
+    /**
+     * Retrieves the conflicts of the coloring.
+     * @return The ledger of the conflicts.
+     */
+    ConflictLedger getConflictLedger() {
+        return conflictLedger;
+    }
+
+    @Override
+    public GraphPlus getGraph() { return graph; }
+}
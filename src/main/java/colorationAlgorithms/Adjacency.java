@@ -0,0 +1,226 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.Node;
+
+import java.util.Arrays;
+
+/**
+ * Immutable adjacency of a graph in compressed row storage.
+ * <p>
+ * The neighbors of node {@code ii} are {@code adjNodes[adjStart[ii]]} to
+ * {@code adjNodes[adjStart[ii + 1] - 1]}, one entry per edge, in the order of the edges of
+ * the GraphStream node. It is built once from the graph and only read afterwards, so it can
+ * be shared by several colorings running on different threads.
+ */
+public class Adjacency {
+
+    /** Start offset of the neighbors of each node in adjNodes. */
+    final int[] adjStart;
+
+    /** Indexes of the neighbors of each node, one entry per edge. */
+    final int[] adjNodes;
+
+    /** Entry of the same edge seen from the neighbor, for each entry (computed on first use). */
+    private volatile int[] mirrors;
+
+    /**
+     * Constructs the adjacency of a graph.
+     *
+     * @param graph The graph.
+     */
+    public Adjacency(GraphPlus graph) {
+        int nbNodes = graph.getNodeCount();
+        adjStart = new int[nbNodes + 1];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            adjStart[ii + 1] = adjStart[ii] + graph.getNode(ii).getDegree();
+        }
+        adjNodes = new int[adjStart[nbNodes]];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            Node node = graph.getNode(ii);
+            int pos = adjStart[ii];
+            for (int jj = 0; jj < node.getDegree(); jj++) {
+                Edge edge = node.getEdge(jj);
+                adjNodes[pos++] = edge.getOpposite(node).getIndex();
+            }
+        }
+    }
+
+    /**
+     * Constructs an adjacency from its arrays.
+     *
+     * @param newAdjStart The start offset of the neighbors of each node, plus the total number of entries.
+     * @param newAdjNodes The neighbors of each node.
+     */
+    private Adjacency(int[] newAdjStart, int[] newAdjNodes) {
+        adjStart = newAdjStart;
+        adjNodes = newAdjNodes;
+    }
+
+    /**
+     * Retrieves the number of nodes.
+     *
+     * @return The number of nodes.
+     */
+    public int size() {
+        return adjStart.length - 1;
+    }
+
+    /**
+     * Retrieves the degree of a node.
+     *
+     * @param node The node.
+     * @return The number of edges of the node.
+     */
+    public int getDegree(int node) {
+        return adjStart[node + 1] - adjStart[node];
+    }
+
+    /**
+     * Retrieves the degree of every node.
+     *
+     * @return A new array holding the degree of each node.
+     */
+    public int[] getDegrees() {
+        int[] degrees = new int[size()];
+        for (int ii = 0; ii < degrees.length; ii++) {
+            degrees[ii] = getDegree(ii);
+        }
+        return degrees;
+    }
+
+    /**
+     * Retrieves the highest degree of the graph.
+     *
+     * @return The highest number of edges of a node, 0 for an empty graph.
+     */
+    public int getMaxDegree() {
+        int maxDegree = 0;
+        for (int ii = 0; ii < size(); ii++) {
+            maxDegree = Math.max(maxDegree, getDegree(ii));
+        }
+        return maxDegree;
+    }
+
+    /**
+     * Retrieves a neighbor of a node.
+     *
+     * @param node The node.
+     * @param ind The index of the neighbor, in [0, degree).
+     * @return The index of the neighbor.
+     */
+    public int getNeighbor(int node, int ind) {
+        return adjNodes[adjStart[node] + ind];
+    }
+
+    /**
+     * Labels the connected components of the graph.
+     *
+     * @return The component of each node, numbered from 0 by increasing lowest node.
+     */
+    public int[] getComponentIds() {
+        int nbNodes = size();
+        int[] componentIds = new int[nbNodes];
+        Arrays.fill(componentIds, -1);
+        int[] stack = new int[nbNodes];
+        int nbComponents = 0;
+        for (int ii = 0; ii < nbNodes; ii++) {
+            if (componentIds[ii] != -1)
+                continue;
+            int stackSize = 0;
+            stack[stackSize++] = ii;
+            componentIds[ii] = nbComponents;
+            while (stackSize > 0) {
+                int node = stack[--stackSize];
+                for (int jj = adjStart[node]; jj < adjStart[node + 1]; jj++) {
+                    if (componentIds[adjNodes[jj]] == -1) {
+                        componentIds[adjNodes[jj]] = nbComponents;
+                        stack[stackSize++] = adjNodes[jj];
+                    }
+                }
+            }
+            nbComponents++;
+        }
+        return componentIds;
+    }
+
+    /**
+     * Builds the adjacency of the subgraph induced by some nodes.
+     *
+     * @param nodes The nodes of the subgraph; node {@code nodes[ii]} becomes node {@code ii}.
+     * @param localIndexes The index in the subgraph of each node of the graph, -1 for the nodes left out.
+     *                     Only the entries of the nodes and of their neighbors are read.
+     * @return The adjacency of the subgraph, keeping the edges between two of its nodes.
+     */
+    public Adjacency getInducedSubgraph(int[] nodes, int[] localIndexes) {
+        int[] subStart = new int[nodes.length + 1];
+        for (int ii = 0; ii < nodes.length; ii++) {
+            int nbKept = 0;
+            for (int jj = adjStart[nodes[ii]]; jj < adjStart[nodes[ii] + 1]; jj++) {
+                if (localIndexes[adjNodes[jj]] != -1)
+                    nbKept++;
+            }
+            subStart[ii + 1] = subStart[ii] + nbKept;
+        }
+        int[] subNodes = new int[subStart[nodes.length]];
+        int pos = 0;
+        for (int node : nodes) {
+            for (int jj = adjStart[node]; jj < adjStart[node + 1]; jj++) {
+                if (localIndexes[adjNodes[jj]] != -1)
+                    subNodes[pos++] = localIndexes[adjNodes[jj]];
+            }
+        }
+        return new Adjacency(subStart, subNodes);
+    }
+
+    /**
+     * Retrieves the entry of the same edge seen from the other node, for each entry of adjNodes:
+     * if {@code adjNodes[jj]} is v in the neighbors of u, {@code adjNodes[mirrors[jj]]} is u in the neighbors of v.
+     * The parallel edges between two nodes are paired in the order of their entries.
+     *
+     * @return The mirror entry of each entry, shared: not to be modified.
+     */
+    int[] getMirrors() {
+        int[] result = mirrors;
+        if (result == null) {
+            // Entries by neighbor, then by node: the entries towards each node, by increasing source
+            int nbNodes = size();
+            int[] towardsStart = new int[nbNodes + 1];
+            for (int adjNode : adjNodes) {
+                towardsStart[adjNode + 1]++;
+            }
+            for (int ii = 0; ii < nbNodes; ii++) {
+                towardsStart[ii + 1] += towardsStart[ii];
+            }
+            int[] towards = new int[adjNodes.length];
+            int[] fill = Arrays.copyOf(towardsStart, nbNodes);
+            for (int ii = 0; ii < nbNodes; ii++) {
+                for (int jj = adjStart[ii]; jj < adjStart[ii + 1]; jj++) {
+                    towards[fill[adjNodes[jj]]++] = jj;
+                }
+            }
+            // Entries of each node by increasing neighbor: stable pass over the entries by neighbor
+            int[] sorted = new int[adjNodes.length];
+            System.arraycopy(adjStart, 0, fill, 0, nbNodes);
+            int[] sources = new int[adjNodes.length];
+            for (int ii = 0; ii < nbNodes; ii++) {
+                for (int jj = adjStart[ii]; jj < adjStart[ii + 1]; jj++) {
+                    sources[jj] = ii;
+                }
+            }
+            for (int entry : towards) {
+                sorted[fill[sources[entry]]++] = entry;
+            }
+            // The k-th entry of u towards v, and the k-th entry of v towards u, are the same edge
+            result = new int[adjNodes.length];
+            for (int ii = 0; ii < nbNodes; ii++) {
+                for (int jj = adjStart[ii]; jj < adjStart[ii + 1]; jj++) {
+                    result[sorted[jj]] = towards[towardsStart[ii] + jj - adjStart[ii]];
+                }
+            }
+            mirrors = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,182 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.Arrays;
+
+/**
+ * Lower bounds on the colors and on the conflicts of any coloring of a graph, from its cliques.
+ * <p>
+ * A clique of q nodes needs q colors to be colored without conflict. With kMax colors, it has
+ * at least as many conflicts as when its nodes are spread evenly over the kMax colors.
+ * The cliques are found greedily: starting from each node, by decreasing degree, the
+ * neighbors are added by decreasing degree when they are adjacent to every node already taken.
+ * The conflict bound adds the bounds of cliques found one after the other on disjoint nodes.
+ */
+public class CliqueBound {
+
+    /** The adjacency of the graph. */
+    private final Adjacency adjacency;
+
+    /** Nodes by decreasing degree. */
+    private final int[] sortedNodes;
+
+    /** Largest clique found, computed on first use. */
+    private int[] maxClique;
+
+    /**
+     * Constructs the bounds of the given graph.
+     *
+     * @param graph The graph.
+     */
+    public CliqueBound(GraphPlus graph) {
+        this(new Adjacency(graph));
+    }
+
+    /**
+     * Constructs the bounds of a graph from its adjacency.
+     *
+     * @param newAdjacency The adjacency of the graph.
+     */
+    public CliqueBound(Adjacency newAdjacency) {
+        adjacency = newAdjacency;
+        sortedNodes = sortByDecreasingDegree();
+    }
+
+    /**
+     * Retrieves the largest clique found.
+     *
+     * @return The nodes of the clique.
+     */
+    public int[] getMaxClique() {
+        if (maxClique == null)
+            maxClique = findClique(new boolean[adjacency.size()]);
+        return maxClique.clone();
+    }
+
+    /**
+     * Retrieves a lower bound on the number of colors of a coloring without conflict.
+     *
+     * @return The size of the largest clique found.
+     */
+    public int getColorLowerBound() {
+        return getMaxClique().length;
+    }
+
+    /**
+     * Retrieves a lower bound on the number of conflicts of any coloring with at most kMax colors.
+     *
+     * @param kMax The maximum number of colors, 0 or less for no limit.
+     * @return The sum of the conflicts forced in disjoint cliques of more than kMax nodes.
+     */
+    public int getConflictLowerBound(int kMax) {
+        if (kMax <= 0)
+            return 0;
+        boolean[] removed = new boolean[adjacency.size()];
+        int[] clique = getMaxClique();
+        int conflictLowerBound = 0;
+        while (clique.length > kMax) {
+            conflictLowerBound += getCliqueConflicts(clique.length, kMax);
+            for (int node : clique) {
+                removed[node] = true;
+            }
+            clique = findClique(removed);
+        }
+        return conflictLowerBound;
+    }
+
+    /**
+     * Computes the least number of conflicts of a clique colored with kMax colors.
+     *
+     * @param cliqueSize The number of nodes of the clique.
+     * @param kMax The number of colors, at least 1.
+     * @return The number of pairs of nodes of the same color when the nodes are spread evenly.
+     */
+    public static int getCliqueConflicts(int cliqueSize, int kMax) {
+        int size = cliqueSize / kMax;
+        int nbLarger = cliqueSize % kMax;
+        return nbLarger * (size + 1) * size / 2 + (kMax - nbLarger) * size * (size - 1) / 2;
+    }
+
+    /**
+     * Sorts the nodes by decreasing degree, then increasing index.
+     *
+     * @return The sorted nodes.
+     */
+    private int[] sortByDecreasingDegree() {
+        int nbNodes = adjacency.size();
+        long[] keys = new long[nbNodes];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            keys[ii] = ((long) (Integer.MAX_VALUE - adjacency.getDegree(ii)) << 32) | ii;
+        }
+        Arrays.sort(keys);
+        int[] nodes = new int[nbNodes];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            nodes[ii] = (int) keys[ii];
+        }
+        return nodes;
+    }
+
+    /**
+     * Finds a large clique greedily among the nodes not removed.
+     *
+     * @param removed The nodes left out.
+     * @return The nodes of the largest clique found.
+     */
+    private int[] findClique(boolean[] removed) {
+        int nbNodes = adjacency.size();
+        int[] adjStart = adjacency.adjStart;
+        int[] adjNodes = adjacency.adjNodes;
+        int[] rank = new int[nbNodes];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            rank[sortedNodes[ii]] = ii;
+        }
+        // Number of clique nodes adjacent to each node, and last clique node counted for it
+        int[] nbAdjacent = new int[nbNodes];
+        int[] lastCounted = new int[nbNodes];
+        Arrays.fill(lastCounted, -1);
+        int[] candidates = new int[nbNodes];
+        int[] clique = new int[nbNodes];
+        int[] best = new int[0];
+
+        for (int start : sortedNodes) {
+            if (adjacency.getDegree(start) + 1 <= best.length)
+                break;
+            if (removed[start])
+                continue;
+
+            // Candidates: the neighbors of the start node, by decreasing degree
+            int nbCandidates = 0;
+            for (int jj = adjStart[start]; jj < adjStart[start + 1]; jj++) {
+                int neighbor = adjNodes[jj];
+                if (!removed[neighbor] && lastCounted[neighbor] != start) {
+                    lastCounted[neighbor] = start;
+                    nbAdjacent[neighbor] = 1;
+                    candidates[nbCandidates++] = rank[neighbor];
+                }
+            }
+            Arrays.sort(candidates, 0, nbCandidates);
+
+            int cliqueSize = 0;
+            clique[cliqueSize++] = start;
+            for (int ii = 0; ii < nbCandidates; ii++) {
+                int candidate = sortedNodes[candidates[ii]];
+                if (nbAdjacent[candidate] != cliqueSize)
+                    continue;
+                clique[cliqueSize++] = candidate;
+                for (int jj = adjStart[candidate]; jj < adjStart[candidate + 1]; jj++) {
+                    int neighbor = adjNodes[jj];
+                    if (lastCounted[neighbor] == start && nbAdjacent[neighbor] == cliqueSize - 1) {
+                        nbAdjacent[neighbor] = cliqueSize;
+                    }
+                }
+            }
+            for (int ii = 0; ii < nbCandidates; ii++) {
+                lastCounted[sortedNodes[candidates[ii]]] = -1;
+            }
+            if (cliqueSize > best.length)
+                best = Arrays.copyOf(clique, cliqueSize);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,219 @@
+package colorationAlgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Colors used around each node of a graph being colored.
+ * <p>
+ * For each node, the number of colored neighbors of each color is kept in a flat
+ * {@code int[]} (node * kMax + color), and the set of colors present around the node
+ * in {@code long[]} words. Coloring or uncoloring a neighbor is O(1), the saturation
+ * degree is maintained incrementally, the first available color is found in O(kMax / 64)
+ * word operations, and no memory is allocated once the structure is built.
+ * <p>
+ * The least conflict color is found the same way, from the lowest count of each node and the
+ * bitset of the colors having it. When every color of a node has left the lowest count, the
+ * colors having the next one are found in O(kMax): this happens at most once every kMax
+ * additions, so adding a neighbor stays O(1) amortized as long as no neighbor is removed.
+ */
+public class ColorOccupancy {
+
+    /** Number of colors. */
+    private final int kMax;
+
+    /** Number of words of the bitset of a node. */
+    private final int nbWords;
+
+    /** Number of neighbors of each color, indexed by node * kMax + color. */
+    private final int[] counts;
+
+    /** Colors present around each node, indexed by node * nbWords + word. */
+    private final long[] present;
+
+    /** Number of distinct colors around each node. */
+    private final int[] saturation;
+
+    /** Lowest number of neighbors of a color, for each node. */
+    private final int[] minCounts;
+
+    /** Colors having the lowest count around each node, indexed by node * nbWords + word. */
+    private final long[] atMin;
+
+    /** Number of colors having the lowest count around each node. */
+    private final int[] nbAtMin;
+
+    /**
+     * Constructs an empty structure.
+     *
+     * @param nbNodes The number of nodes.
+     * @param newKMax The number of colors.
+     * @throws IllegalArgumentException If there are too many nodes and colors for one array of counts.
+     */
+    public ColorOccupancy(int nbNodes, int newKMax) {
+        kMax = Math.max(newKMax, 0);
+        if ((long) nbNodes * kMax > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Too many counts for " + nbNodes + " nodes and " + kMax + " colors");
+        nbWords = (kMax + 63) >>> 6;
+        counts = new int[nbNodes * kMax];
+        present = new long[nbNodes * nbWords];
+        saturation = new int[nbNodes];
+        minCounts = new int[nbNodes];
+        atMin = new long[nbNodes * nbWords];
+        nbAtMin = new int[nbNodes];
+        resetMin();
+    }
+
+    /**
+     * Records a neighbor of a node colored with a color.
+     *
+     * @param node The node.
+     * @param color The color of the neighbor, in [0, kMax).
+     * @return True if the color was not present around the node yet.
+     */
+    public boolean add(int node, int color) {
+        int count = counts[node * kMax + color]++;
+        if (count == minCounts[node])
+            raiseMin(node, color);
+        if (count > 0)
+            return false;
+        present[node * nbWords + (color >>> 6)] |= 1L << color;
+        saturation[node]++;
+        return true;
+    }
+
+    /**
+     * Removes a neighbor of a node colored with a color.
+     *
+     * @param node The node.
+     * @param color The color of the neighbor, in [0, kMax).
+     * @return True if the color is no longer present around the node.
+     */
+    public boolean remove(int node, int color) {
+        int count = --counts[node * kMax + color];
+        if (count < minCounts[node]) {
+            // The color alone has the new lowest count
+            Arrays.fill(atMin, node * nbWords, (node + 1) * nbWords, 0L);
+            atMin[node * nbWords + (color >>> 6)] |= 1L << color;
+            nbAtMin[node] = 1;
+            minCounts[node] = count;
+        } else if (count == minCounts[node]) {
+            atMin[node * nbWords + (color >>> 6)] |= 1L << color;
+            nbAtMin[node]++;
+        }
+        if (count > 0)
+            return false;
+        present[node * nbWords + (color >>> 6)] &= ~(1L << color);
+        saturation[node]--;
+        return true;
+    }
+
+    /**
+     * Retrieves the number of neighbors of a node colored with a color.
+     *
+     * @param node The node.
+     * @param color The color.
+     * @return The number of neighbors of that color.
+     */
+    public int getCount(int node, int color) {
+        return counts[node * kMax + color];
+    }
+
+    /**
+     * Retrieves the number of distinct colors around a node.
+     *
+     * @param node The node.
+     * @return The saturation degree of the node.
+     */
+    public int getSaturation(int node) {
+        return saturation[node];
+    }
+
+    /**
+     * Finds the lowest color not present around a node.
+     *
+     * @param node The node.
+     * @return The first available color, kMax if every color is present.
+     */
+    public int getFirstAvailableColor(int node) {
+        int base = node * nbWords;
+        for (int word = 0; word < nbWords; word++) {
+            long free = ~present[base + word];
+            if (free != 0) {
+                int color = (word << 6) + Long.numberOfTrailingZeros(free);
+                return Math.min(color, kMax);
+            }
+        }
+        return kMax;
+    }
+
+    /**
+     * Finds the color with the fewest neighbors of a node (the lowest one in case of a tie).
+     *
+     * @param node The node.
+     * @return The least conflict color, 0 if there are no colors.
+     */
+    public int getLeastConflictColor(int node) {
+        int base = node * nbWords;
+        for (int word = 0; word < nbWords; word++) {
+            if (atMin[base + word] != 0)
+                return (word << 6) + Long.numberOfTrailingZeros(atMin[base + word]);
+        }
+        return 0;
+    }
+
+    /**
+     * Copies the number of neighbors of each color of a node.
+     *
+     * @param node The node.
+     * @return An array where each index is a color and the value the number of neighbors of that color.
+     */
+    public int[] getCounts(int node) {
+        return Arrays.copyOfRange(counts, node * kMax, (node + 1) * kMax);
+    }
+
+    /**
+     * Removes every recorded neighbor.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(present, 0);
+        Arrays.fill(saturation, 0);
+        resetMin();
+    }
+
+    /**
+     * Removes a color from the colors having the lowest count of a node, after it was added to.
+     * When no color is left, the lowest count grows by one and the colors having it are found again.
+     *
+     * @param node The node.
+     * @param color The color which left the lowest count.
+     */
+    private void raiseMin(int node, int color) {
+        int base = node * nbWords;
+        atMin[base + (color >>> 6)] &= ~(1L << color);
+        if (--nbAtMin[node] > 0)
+            return;
+        int minCount = ++minCounts[node];
+        int countBase = node * kMax;
+        for (int ii = 0; ii < kMax; ii++) {
+            if (counts[countBase + ii] == minCount) {
+                atMin[base + (ii >>> 6)] |= 1L << ii;
+                nbAtMin[node]++;
+            }
+        }
+    }
+
+    /**
+     * Sets the lowest count of every node to 0, shared by every color.
+     */
+    private void resetMin() {
+        Arrays.fill(minCounts, 0);
+        Arrays.fill(nbAtMin, kMax);
+        for (int ii = 0; ii < minCounts.length; ii++) {
+            for (int word = 0; word < nbWords; word++) {
+                int nbBits = Math.min(64, kMax - (word << 6));
+                atMin[ii * nbWords + word] = nbBits == 64 ? -1L : (1L << nbBits) - 1;
+            }
+        }
+    }
+}
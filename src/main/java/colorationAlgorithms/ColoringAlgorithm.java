@@ -0,0 +1,95 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.ArrayList;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A graph coloring algorithm with at most kMax colors, registered in {@link ColoringRegistry}.
+ */
+public interface ColoringAlgorithm {
+
+    /**
+     * Sets a new maximum number of colors (kMax).
+     *
+     * @param newKMax The new maximum number of colors.
+     */
+    void setKMax(int newKMax);
+
+    /**
+     * Sets the maximum duration of the coloring. Algorithms that always run to the end ignore it.
+     *
+     * @param newTimeLimit The maximum duration in milliseconds, 0 for no limit.
+     */
+    default void setTimeLimit(long newTimeLimit) {}
+
+    /**
+     * Sets a number of conflicts that no coloring can go below, see {@link CliqueBound}.
+     * Algorithms that search until a time or iteration limit stop as soon as they reach it,
+     * the others ignore it.
+     *
+     * @param newConflictLowerBound The lower bound on the number of conflicts.
+     */
+    default void setConflictLowerBound(int newConflictLowerBound) {}
+
+    /**
+     * Sets a condition checked during the coloring, which ends it as soon as it is true. A search keeps
+     * the best coloring found so far, a constructive algorithm leaves the remaining nodes uncolored (-1).
+     * Algorithms that always end quickly may ignore it.
+     *
+     * @param newStopCondition The condition, null to always run to the end.
+     */
+    default void setStopCondition(BooleanSupplier newStopCondition) {}
+
+    /**
+     * Colors the graph.
+     */
+    void colorGraph();
+
+    /**
+     * Retrieves the colors assigned to each node.
+     *
+     * @return The array of node colors.
+     */
+    int[] getNodeColors();
+
+    /**
+     * Retrieves the number of colors used in the graph, from the highest color of {@link #getNodeColors()}.
+     *
+     * @return The number of colors used, 0 if there is no coloring.
+     */
+    default int getNbColors() {
+        int[] nodeColors = getNodeColors();
+        int nbColors = 0;
+        if (nodeColors != null && nodeColors.length > 0) {
+            for (int color : nodeColors) {
+                if (nbColors < color)
+                    nbColors = color;
+            }
+            nbColors++;
+        }
+        return nbColors;
+    }
+
+    /**
+     * Retrieves the number of conflicts in the graph.
+     *
+     * @return The number of conflicts.
+     */
+    int getNbConflicts();
+
+    /**
+     * Retrieves the list of conflicts in the graph.
+     *
+     * @return The list of conflicts, as pairs of node indexes.
+     */
+    ArrayList<int[]> getIndConflictsList();
+
+    /**
+     * Retrieves the colored graph.
+     *
+     * @return The graph.
+     */
+    GraphPlus getGraph();
+}
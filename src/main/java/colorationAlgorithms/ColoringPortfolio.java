@@ -0,0 +1,288 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs several randomized colorings of a graph in parallel and keeps the best one.
+ * <p>
+ * Attempt {@code ii} uses the seed {@code baseSeed + ii}, and alternates between a randomized
+ * {@link DSatur} (even attempts) and a randomized {@link WelshPowell} (odd attempts). Every attempt
+ * shares one {@link Adjacency} built once. As soon as an attempt reaches the lower bound on conflicts
+ * of {@link CliqueBound} (usually 0), the attempts after it are cancelled, even while they run, and
+ * the attempts before it still run to the end. The best coloring has the fewest conflicts, then the
+ * fewest colors, then the lowest attempt index, whatever the timing of the threads, and can be
+ * reproduced from its algorithm and seed.
+ */
+public class ColoringPortfolio extends AbstractColoringAlgorithm {
+
+    /** Name of the DSatur attempts. */
+    public static final String DSATUR = "DSatur";
+
+    /** Name of the Welsh-Powell attempts. */
+    public static final String WELSH_POWELL = "WelshPowell";
+
+    /** Number of attempts. */
+    private int nbAttempts = 100;
+
+    /** Number of threads running the attempts. */
+    private int nbThreads = Runtime.getRuntime().availableProcessors();
+
+    /** Seed of the first attempt. */
+    private long baseSeed;
+
+    /** Seed of the best coloring. */
+    private long bestSeed;
+
+    /** Algorithm of the best coloring. */
+    private String bestAlgorithm;
+
+    /** Lower bound on the number of conflicts with kMax, -1 to compute it with {@link CliqueBound}. */
+    private int conflictLowerBound = -1;
+
+    /** Number of attempts run to the end and compared by the last run. */
+    private int nbFinishedAttempts;
+
+    /**
+     * Constructs a portfolio for the given graph.
+     *
+     * @param newGraph The graph to be colored.
+     */
+    public ColoringPortfolio(GraphPlus newGraph) {
+        super(newGraph, new Adjacency(newGraph));
+    }
+
+    /**
+     * Sets a new maximum number of colors (kMax), for which the lower bound is computed again.
+     * @param newKMax The new maximum number of colors.
+     */
+    @Override
+    public void setKMax(int newKMax) {
+        kMax = newKMax;
+        conflictLowerBound = -1;
+    }
+
+    /**
+     * Sets a number of conflicts below which no coloring can go, instead of the bound of {@link CliqueBound}.
+     * @param newConflictLowerBound The lower bound on the number of conflicts.
+     */
+    @Override
+    public void setConflictLowerBound(int newConflictLowerBound) {
+        conflictLowerBound = newConflictLowerBound;
+    }
+
+    /**
+     * Sets the number of attempts.
+     * @param newNbAttempts The number of attempts, at least 1.
+     * @throws IllegalArgumentException If the number of attempts is below 1.
+     */
+    public void setNbAttempts(int newNbAttempts) {
+        if (newNbAttempts < 1)
+            throw new IllegalArgumentException("The number of attempts must be at least 1: " + newNbAttempts);
+        nbAttempts = newNbAttempts;
+    }
+
+    /**
+     * Sets the number of threads running the attempts.
+     * @param newNbThreads The number of threads.
+     */
+    public void setNbThreads(int newNbThreads) {
+        nbThreads = newNbThreads;
+    }
+
+    /**
+     * Sets the seed of the first attempt.
+     * @param newBaseSeed The seed.
+     */
+    public void setBaseSeed(long newBaseSeed) {
+        baseSeed = newBaseSeed;
+    }
+
+    /**
+     * Runs the attempts and keeps the best coloring.
+     *
+     * @throws InterruptedException If the run is interrupted.
+     * @throws ExecutionException If an attempt fails.
+     */
+    public void portfolioAlgo() throws InterruptedException, ExecutionException {
+        nodeColors = null;
+        conflictLedger = null;
+        nbFinishedAttempts = 0;
+        if (conflictLowerBound < 0)
+            conflictLowerBound = new CliqueBound(adjacency).getConflictLowerBound(kMax);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, nbThreads));
+        // Lowest attempt reaching the lower bound: the attempts after it are cancelled
+        AtomicInteger firstSolved = new AtomicInteger(nbAttempts);
+        ArrayList<Future<Attempt>> futures = new ArrayList<>(nbAttempts);
+        try {
+            for (int ii = 0; ii < nbAttempts; ii++) {
+                int index = ii;
+                futures.add(pool.submit(() -> runAttempt(index, firstSolved)));
+            }
+            // In index order, so that the result does not depend on the order the attempts finish
+            for (int ii = 0; ii < nbAttempts && ii <= firstSolved.get(); ii++) {
+                Attempt attempt = futures.get(ii).get();
+                if (attempt == null)
+                    continue;
+                nbFinishedAttempts++;
+                if (isBetter(attempt)) {
+                    nodeColors = attempt.nodeColors;
+                    conflictLedger = attempt.conflictLedger;
+                    bestSeed = attempt.seed;
+                    bestAlgorithm = attempt.algorithm;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs one attempt, which stops as soon as an attempt before it reaches the lower bound.
+     *
+     * @param index The index of the attempt: even for DSatur, odd for Welsh-Powell.
+     * @param firstSolved The lowest attempt reaching the lower bound, lowered by this one if it reaches it.
+     * @return The result of the attempt, null if it was cancelled.
+     */
+    private Attempt runAttempt(int index, AtomicInteger firstSolved) {
+        BooleanSupplier isCancelled = () -> firstSolved.get() < index || isStopped();
+        if (isCancelled.getAsBoolean())
+            return null;
+        long seed = baseSeed + index;
+        Attempt attempt;
+        if (index % 2 == 0) {
+            DSatur dSatur = new DSatur(graph, adjacency, seed);
+            dSatur.setKMax(kMax);
+            dSatur.setStopCondition(isCancelled);
+            dSatur.dSaturAlgo();
+            attempt = new Attempt(DSATUR, seed, dSatur.getNodeColors(), dSatur.getConflictLedger(), dSatur.getNbColors());
+        } else {
+            WelshPowell wp = new WelshPowell(graph, adjacency, seed);
+            wp.setKMax(kMax);
+            wp.setStopCondition(isCancelled);
+            wp.welshPowellAlgo();
+            attempt = new Attempt(WELSH_POWELL, seed, wp.getNodeColors(), wp.getConflictLedger(), wp.getNbColors());
+        }
+        // A cancelled coloring may be incomplete
+        if (isCancelled.getAsBoolean())
+            return null;
+        if (attempt.conflictLedger.getNbConflicts() <= conflictLowerBound)
+            firstSolved.accumulateAndGet(index, Math::min);
+        return attempt;
+    }
+
+    /**
+     * Colors the graph with {@link #portfolioAlgo()}.
+     */
+    @Override
+    public void colorGraph() {
+        try {
+            portfolioAlgo();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Coloring algorithm failed", e.getCause());
+        }
+    }
+
+    /**
+     * Checks if an attempt is better than the best coloring found so far.
+     *
+     * @param attempt The attempt.
+     * @return True if the attempt has fewer conflicts, then fewer colors. The attempts being compared
+     * by increasing index, the lowest index wins the ties.
+     */
+    private boolean isBetter(Attempt attempt) {
+        if (nodeColors == null)
+            return true;
+        if (attempt.conflictLedger.getNbConflicts() != conflictLedger.getNbConflicts())
+            return attempt.conflictLedger.getNbConflicts() < conflictLedger.getNbConflicts();
+        return attempt.nbColors < getNbColors();
+    }
+
+    /**
+     * Retrieves the seed of the best attempt.
+     * @return The seed.
+     */
+    public long getBestSeed() {
+        return bestSeed;
+    }
+
+    /**
+     * Retrieves the algorithm of the best attempt, {@link #DSATUR} or {@link #WELSH_POWELL}.
+     * @return The name of the algorithm.
+     */
+    public String getBestAlgorithm() {
+        return bestAlgorithm;
+    }
+
+    /**
+     * Retrieves the lower bound on the number of conflicts with kMax.
+     * @return The lower bound on the number of conflicts, -1 before the first run.
+     */
+    public int getConflictLowerBound() {
+        return conflictLowerBound;
+    }
+
+    /**
+     * Retrieves the number of attempts run to the end and compared by the last run.
+     * @return The number of finished attempts.
+     */
+    public int getNbFinishedAttempts() {
+        return nbFinishedAttempts;
+    }
+
+    /**
+     * Retrieves the adjacency shared by the attempts.
+     * @return The adjacency of the graph.
+     */
+    public Adjacency getAdjacency() {
+        return adjacency;
+    }
+
+    /**
+     * Result of one attempt.
+     */
+    private static final class Attempt {
+
+        /** Algorithm of the attempt. */
+        final String algorithm;
+
+        /** Seed of the attempt. */
+        final long seed;
+
+        /** Colors assigned to each node. */
+        final int[] nodeColors;
+
+        /** Conflicts of the coloring. */
+        final ConflictLedger conflictLedger;
+
+        /** Number of colors used. */
+        final int nbColors;
+
+        /**
+         * Constructs the result of an attempt.
+         *
+         * @param newAlgorithm The algorithm of the attempt.
+         * @param newSeed The seed of the attempt.
+         * @param newNodeColors The colors assigned to each node.
+         * @param newConflictLedger The conflicts of the coloring.
+         * @param newNbColors The number of colors used.
+         */
+        Attempt(String newAlgorithm, long newSeed, int[] newNodeColors, ConflictLedger newConflictLedger, int newNbColors) {
+            algorithm = newAlgorithm;
+            seed = newSeed;
+            nodeColors = newNodeColors;
+            conflictLedger = newConflictLedger;
+            nbColors = newNbColors;
+        }
+    }
+}
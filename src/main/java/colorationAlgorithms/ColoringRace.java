@@ -0,0 +1,254 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs several registered coloring algorithms concurrently on the same graph and keeps the best
+ * coloring (fewest conflicts, then fewest colors) found within a wall-clock budget.
+ * <p>
+ * Every algorithm shares the adjacency of the graph and receives 90% of the budget as its time limit,
+ * or keeps its own default time limit when the race has no budget.
+ * At the end of the budget, the algorithms still running are stopped with their stop condition and
+ * their results are dropped, unless no algorithm has finished yet, in which case the first complete
+ * coloring to come back is kept. The race ends early, and stops the other algorithms, when a coloring
+ * reaches the lower bound on conflicts of {@link CliqueBound}.
+ */
+public class ColoringRace implements ColoringAlgorithm {
+
+    /** Default budget of a race, in milliseconds. */
+    public static final long DEFAULT_TIME_LIMIT = 500;
+
+    /** The graph to be colored. */
+    private final GraphPlus graph;
+
+    /** The adjacency shared by the algorithms. */
+    private final Adjacency adjacency;
+
+    /** Names of the algorithms in the race. */
+    private final String[] names;
+
+    private int kMax;
+
+    /** Budget of the race, in milliseconds (0 to wait for every algorithm). */
+    private long timeLimit = DEFAULT_TIME_LIMIT;
+
+    /** Condition checked during the race to stop it early, null to run until the end of the budget. */
+    private BooleanSupplier stopCondition;
+
+    /** Lower bound on the number of conflicts of the last race. */
+    private int conflictLowerBound;
+
+    /** Best coloring found. */
+    private ColoringAlgorithm best;
+
+    /** Name of the algorithm of the best coloring. */
+    private String bestName;
+
+    /**
+     * Constructs a race between registered algorithms.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newNames The names of the algorithms, see {@link ColoringRegistry}.
+     */
+    public ColoringRace(GraphPlus newGraph, String... newNames) {
+        this(newGraph, new Adjacency(newGraph), newNames);
+    }
+
+    /**
+     * Constructs a race between registered algorithms sharing the adjacency of the graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
+     * @param newNames The names of the algorithms, see {@link ColoringRegistry}.
+     */
+    public ColoringRace(GraphPlus newGraph, Adjacency newAdjacency, String... newNames) {
+        graph = newGraph;
+        adjacency = newAdjacency;
+        names = newNames.clone();
+        kMax = graph.getKMax();
+    }
+
+    /**
+     * Sets a new maximum number of colors (kMax) for every algorithm.
+     * @param newKMax The new maximum number of colors.
+     */
+    @Override
+    public void setKMax(int newKMax) {
+        kMax = newKMax;
+    }
+
+    /**
+     * Sets the budget of the race.
+     * @param newTimeLimit The budget in milliseconds, 0 to wait for every algorithm.
+     */
+    @Override
+    public void setTimeLimit(long newTimeLimit) {
+        timeLimit = newTimeLimit;
+    }
+
+    /**
+     * Sets a condition checked by every algorithm of the race, which ends it as soon as it is true.
+     * @param newStopCondition The condition, null to run until the end of the budget.
+     */
+    @Override
+    public void setStopCondition(BooleanSupplier newStopCondition) {
+        stopCondition = newStopCondition;
+    }
+
+    /**
+     * Runs the algorithms and keeps the best coloring.
+     */
+    @Override
+    public void colorGraph() {
+        best = null;
+        bestName = null;
+        long deadline = System.currentTimeMillis() + timeLimit;
+        conflictLowerBound = new CliqueBound(adjacency).getConflictLowerBound(kMax);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, names.length), runnable -> {
+            Thread thread = new Thread(runnable, "coloring-race");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<ColoringAlgorithm> completionService = new ExecutorCompletionService<>(pool);
+        Map<ColoringAlgorithm, String> algorithmNames = new HashMap<>();
+        // Set at the end of the race, to stop the algorithms still running
+        AtomicBoolean isOver = new AtomicBoolean();
+        BooleanSupplier isStopped = () -> isOver.get() || (stopCondition != null && stopCondition.getAsBoolean());
+        try {
+            for (String name : names) {
+                ColoringAlgorithm algorithm = ColoringRegistry.create(name, graph, adjacency);
+                algorithm.setKMax(kMax);
+                if (timeLimit > 0)
+                    algorithm.setTimeLimit(timeLimit - timeLimit / 10); // Leaves time to return the result
+                algorithm.setConflictLowerBound(conflictLowerBound);
+                algorithm.setStopCondition(isStopped);
+                algorithmNames.put(algorithm, name);
+                completionService.submit(() -> {
+                    algorithm.colorGraph();
+                    return algorithm;
+                });
+            }
+            for (int ii = 0; ii < names.length; ii++) {
+                long remaining = deadline - System.currentTimeMillis();
+                Future<ColoringAlgorithm> future;
+                if (timeLimit <= 0)
+                    future = completionService.take();
+                else if (remaining > 0)
+                    future = completionService.poll(remaining, TimeUnit.MILLISECONDS);
+                else
+                    future = null;
+                if (future == null) {
+                    // End of the budget: the algorithms still running come back within a few iterations
+                    isOver.set(true);
+                    future = best == null ? completionService.take() : completionService.poll();
+                    if (future == null)
+                        break;
+                }
+                ColoringAlgorithm algorithm = future.get();
+                if (isComplete(algorithm) && isBetter(algorithm)) {
+                    best = algorithm;
+                    bestName = algorithmNames.get(algorithm);
+                }
+                if (best != null && best.getNbConflicts() <= conflictLowerBound)
+                    break;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Coloring algorithm failed", e.getCause());
+        } finally {
+            isOver.set(true);
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Checks if an algorithm colored every node, which a stopped algorithm may not have done.
+     *
+     * @param algorithm The algorithm of the coloring.
+     * @return True if every node has a color.
+     */
+    private static boolean isComplete(ColoringAlgorithm algorithm) {
+        int[] colors = algorithm.getNodeColors();
+        if (colors == null)
+            return false;
+        for (int color : colors) {
+            if (color < 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a coloring is better than the best coloring found so far.
+     *
+     * @param algorithm The algorithm of the coloring.
+     * @return True if the coloring has fewer conflicts, then fewer colors.
+     */
+    private boolean isBetter(ColoringAlgorithm algorithm) {
+        if (best == null)
+            return true;
+        if (algorithm.getNbConflicts() != best.getNbConflicts())
+            return algorithm.getNbConflicts() < best.getNbConflicts();
+        return algorithm.getNbColors() < best.getNbColors();
+    }
+
+    /**
+     * Retrieves the lower bound on the number of conflicts used by the last race.
+     * @return The lower bound on the number of conflicts.
+     */
+    public int getConflictLowerBound() {
+        return conflictLowerBound;
+    }
+
+    /**
+     * Retrieves the name of the algorithm of the best coloring.
+     * @return The name of the algorithm, null if the race was interrupted before any algorithm finished.
+     */
+    public String getBestAlgorithm() {
+        return bestName;
+    }
+
+    /**
+     * Retrieves the colors of the best coloring.
+     * @return The array of node colors, null if the race was interrupted before any algorithm finished.
+     */
+    @Override
+    public int[] getNodeColors() {
+        return best != null ? best.getNodeColors() : null;
+    }
+
+    /**
+     * Retrieves the number of conflicts of the best coloring.
+     * @return The number of conflicts, -1 if the race was interrupted before any algorithm finished.
+     */
+    @Override
+    public int getNbConflicts() {
+        return best != null ? best.getNbConflicts() : -1;
+    }
+
+    /**
+     * Retrieves the list of conflicts of the best coloring.
+     * @return The list of conflicts, empty if the race was interrupted before any algorithm finished.
+     */
+    @Override
+    public ArrayList<int[]> getIndConflictsList() {
+        return best != null ? best.getIndConflictsList() : new ArrayList<>();
+    }
+
+    @Override
+    public GraphPlus getGraph() { return graph; }
+}
@@ -0,0 +1,100 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Registry of the coloring algorithms, by name.
+ * <p>
+ * The names are the ones shown to the user, in registration order.
+ */
+public final class ColoringRegistry {
+
+    /** Name of the Welsh-Powell algorithm. */
+    public static final String WELSH_POWELL = "Welsh Powell";
+
+    /** Name of the DSatur algorithm. */
+    public static final String DSATUR = "DSatur";
+
+    /** Name of the Recursive Largest First algorithm. */
+    public static final String RLF = "RLF";
+
+    /** Name of the TabuCol search, starting from the DSatur coloring. */
+    public static final String TABUCOL = "TabuCol";
+
+    /** Name of the simulated annealing, starting from the DSatur coloring. */
+    public static final String ANNEALING = "Simulated annealing";
+
+    /** Name of the race between the other algorithms. */
+    public static final String RACE = "Race";
+
+    /** Name of the exact branch and bound, for small graphs or components. */
+    public static final String EXACT_DSATUR = "DSatur exact";
+
+    /** Factory of each algorithm, from the graph and its adjacency. */
+    private static final Map<String, BiFunction<GraphPlus, Adjacency, ColoringAlgorithm>> FACTORIES = new LinkedHashMap<>();
+
+    static {
+        register(WELSH_POWELL, WelshPowell::new);
+        register(DSATUR, DSatur::new);
+        register(RLF, RecursiveLargestFirst::new);
+        register(TABUCOL, (graph, adjacency) -> new TabuCol(graph, adjacency, null));
+        register(ANNEALING, (graph, adjacency) -> new SimulatedAnnealing(graph, adjacency, null));
+        register(RACE, (graph, adjacency) -> new ColoringRace(graph, adjacency, WELSH_POWELL, DSATUR, RLF, TABUCOL, ANNEALING));
+        register(EXACT_DSATUR, ExactDSatur::new);
+    }
+
+    private ColoringRegistry() {}
+
+    /**
+     * Registers a coloring algorithm, replacing any algorithm of the same name.
+     *
+     * @param name The name of the algorithm.
+     * @param factory Creates the algorithm for a graph and its adjacency.
+     */
+    public static synchronized void register(String name, BiFunction<GraphPlus, Adjacency, ColoringAlgorithm> factory) {
+        FACTORIES.put(name, factory);
+    }
+
+    /**
+     * Retrieves the names of the registered algorithms.
+     *
+     * @return The names, in registration order.
+     */
+    public static synchronized String[] getNames() {
+        return FACTORIES.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Creates a registered algorithm for a graph.
+     *
+     * @param name The name of the algorithm.
+     * @param graph The graph to be colored.
+     * @return The algorithm, with the kMax of the graph.
+     */
+    public static ColoringAlgorithm create(String name, GraphPlus graph) {
+        return create(name, graph, new Adjacency(graph));
+    }
+
+    /**
+     * Creates a registered algorithm for a graph, sharing its adjacency.
+     *
+     * @param name The name of the algorithm.
+     * @param graph The graph to be colored.
+     * @param adjacency The adjacency of the graph.
+     * @return The algorithm, with the kMax of the graph.
+     * @throws IllegalArgumentException If no algorithm has this name.
+     */
+    public static ColoringAlgorithm create(String name, GraphPlus graph, Adjacency adjacency) {
+        BiFunction<GraphPlus, Adjacency, ColoringAlgorithm> factory;
+        synchronized (ColoringRegistry.class) {
+            factory = FACTORIES.get(name);
+        }
+        if (factory == null)
+            throw new IllegalArgumentException("Unknown coloring algorithm: " + name);
+        return factory.apply(graph, adjacency);
+    }
+}
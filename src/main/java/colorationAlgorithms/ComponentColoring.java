@@ -0,0 +1,209 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Colors each connected component of a graph independently with a registered algorithm.
+ * <p>
+ * The components are colored in parallel, largest first, each on its own induced
+ * {@link Adjacency}, and their colors are merged back into one array. A component made of a
+ * single node, or whose nodes all have fewer than kMax neighbors, is colored without conflict
+ * by first fit on the calling thread instead. The other components go through {@link DegeneracyPeeling}.
+ */
+public class ComponentColoring extends AbstractColoringAlgorithm {
+
+    /** Name of the algorithm coloring the components, see {@link ColoringRegistry}. */
+    private final String algorithmName;
+
+    /** Maximum duration of the coloring of each component, in milliseconds (0 for the default of the algorithm). */
+    private long timeLimit;
+
+    /** Number of threads coloring the components. */
+    private int nbThreads = Runtime.getRuntime().availableProcessors();
+
+    /** Number of components of the graph. */
+    private int nbComponents;
+
+    /** Number of components colored by first fit. */
+    private int nbTrivialComponents;
+
+    /**
+     * Constructs a component-wise coloring of the given graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newAlgorithmName The name of the algorithm coloring the components.
+     */
+    public ComponentColoring(GraphPlus newGraph, String newAlgorithmName) {
+        this(newGraph, new Adjacency(newGraph), newAlgorithmName);
+    }
+
+    /**
+     * Constructs a component-wise coloring sharing the adjacency of the graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
+     * @param newAlgorithmName The name of the algorithm coloring the components.
+     */
+    public ComponentColoring(GraphPlus newGraph, Adjacency newAdjacency, String newAlgorithmName) {
+        super(newGraph, newAdjacency);
+        algorithmName = newAlgorithmName;
+    }
+
+    /**
+     * Sets the maximum duration of the coloring of each component.
+     * @param newTimeLimit The maximum duration in milliseconds, 0 for the default of the algorithm.
+     */
+    @Override
+    public void setTimeLimit(long newTimeLimit) {
+        timeLimit = newTimeLimit;
+    }
+
+    /**
+     * Sets the number of threads coloring the components.
+     * @param newNbThreads The number of threads.
+     */
+    public void setNbThreads(int newNbThreads) {
+        nbThreads = newNbThreads;
+    }
+
+    /**
+     * Colors the components of the graph and merges their colors.
+     */
+    @Override
+    public void colorGraph() {
+        int nbNodes = adjacency.size();
+        nodeColors = new int[nbNodes];
+        Arrays.fill(nodeColors, -1);
+
+        // Nodes grouped by component, and their index in their component
+        int[] componentIds = adjacency.getComponentIds();
+        nbComponents = 0;
+        for (int componentId : componentIds) {
+            nbComponents = Math.max(nbComponents, componentId + 1);
+        }
+        int[] componentStart = new int[nbComponents + 1];
+        for (int componentId : componentIds) {
+            componentStart[componentId + 1]++;
+        }
+        for (int ii = 0; ii < nbComponents; ii++) {
+            componentStart[ii + 1] += componentStart[ii];
+        }
+        int[] componentNodes = new int[nbNodes];
+        int[] localIndexes = new int[nbNodes];
+        int[] fill = Arrays.copyOf(componentStart, nbComponents);
+        for (int ii = 0; ii < nbNodes; ii++) {
+            int pos = fill[componentIds[ii]]++;
+            componentNodes[pos] = ii;
+            localIndexes[ii] = pos - componentStart[componentIds[ii]];
+        }
+
+        // Components by decreasing size (counting sort)
+        int[] bySize = new int[nbNodes + 2];
+        for (int ii = 0; ii < nbComponents; ii++) {
+            bySize[nbNodes - (componentStart[ii + 1] - componentStart[ii]) + 1]++;
+        }
+        for (int ii = 0; ii <= nbNodes; ii++) {
+            bySize[ii + 1] += bySize[ii];
+        }
+        int[] order = new int[nbComponents];
+        for (int ii = 0; ii < nbComponents; ii++) {
+            order[bySize[nbNodes - (componentStart[ii + 1] - componentStart[ii])]++] = ii;
+        }
+
+        nbTrivialComponents = 0;
+        int[] colorMarks = new int[Math.max(kMax, 1)];
+        ArrayList<Future<?>> futures = new ArrayList<>();
+        ExecutorService pool = null;
+        try {
+            for (int componentId : order) {
+                int[] nodes = Arrays.copyOfRange(componentNodes, componentStart[componentId], componentStart[componentId + 1]);
+                if (isTrivial(nodes)) {
+                    for (int node : nodes) {
+                        colorFirstFit(node, colorMarks);
+                    }
+                    nbTrivialComponents++;
+                    continue;
+                }
+                if (pool == null) {
+                    pool = Executors.newFixedThreadPool(Math.max(1, nbThreads), runnable -> {
+                        Thread thread = new Thread(runnable, "component-coloring");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                futures.add(pool.submit(() -> colorComponent(nodes, localIndexes)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Coloring algorithm failed", e.getCause());
+        } finally {
+            if (pool != null)
+                pool.shutdownNow();
+        }
+
+        conflictLedger = new ConflictLedger(adjacency, nodeColors);
+    }
+
+    /**
+     * Checks if a component can be colored by first fit without conflict.
+     *
+     * @param nodes The nodes of the component.
+     * @return True if the component is a single node or if every node has fewer than kMax neighbors.
+     */
+    private boolean isTrivial(int[] nodes) {
+        if (nodes.length == 1)
+            return true;
+        for (int node : nodes) {
+            if (adjacency.getDegree(node) >= kMax)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Colors a component with the chosen algorithm, after peeling its nodes of degree below kMax.
+     *
+     * @param nodes The nodes of the component.
+     * @param localIndexes The index of each node of the graph in its component.
+     */
+    private void colorComponent(int[] nodes, int[] localIndexes) {
+        ColoringAlgorithm algorithm = new DegeneracyPeeling(graph,
+                adjacency.getInducedSubgraph(nodes, localIndexes), algorithmName);
+        algorithm.setKMax(kMax);
+        if (timeLimit > 0)
+            algorithm.setTimeLimit(timeLimit);
+        algorithm.setStopCondition(stopCondition);
+        algorithm.colorGraph();
+        int[] colors = algorithm.getNodeColors();
+        for (int ii = 0; ii < nodes.length; ii++) {
+            nodeColors[nodes[ii]] = colors[ii];
+        }
+    }
+
+    /**
+     * Retrieves the number of connected components of the graph.
+     * @return The number of components.
+     */
+    public int getNbComponents() {
+        return nbComponents;
+    }
+
+    /**
+     * Retrieves the number of components colored by first fit.
+     * @return The number of trivial components.
+     */
+    public int getNbTrivialComponents() {
+        return nbTrivialComponents;
+    }
+}
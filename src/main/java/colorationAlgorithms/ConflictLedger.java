@@ -0,0 +1,273 @@
+package colorationAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Conflicts of a coloring being built or improved, updated each time a node changes color.
+ * <p>
+ * The ledger keeps the number of conflicts of each node, the total number of conflicts, the nodes
+ * having at least one conflict, and the conflicting pairs packed in a {@code long[]} (lowest node in
+ * the high 32 bits). Each conflict remembers its position from both entries of its edge in the
+ * {@link Adjacency}, so changing the color of a node adds and removes its conflicts in O(degree),
+ * and the total is read in O(1). Nothing is allocated once the ledger is built, apart from
+ * the growth of the array of pairs.
+ */
+public class ConflictLedger {
+
+    /** The adjacency of the graph. */
+    private final Adjacency adjacency;
+
+    /** Entry of the same edge seen from the neighbor, for each entry of the adjacency. */
+    private final int[] mirrors;
+
+    /** Color of each node, -1 for uncolored. */
+    private final int[] nodeColors;
+
+    /** Number of conflicts of each node. */
+    private final int[] nodeConflicts;
+
+    /** Position in pairs of the conflict of each entry of the adjacency, -1 if none. */
+    private final int[] pairPositions;
+
+    /** Conflicting pairs, packed by {@link #pack(int, int)}. */
+    private long[] pairs = new long[16];
+
+    /** One entry of the adjacency for each conflicting pair. */
+    private int[] pairEntries = new int[16];
+
+    /** Number of conflicts. */
+    private int nbConflicts;
+
+    /** Nodes having at least one conflict. */
+    private final int[] conflictingNodes;
+
+    /** Position of each node in conflictingNodes, -1 if it has no conflict. */
+    private final int[] conflictingPositions;
+
+    /** Number of nodes having at least one conflict. */
+    private int nbConflictingNodes;
+
+    /**
+     * Constructs the ledger of a graph whose nodes are all uncolored.
+     *
+     * @param newAdjacency The adjacency of the graph.
+     */
+    public ConflictLedger(Adjacency newAdjacency) {
+        adjacency = newAdjacency;
+        mirrors = adjacency.getMirrors();
+        int nbNodes = adjacency.size();
+        nodeColors = new int[nbNodes];
+        Arrays.fill(nodeColors, -1);
+        nodeConflicts = new int[nbNodes];
+        pairPositions = new int[adjacency.adjNodes.length];
+        Arrays.fill(pairPositions, -1);
+        conflictingNodes = new int[nbNodes];
+        conflictingPositions = new int[nbNodes];
+        Arrays.fill(conflictingPositions, -1);
+    }
+
+    /**
+     * Constructs the ledger of a coloring.
+     *
+     * @param newAdjacency The adjacency of the graph.
+     * @param newNodeColors The color of each node, -1 for uncolored.
+     */
+    public ConflictLedger(Adjacency newAdjacency, int[] newNodeColors) {
+        this(newAdjacency);
+        for (int ii = 0; ii < newNodeColors.length; ii++) {
+            setColor(ii, newNodeColors[ii]);
+        }
+    }
+
+    /**
+     * Changes the color of a node and updates its conflicts, in O(degree).
+     *
+     * @param node The node.
+     * @param color The new color, -1 to uncolor the node.
+     */
+    public void setColor(int node, int color) {
+        int oldColor = nodeColors[node];
+        if (oldColor == color)
+            return;
+        int[] adjStart = adjacency.adjStart;
+        int[] adjNodes = adjacency.adjNodes;
+        for (int jj = adjStart[node]; jj < adjStart[node + 1]; jj++) {
+            int neighbor = adjNodes[jj];
+            if (neighbor == node || nodeColors[neighbor] == -1)
+                continue;
+            if (nodeColors[neighbor] == oldColor)
+                removePair(jj, node, neighbor);
+            else if (nodeColors[neighbor] == color)
+                addPair(jj, node, neighbor);
+        }
+        nodeColors[node] = color;
+    }
+
+    /**
+     * Records the conflict of an edge.
+     *
+     * @param entry An entry of the edge in the adjacency.
+     * @param node The node of the entry.
+     * @param neighbor The other node of the edge.
+     */
+    private void addPair(int entry, int node, int neighbor) {
+        if (nbConflicts == pairs.length) {
+            pairs = Arrays.copyOf(pairs, 2 * nbConflicts);
+            pairEntries = Arrays.copyOf(pairEntries, 2 * nbConflicts);
+        }
+        pairs[nbConflicts] = pack(node, neighbor);
+        pairEntries[nbConflicts] = entry;
+        pairPositions[entry] = nbConflicts;
+        pairPositions[mirrors[entry]] = nbConflicts;
+        nbConflicts++;
+        addNodeConflict(node, 1);
+        addNodeConflict(neighbor, 1);
+    }
+
+    /**
+     * Forgets the conflict of an edge, replacing it by the last conflict.
+     *
+     * @param entry An entry of the edge in the adjacency.
+     * @param node The node of the entry.
+     * @param neighbor The other node of the edge.
+     */
+    private void removePair(int entry, int node, int neighbor) {
+        int position = pairPositions[entry];
+        int last = --nbConflicts;
+        if (position != last) {
+            int lastEntry = pairEntries[last];
+            pairs[position] = pairs[last];
+            pairEntries[position] = lastEntry;
+            pairPositions[lastEntry] = position;
+            pairPositions[mirrors[lastEntry]] = position;
+        }
+        pairPositions[entry] = -1;
+        pairPositions[mirrors[entry]] = -1;
+        addNodeConflict(node, -1);
+        addNodeConflict(neighbor, -1);
+    }
+
+    /**
+     * Changes the number of conflicts of a node and keeps the set of conflicting nodes.
+     *
+     * @param node The node.
+     * @param delta The change of its number of conflicts.
+     */
+    private void addNodeConflict(int node, int delta) {
+        nodeConflicts[node] += delta;
+        if (nodeConflicts[node] > 0 && conflictingPositions[node] == -1) {
+            conflictingPositions[node] = nbConflictingNodes;
+            conflictingNodes[nbConflictingNodes++] = node;
+        } else if (nodeConflicts[node] == 0 && conflictingPositions[node] != -1) {
+            int lastNode = conflictingNodes[--nbConflictingNodes];
+            conflictingNodes[conflictingPositions[node]] = lastNode;
+            conflictingPositions[lastNode] = conflictingPositions[node];
+            conflictingPositions[node] = -1;
+        }
+    }
+
+    /**
+     * Packs a pair of nodes in a long, lowest node first.
+     *
+     * @param node1 A node.
+     * @param node2 Another node.
+     * @return The lowest node in the high 32 bits, the other one in the low 32 bits.
+     */
+    public static long pack(int node1, int node2) {
+        return ((long) Math.min(node1, node2) << 32) | Math.max(node1, node2);
+    }
+
+    /**
+     * Retrieves the lowest node of a packed pair.
+     *
+     * @param pair The pair.
+     * @return The lowest node.
+     */
+    public static int getFirstNode(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    /**
+     * Retrieves the highest node of a packed pair.
+     *
+     * @param pair The pair.
+     * @return The highest node.
+     */
+    public static int getSecondNode(long pair) {
+        return (int) pair;
+    }
+
+    /**
+     * Retrieves the color of a node.
+     *
+     * @param node The node.
+     * @return The color of the node, -1 if uncolored.
+     */
+    public int getColor(int node) {
+        return nodeColors[node];
+    }
+
+    /**
+     * Retrieves the number of conflicts, in O(1).
+     *
+     * @return The number of edges whose two nodes have the same color.
+     */
+    public int getNbConflicts() {
+        return nbConflicts;
+    }
+
+    /**
+     * Retrieves a conflict.
+     *
+     * @param ind The index of the conflict, in [0, getNbConflicts()). It changes when conflicts are removed.
+     * @return The conflicting pair, see {@link #getFirstNode(long)} and {@link #getSecondNode(long)}.
+     */
+    public long getConflict(int ind) {
+        return pairs[ind];
+    }
+
+    /**
+     * Retrieves the number of conflicts of a node.
+     *
+     * @param node The node.
+     * @return The number of neighbors of the same color.
+     */
+    public int getNodeConflicts(int node) {
+        return nodeConflicts[node];
+    }
+
+    /**
+     * Retrieves the number of nodes having at least one conflict.
+     *
+     * @return The number of conflicting nodes.
+     */
+    public int getNbConflictingNodes() {
+        return nbConflictingNodes;
+    }
+
+    /**
+     * Retrieves a node having at least one conflict.
+     *
+     * @param ind The index of the node, in [0, getNbConflictingNodes()). It changes when conflicts are removed.
+     * @return The node.
+     */
+    public int getConflictingNode(int ind) {
+        return conflictingNodes[ind];
+    }
+
+    /**
+     * Lists the conflicts, for the callers of {@link ColoringAlgorithm#getIndConflictsList()}.
+     *
+     * @return The conflicts, as pairs of node indexes (lowest index first), in increasing order.
+     */
+    public ArrayList<int[]> getConflictList() {
+        long[] sortedPairs = Arrays.copyOf(pairs, nbConflicts);
+        Arrays.sort(sortedPairs);
+        ArrayList<int[]> conflicts = new ArrayList<>(nbConflicts);
+        for (long pair : sortedPairs) {
+            conflicts.add(new int[]{getFirstNode(pair), getSecondNode(pair)});
+        }
+        return conflicts;
+    }
+}
@@ -2,93 +2,97 @@ package colorationAlgorithms;
 
 import graphTools.GraphPlus;
 import nodes.NodeList;
-import nodes.NodePlus;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Random;
 
 /**
  * Implements the DSatur graph coloring algorithm.
+ * A kMax of 0 or less means that the number of colors is not limited.
  */
-public class DSatur {
-    /** List of nodes in the graph */
-    private final NodeList nodeList;
+public class DSatur extends AbstractColoringAlgorithm {
+    /** List of nodes in the graph (created on first use) */
+    private NodeList nodeList;
+
+    /** Number of nodes in the graph */
+    private final int nbNodes;
 
     /** Saturation degree of each node */
     private int[] saturationDegree;
 
-    /** Color assigned to each node */
-    @SuppressWarnings("CanBeFinal")
-    public int[] nodeColors;
-
-    private int kMax;
-
-    private ArrayList<int[]> indConflictsList;
+    /** Number of colors available: kMax, at most the highest degree plus one. */
+    private int nbAvailableColors;
 
     boolean rand;
 
-    GraphPlus graph;
+    /** Random generator of the ties, used when rand is set */
+    private final Random random;
+
+    /** Colors of the colored neighbors of each node (created by the first run). */
+    private ColorOccupancy colorOccupancy;
 
     /**
      * Constructs a DSaturKMax object with the given graph.
      * Initializes the node list, saturation degree array, and node colors array.
      * @param newGraph The graph to be colored.
+     * @param rand True to break the ties between nodes and between least conflict colors at random.
      */
     public DSatur(GraphPlus newGraph, boolean rand) {
-        graph = newGraph;
-        nodeList = new NodeList(graph);
-        kMax = graph.getKMax();
-        createSaturationDegreeArray();
-
-
-
-        nodeColors = new int[nodeList.size()];
-        Arrays.fill(nodeColors, -1); // Initialize colors to -1 (unassigned)
+        this(newGraph, new Adjacency(newGraph), rand ? new Random() : null);
     }
 
     /**
-     * Retrieves the number of colors used in the graph.
-     * @return The number of colors used.
+     * Constructs a deterministic DSatur object sharing the adjacency of the graph.
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
      */
-    @SuppressWarnings("unused")
-    public int getNbColors() {
-        int nbColors = 0;
-        if (nodeList.size() > 0) {
-            for (int color : nodeColors) {
-                if (nbColors < color)
-                    nbColors = color;
-            }
-            nbColors++;
-        }
-        return nbColors;
+    public DSatur(GraphPlus newGraph, Adjacency newAdjacency) {
+        this(newGraph, newAdjacency, (Random) null);
     }
 
-    public GraphPlus getGraph() { return graph; }
-
     /**
-     * Retrieves the number of conflicts in the graph.
-     * @return The number of conflicts.
+     * Constructs a randomized DSatur object sharing the adjacency of the graph.
+     * The same seed always gives the same coloring.
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
+     * @param seed The seed of the random ties.
      */
-    public int getNbConflicts() {
-        return indConflictsList.size();
+    public DSatur(GraphPlus newGraph, Adjacency newAdjacency, long seed) {
+        this(newGraph, newAdjacency, new Random(seed));
     }
 
     /**
-     * Retrieves the list of conflicts in the graph.
-     * @return The list of conflicts.
-     */
-    public ArrayList<int[]> getIndConflictsList() {
-        return indConflictsList;
+     * Constructs a DSatur object from the adjacency of the graph.
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
+     * @param newRandom The random generator of the ties, null for a deterministic coloring.
+     */
+    private DSatur(GraphPlus newGraph, Adjacency newAdjacency, Random newRandom) {
+        super(newGraph, newAdjacency);
+        nbNodes = adjacency.size();
+        random = newRandom;
+        rand = random != null;
+        createSaturationDegreeArray();
+
+        nodeColors = new int[nbNodes];
+        Arrays.fill(nodeColors, -1); // Initialize colors to -1 (unassigned)
     }
 
     /**
-     * Sets a new maximum number of colors (kMax).
-     * @param newKMax The new maximum number of colors.
+     * Creates the colors around each node for the available colors, or clears them when the number
+     * of colors did not change since the last run. The highest degree plus one colors are enough for
+     * every node to find a color not used by its neighbors, so no more are kept even with a higher kMax.
      */
-    @SuppressWarnings("unused")
-    public void setKMax(int newKMax) {
-        kMax = newKMax;
+    private void resetColorOccupancy() {
+        int newNbAvailableColors = adjacency.getMaxDegree() + 1;
+        if (kMax > 0)
+            newNbAvailableColors = Math.min(kMax, newNbAvailableColors);
+        if (colorOccupancy != null && newNbAvailableColors == nbAvailableColors) {
+            colorOccupancy.clear();
+        } else {
+            nbAvailableColors = newNbAvailableColors;
+            colorOccupancy = new ColorOccupancy(nbNodes, nbAvailableColors);
+        }
     }
 
     /**
@@ -97,38 +101,47 @@ public class DSatur {
      */
     @SuppressWarnings("unused")
     public NodeList getNodeList() {
+        if (nodeList == null)
+            nodeList = new NodeList(graph);
         return nodeList;
     }
 
-    /**
-     * Retrieves the colors assigned to each node.
-     * @return The array of node colors.
-     */
-    public int[] getNodeColors() {
-        return nodeColors;
-    }
-
     /**
      * Initializes the saturation degree array based on the degrees of nodes in the graph.
      */
     public void createSaturationDegreeArray() {
-        saturationDegree = new int[nodeList.size()];
+        saturationDegree = new int[nbNodes];
         Arrays.fill(saturationDegree, 0); // Initialize saturation to 0
     }
 
     /**
      * Executes the DSatur algorithm to color the graph.
+     * The uncolored nodes are kept in a {@link SaturationQueue}, which selects the node of highest
+     * saturation degree, then of highest degree, then of lowest index, without scanning every node.
      */
     public void dSaturAlgo() {
         int indTreatedNodeTmp;
 
+        resetColorOccupancy();
+        conflictLedger = new ConflictLedger(adjacency);
+        SaturationQueue queue = new SaturationQueue(adjacency.getDegrees(), random);
         for (int ii = 0; ii < saturationDegree.length; ii++) {
-            indTreatedNodeTmp = getHighestSaturationDegreeIndex();
+            queue.add(ii, saturationDegree[ii]);
+        }
+
+        while (!queue.isEmpty() && !isStopped()) {
+            indTreatedNodeTmp = queue.poll();
             colorNode(indTreatedNodeTmp);
-            updateAdjacentNodes(indTreatedNodeTmp);
+            updateAdjacentNodes(indTreatedNodeTmp, queue);
         }
+    }
 
-        calcIndConflictsList();
+    /**
+     * Colors the graph with {@link #dSaturAlgo()}.
+     */
+    @Override
+    public void colorGraph() {
+        dSaturAlgo();
     }
 
     /**
@@ -138,6 +151,7 @@ public class DSatur {
     private void colorNode(int nodeIndex) {
         saturationDegree[nodeIndex] = -1; // Mark node as colored
         nodeColors[nodeIndex] = getBestColor(nodeIndex);
+        conflictLedger.setColor(nodeIndex, nodeColors[nodeIndex]);
     }
 
     /**
@@ -149,23 +163,6 @@ public class DSatur {
         return nodeColors[nodeIndex] != -1;
     }
 
-    /**
-     * Finds the index of the node with the highest saturation degree.
-     * @return The index of the node.
-     */
-    public int getHighestSaturationDegreeIndex() {
-        int indMax = -1;
-        for (int ii = 0; ii < saturationDegree.length; ii++) {
-            if (!isColored(ii)) {
-                if (indMax == -1 || saturationDegree[ii] > saturationDegree[indMax] ||
-                        (saturationDegree[ii] == saturationDegree[indMax] && nodeList.get(ii).getDegree() > nodeList.get(indMax).getDegree())) {
-                    indMax = ii;
-                }
-            }
-        }
-        return indMax;
-    }
-
     /**
      * Finds the best color for a node based on saturation degree and conflict resolution.
      * @param nodeIndex The index of the node.
@@ -173,9 +170,9 @@ public class DSatur {
      */
     public int getBestColor(int nodeIndex) {
         int bestColor = getFirstAvailableColor(nodeIndex);
-        if (bestColor >= kMax) {
+        if (bestColor >= nbAvailableColors) {
             if (rand)
-                bestColor = new Random().nextInt(kMax);
+                bestColor = getRandomLeastConflictColor(nodeIndex);
             else
                 bestColor = getLeastConflictColor(nodeIndex);
         }
@@ -189,13 +186,8 @@ public class DSatur {
      * @return The lowest available color.
      */
     public int getFirstAvailableColor(int nodeIndex) {
-        ArrayList<Integer> usedColors = getAdjacentColors(nodeIndex);
-        for (int color = 0; color < kMax; color++) {
-            if (!usedColors.contains(color)) {
-                return color;
-            }
-        }
-        return kMax + 1; // Return an invalid color if all colors are used
+        int color = colorOccupancy.getFirstAvailableColor(nodeIndex);
+        return color < nbAvailableColors ? color : nbAvailableColors + 1; // Return an invalid color if all colors are used
     }
 
     /**
@@ -204,105 +196,46 @@ public class DSatur {
      * @return The least conflict color.
      */
     public int getLeastConflictColor(int nodeIndex) {
-        int[] nbEachColorAdjNodes = getNbEachColorAdjNodes(nodeIndex);
-        int leastConflictColor = 0;
-
-        for (int i = 1; i < nbEachColorAdjNodes.length; i++) {
-            if (nbEachColorAdjNodes[i] < nbEachColorAdjNodes[leastConflictColor]) {
-                leastConflictColor = i;
-            }
-        }
-
-        return leastConflictColor;
+        return colorOccupancy.getLeastConflictColor(nodeIndex);
     }
 
     /**
-     * Retrieves the number of adjacent nodes for each color around a node.
+     * Finds a least conflict color for a node, chosen at random among the ties.
      * @param nodeIndex The index of the node.
-     * @return An array where each index represents a color and the value at that index represents the number of adjacent nodes of that color.
-     */
-    public int[] getNbEachColorAdjNodes(int nodeIndex) {
-        NodePlus node = nodeList.get(nodeIndex);
-        ArrayList<Integer> indAdjNodes = node.getAdjIndList();
-
-        int[] nbEachColorAdjNodes = new int[kMax];
-
-        int color;
-
-        for (int indAdjNode : indAdjNodes) {
-            color = nodeColors[indAdjNode];
-            if (color != -1)
-                nbEachColorAdjNodes[color]++;
+     * @return A least conflict color.
+     */
+    private int getRandomLeastConflictColor(int nodeIndex) {
+        int bestColor = 0, nbTies = 0;
+        int leastConflicts = colorOccupancy.getCount(nodeIndex, getLeastConflictColor(nodeIndex));
+        for (int color = 0; color < nbAvailableColors; color++) {
+            if (colorOccupancy.getCount(nodeIndex, color) == leastConflicts && random.nextInt(++nbTies) == 0)
+                bestColor = color;
         }
-
-        return nbEachColorAdjNodes;
+        return bestColor;
     }
 
     /**
-     * Retrieves the colors used by adjacent nodes.
+     * Retrieves the number of adjacent nodes for each color around a node.
      * @param nodeIndex The index of the node.
-     * @return An ArrayList containing the colors used by adjacent nodes.
+     * @return An array where each index represents a color and the value at that index represents the number of adjacent nodes of that color.
      */
-    private ArrayList<Integer> getAdjacentColors(int nodeIndex) {
-        NodePlus node = nodeList.get(nodeIndex);
-        ArrayList<Integer> indAdjNodes = node.getAdjIndList();
-        ArrayList<Integer> usedColors = new ArrayList<>();
-
-        for (int indTmp : indAdjNodes) {
-            if (!usedColors.contains(nodeColors[indTmp]))
-                usedColors.add(nodeColors[indTmp]);
-        }
-
-        return usedColors;
+    public int[] getNbEachColorAdjNodes(int nodeIndex) {
+        return colorOccupancy.getCounts(nodeIndex);
     }
 
     /**
      * Updates the saturation degrees of adjacent nodes after coloring a node.
+     * A neighbor gains one saturation degree when it sees the color for the first time.
      * @param nodeIndex The index of the colored node.
-     */
-    private void updateAdjacentNodes(int nodeIndex) {
-        NodePlus node = nodeList.get(nodeIndex);
-        ArrayList<Integer> indAdjNodes = node.getAdjIndList();
-        for (int indTmp : indAdjNodes) {
-            if (!isColored(indTmp)) {
-                saturationDegree[indTmp] = getSaturDegree(indTmp);
-            }
-        }
-    }
-
-    /**
-     * Calculates the saturation degree of a node.
-     * @param nodeIndex The index of the node.
-     * @return The saturation degree of the node.
-     */
-    private int getSaturDegree(int nodeIndex) {
-        NodePlus node = nodeList.get(nodeIndex);
-        ArrayList<Integer> indAdjNodes = node.getAdjIndList();
-        ArrayList<Integer> viewedColors = new ArrayList<>();
-        int saturDegree = 0;
-        int colorTmp;
-
-        for (int indTmp : indAdjNodes) {
-            colorTmp = nodeColors[indTmp];
-            if (isColored(indTmp) && !viewedColors.contains(colorTmp)) {
-                saturDegree++;
-                viewedColors.add(colorTmp);
-            }
-        }
-        return saturDegree;
-    }
-
-    /**
-     * Calculates the list of conflicting nodes based on their colors.
-     */
-    private void calcIndConflictsList() {
-        indConflictsList = new ArrayList<>();
-        for (NodePlus node : nodeList.getNodeList()) {
-            for (int indAdjNode : nodeList.get(node.getIndex()).getAdjIndList()) {
-                if (nodeColors[node.getIndex()] == nodeColors[indAdjNode]
-                        && node.getIndex() < indAdjNode) {
-                    indConflictsList.add(new int[]{node.getIndex(), indAdjNode});
-                }
+     * @param queue The queue of the uncolored nodes.
+     */
+    private void updateAdjacentNodes(int nodeIndex, SaturationQueue queue) {
+        int color = nodeColors[nodeIndex];
+        for (int ii = adjacency.adjStart[nodeIndex]; ii < adjacency.adjStart[nodeIndex + 1]; ii++) {
+            int indTmp = adjacency.adjNodes[ii];
+            if (colorOccupancy.add(indTmp, color) && !isColored(indTmp)) {
+                saturationDegree[indTmp]++;
+                queue.increase(indTmp);
             }
         }
     }
@@ -0,0 +1,137 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.Arrays;
+
+/**
+ * Reduces a kMax-coloring to the kMax-core of the graph before running a registered algorithm.
+ * <p>
+ * A node with fewer than kMax neighbors can always be colored without conflict once its
+ * neighbors are colored. Such nodes are peeled one after the other, lowering the degree of
+ * their neighbors, until every remaining node has at least kMax remaining neighbors (the
+ * kMax-core of the k-core decomposition). The chosen algorithm only colors the core, then
+ * the peeled nodes are colored by first fit in the reverse order of peeling: each of them
+ * has fewer than kMax neighbors colored before it, so it always finds a free color.
+ * A kMax of 0 or less means that the number of colors is not limited, and nothing is peeled.
+ */
+public class DegeneracyPeeling extends AbstractColoringAlgorithm {
+
+    /** Name of the algorithm coloring the core, see {@link ColoringRegistry}. */
+    private final String algorithmName;
+
+    /** Maximum duration of the coloring of the core, in milliseconds (0 for the default of the algorithm). */
+    private long timeLimit;
+
+    /** Number of nodes of the core colored by the algorithm. */
+    private int coreSize;
+
+    /**
+     * Constructs a peeling coloring of the given graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newAlgorithmName The name of the algorithm coloring the core.
+     */
+    public DegeneracyPeeling(GraphPlus newGraph, String newAlgorithmName) {
+        this(newGraph, new Adjacency(newGraph), newAlgorithmName);
+    }
+
+    /**
+     * Constructs a peeling coloring sharing the adjacency of the graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
+     * @param newAlgorithmName The name of the algorithm coloring the core.
+     */
+    public DegeneracyPeeling(GraphPlus newGraph, Adjacency newAdjacency, String newAlgorithmName) {
+        super(newGraph, newAdjacency);
+        algorithmName = newAlgorithmName;
+    }
+
+    /**
+     * Sets the maximum duration of the coloring of the core.
+     * @param newTimeLimit The maximum duration in milliseconds, 0 for the default of the algorithm.
+     */
+    @Override
+    public void setTimeLimit(long newTimeLimit) {
+        timeLimit = newTimeLimit;
+    }
+
+    /**
+     * Peels the graph, colors its core and colors the peeled nodes back.
+     */
+    @Override
+    public void colorGraph() {
+        int nbNodes = adjacency.size();
+        int[] adjStart = adjacency.adjStart;
+        int[] adjNodes = adjacency.adjNodes;
+        nodeColors = new int[nbNodes];
+        Arrays.fill(nodeColors, -1);
+
+        // Peeling: nodes whose remaining degree is below kMax are removed, in that order
+        int[] peeled = new int[nbNodes];
+        boolean[] isPeeled = new boolean[nbNodes];
+        int nbPeeled = 0;
+        if (kMax > 0) {
+            int[] degrees = adjacency.getDegrees();
+            for (int ii = 0; ii < nbNodes; ii++) {
+                if (degrees[ii] < kMax) {
+                    isPeeled[ii] = true;
+                    peeled[nbPeeled++] = ii;
+                }
+            }
+            for (int ii = 0; ii < nbPeeled; ii++) {
+                int node = peeled[ii];
+                for (int jj = adjStart[node]; jj < adjStart[node + 1]; jj++) {
+                    int neighbor = adjNodes[jj];
+                    if (!isPeeled[neighbor] && --degrees[neighbor] < kMax) {
+                        isPeeled[neighbor] = true;
+                        peeled[nbPeeled++] = neighbor;
+                    }
+                }
+            }
+        }
+
+        // Core colored by the algorithm
+        coreSize = nbNodes - nbPeeled;
+        if (coreSize > 0) {
+            int[] localIndexes = new int[nbNodes];
+            Arrays.fill(localIndexes, -1);
+            int[] coreNodes = new int[coreSize];
+            for (int ii = 0, pos = 0; ii < nbNodes; ii++) {
+                if (!isPeeled[ii]) {
+                    localIndexes[ii] = pos;
+                    coreNodes[pos++] = ii;
+                }
+            }
+            Adjacency core = nbPeeled == 0 ? adjacency : adjacency.getInducedSubgraph(coreNodes, localIndexes);
+            ColoringAlgorithm algorithm = ColoringRegistry.create(algorithmName, graph, core);
+            algorithm.setKMax(kMax);
+            if (timeLimit > 0)
+                algorithm.setTimeLimit(timeLimit);
+            algorithm.setStopCondition(stopCondition);
+            algorithm.colorGraph();
+            int[] colors = algorithm.getNodeColors();
+            for (int ii = 0; ii < coreSize; ii++) {
+                nodeColors[coreNodes[ii]] = colors[ii];
+            }
+        }
+
+        // Peeled nodes colored back by first fit
+        int[] colorMarks = new int[Math.max(kMax, 1)];
+        for (int ii = nbPeeled - 1; ii >= 0; ii--) {
+            colorFirstFit(peeled[ii], colorMarks);
+        }
+
+        conflictLedger = new ConflictLedger(adjacency, nodeColors);
+    }
+
+    /**
+     * Retrieves the number of nodes left in the core and colored by the algorithm.
+     * @return The size of the core.
+     */
+    public int getCoreSize() {
+        return coreSize;
+    }
+
+}
@@ -0,0 +1,445 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.Arrays;
+
+/**
+ * Exact coloring by a branch and bound following the DSatur order.
+ * <p>
+ * With a kMax, the number of conflicts is minimized; with a kMax of 0 or less, the number of colors
+ * is minimized without conflict. The search starts from the best heuristic coloring (DSatur, then a
+ * short {@link TabuCol} repair when it has conflicts; without kMax, DSatur limited to the colors of
+ * {@link WelshPowell}, or Welsh-Powell itself if DSatur needs more) and stops as soon as it reaches the lower
+ * bound of {@link CliqueBound}. At each level, the uncolored node of highest saturation degree is
+ * colored with each color in turn, cheapest first, and only one color not used yet is tried, since
+ * all of them are equivalent. A branch is cut when its conflicts, plus one for each uncolored node
+ * whose neighbors already use every color, reach the best coloring. When minimizing colors, the
+ * largest clique found is colored first, and a node whose neighbors are all neighbors of another
+ * node not adjacent to it is left out of the search and takes the color of that node afterwards.
+ * The uncolored nodes and the neighborhoods of this dominance test are {@code long[]} bitsets.
+ * <p>
+ * The search is bounded by a time limit and by the stop condition, after which the best coloring
+ * found is kept, and is skipped above {@link #MAX_EXACT_NODES} nodes: it is meant for small or
+ * medium components, see {@link ComponentColoring}.
+ */
+public class ExactDSatur extends AbstractColoringAlgorithm {
+
+    /** Default duration of the search, in milliseconds. */
+    public static final long DEFAULT_TIME_LIMIT = 1000;
+
+    /** Number of nodes above which only the heuristic coloring is computed. */
+    public static final int MAX_EXACT_NODES = 1000;
+
+    /** Number of iterations of the TabuCol repair of the heuristic coloring. */
+    private static final long REPAIR_ITERATIONS = 10000;
+
+    /** The number of nodes in the graph. */
+    private final int nbNodes;
+
+    /** Maximum duration of the search, in milliseconds (0 for no limit). */
+    private long timeLimit = DEFAULT_TIME_LIMIT;
+
+    /** Lower bound on the number of conflicts given by the caller. */
+    private int conflictLowerBound;
+
+    /** True if the best coloring is proven optimal. */
+    private boolean isOptimal;
+
+    /** Number of nodes of the search tree visited by the last run. */
+    private long nbBranches;
+
+    /** True when minimizing colors, false when minimizing conflicts with kMax colors. */
+    private boolean isColorMode;
+
+    /** Number of colors of the search tables. */
+    private int nbTableColors;
+
+    /** Lower bound on the objective: colors or conflicts. */
+    private int lowerBound;
+
+    /** Number of conflicts of the best coloring. */
+    private int bestConflicts;
+
+    /** Number of colors of the best coloring. */
+    private int bestNbColors;
+
+    /** Color of each node in the search, -1 for uncolored. */
+    private int[] colors;
+
+    /** Number of colored neighbors of each color, indexed by node * nbTableColors + color. */
+    private int[] colorCounts;
+
+    /** Number of distinct colors of the colored neighbors of each node. */
+    private int[] saturation;
+
+    /** Number of uncolored neighbors of each node. */
+    private int[] uncoloredDegree;
+
+    /** Uncolored nodes of the search, one bit per node. */
+    private long[] uncolored;
+
+    /** Number of uncolored nodes of the search whose neighbors use the kMax colors. */
+    private int nbFull;
+
+    /** Nodes left out of the search, in the order they were removed. */
+    private int[] dominated;
+
+    /** Node whose color each node left out of the search takes. */
+    private int[] dominators;
+
+    /** Number of nodes left out of the search. */
+    private int nbDominated;
+
+    /** Candidate colors of each level of the search, indexed by depth * (nbTableColors + 1). */
+    private int[] candidates;
+
+    /** End of the search, in milliseconds. */
+    private long deadline;
+
+    /** True when the search ran out of time or was stopped. */
+    private boolean isTimedOut;
+
+    /**
+     * Constructs an exact coloring of the given graph.
+     *
+     * @param newGraph The graph to be colored.
+     */
+    public ExactDSatur(GraphPlus newGraph) {
+        this(newGraph, new Adjacency(newGraph));
+    }
+
+    /**
+     * Constructs an exact coloring sharing the adjacency of the graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
+     */
+    public ExactDSatur(GraphPlus newGraph, Adjacency newAdjacency) {
+        super(newGraph, newAdjacency);
+        nbNodes = adjacency.size();
+    }
+
+    /**
+     * Sets the maximum duration of the search, after which the best coloring found is kept.
+     * @param newTimeLimit The maximum duration in milliseconds, 0 for no limit.
+     */
+    @Override
+    public void setTimeLimit(long newTimeLimit) {
+        timeLimit = newTimeLimit;
+    }
+
+    /**
+     * Sets a number of conflicts below which no coloring can go, to stop as soon as it is reached.
+     * @param newConflictLowerBound The lower bound on the number of conflicts.
+     */
+    @Override
+    public void setConflictLowerBound(int newConflictLowerBound) {
+        conflictLowerBound = newConflictLowerBound;
+    }
+
+    /**
+     * Colors the graph with the heuristic, then searches for an optimal coloring.
+     */
+    @Override
+    public void colorGraph() {
+        deadline = timeLimit > 0 ? System.currentTimeMillis() + timeLimit : Long.MAX_VALUE;
+        isColorMode = kMax <= 0;
+        isOptimal = false;
+        isTimedOut = false;
+        nbBranches = 0;
+
+        // Heuristic coloring and lower bound
+        CliqueBound cliqueBound = new CliqueBound(adjacency);
+        DSatur dSatur = new DSatur(graph, adjacency);
+        if (isColorMode) {
+            // Welsh-Powell keeps no table per color: its number of colors bounds the table of DSatur
+            WelshPowell welshPowell = new WelshPowell(graph, adjacency);
+            welshPowell.setKMax(0);
+            welshPowell.welshPowellAlgo();
+            dSatur.setKMax(welshPowell.getNbColors());
+            dSatur.dSaturAlgo();
+            nodeColors = (dSatur.getNbConflicts() == 0 ? dSatur.getNodeColors() : welshPowell.getNodeColors()).clone();
+            bestConflicts = 0;
+            lowerBound = cliqueBound.getColorLowerBound();
+        } else {
+            dSatur.setKMax(kMax);
+            dSatur.dSaturAlgo();
+            nodeColors = dSatur.getNodeColors().clone();
+            bestConflicts = dSatur.getNbConflicts();
+            lowerBound = Math.max(conflictLowerBound, cliqueBound.getConflictLowerBound(kMax));
+            if (bestConflicts > lowerBound) {
+                TabuCol tabuCol = new TabuCol(graph, adjacency, nodeColors);
+                tabuCol.setKMax(kMax);
+                tabuCol.setMaxIterations(REPAIR_ITERATIONS);
+                tabuCol.setConflictLowerBound(lowerBound);
+                tabuCol.colorGraph();
+                if (tabuCol.getNbConflicts() < bestConflicts) {
+                    nodeColors = tabuCol.getNodeColors().clone();
+                    bestConflicts = tabuCol.getNbConflicts();
+                }
+            }
+        }
+        bestNbColors = getNbColors();
+
+        if (!isSolved() && nbNodes <= MAX_EXACT_NODES) {
+            branchAndBound(cliqueBound.getMaxClique());
+            isOptimal = isSolved() || !isTimedOut;
+        } else {
+            isOptimal = isSolved();
+        }
+        conflictLedger = new ConflictLedger(adjacency, nodeColors);
+    }
+
+    /**
+     * Checks if the best coloring reaches the lower bound.
+     * @return True if the best coloring is optimal.
+     */
+    private boolean isSolved() {
+        return isColorMode ? bestNbColors <= lowerBound : bestConflicts <= lowerBound;
+    }
+
+    /**
+     * Sets up the search tables and explores the search tree.
+     *
+     * @param clique The largest clique found, colored first when minimizing colors.
+     */
+    private void branchAndBound(int[] clique) {
+        nbTableColors = isColorMode ? bestNbColors : kMax;
+        int nbWords = (nbNodes + 63) >>> 6;
+        colors = new int[nbNodes];
+        Arrays.fill(colors, -1);
+        colorCounts = new int[nbNodes * nbTableColors];
+        saturation = new int[nbNodes];
+        uncoloredDegree = new int[nbNodes];
+        uncolored = new long[nbWords];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            uncolored[ii >>> 6] |= 1L << ii;
+            for (int jj = adjacency.adjStart[ii]; jj < adjacency.adjStart[ii + 1]; jj++) {
+                if (adjacency.adjNodes[jj] != ii)
+                    uncoloredDegree[ii]++;
+            }
+        }
+        nbFull = 0;
+        candidates = new int[(nbNodes + 1) * (nbTableColors + 1)];
+
+        nbDominated = 0;
+        dominated = new int[nbNodes];
+        dominators = new int[nbNodes];
+        int depth = 0;
+        int nbUsed = 0;
+        if (isColorMode) {
+            removeDominatedNodes(nbWords);
+            for (int node : clique) {
+                if (isUncolored(node))
+                    assign(node, nbUsed++);
+            }
+            depth = nbUsed;
+        }
+        search(depth, nbUsed, 0);
+    }
+
+    /**
+     * Leaves out of the search the nodes whose neighbors are all neighbors of another node not adjacent to them.
+     *
+     * @param nbWords The number of words of a bitset of nodes.
+     */
+    private void removeDominatedNodes(int nbWords) {
+        long[] rows = new long[nbNodes * nbWords];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            for (int jj = adjacency.adjStart[ii]; jj < adjacency.adjStart[ii + 1]; jj++) {
+                int neighbor = adjacency.adjNodes[jj];
+                if (neighbor != ii)
+                    rows[ii * nbWords + (neighbor >>> 6)] |= 1L << neighbor;
+            }
+        }
+        for (int ii = 0; ii < nbNodes; ii++) {
+            for (int jj = 0; jj < nbNodes; jj++) {
+                if (jj == ii || !isUncolored(jj) || (rows[ii * nbWords + (jj >>> 6)] & (1L << jj)) != 0)
+                    continue;
+                boolean isSubset = true;
+                for (int word = 0; word < nbWords && isSubset; word++) {
+                    isSubset = (rows[ii * nbWords + word] & ~rows[jj * nbWords + word]) == 0;
+                }
+                if (isSubset) {
+                    uncolored[ii >>> 6] &= ~(1L << ii);
+                    for (int kk = adjacency.adjStart[ii]; kk < adjacency.adjStart[ii + 1]; kk++) {
+                        if (adjacency.adjNodes[kk] != ii)
+                            uncoloredDegree[adjacency.adjNodes[kk]]--;
+                    }
+                    dominated[nbDominated] = ii;
+                    dominators[nbDominated++] = jj;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Explores the colorings of the uncolored nodes.
+     *
+     * @param depth The number of nodes of the search already colored.
+     * @param nbUsed The number of colors used.
+     * @param conflicts The number of conflicts between colored nodes.
+     */
+    private void search(int depth, int nbUsed, int conflicts) {
+        if ((++nbBranches & 1023) == 0 && (System.currentTimeMillis() > deadline || isStopped()))
+            isTimedOut = true;
+        if (isTimedOut)
+            return;
+        if (depth == nbNodes - nbDominated) {
+            if (isColorMode ? nbUsed < bestNbColors : conflicts < bestConflicts)
+                saveBest(nbUsed, conflicts);
+            return;
+        }
+        if (!isColorMode && conflicts + nbFull >= bestConflicts)
+            return;
+
+        int node = selectNode();
+        int base = node * nbTableColors;
+        int start = depth * (nbTableColors + 1);
+        int nbCandidates = 0;
+        if (isColorMode) {
+            for (int color = 0; color < nbUsed; color++) {
+                if (colorCounts[base + color] == 0)
+                    candidates[start + nbCandidates++] = color;
+            }
+            candidates[start + nbCandidates++] = nbUsed;
+        } else {
+            // Colors by increasing number of conflicts, the colors not used yet counting as one
+            int limit = Math.min(nbUsed + 1, kMax);
+            for (int color = 0; color < limit; color++) {
+                int pos = start + nbCandidates++;
+                while (pos > start && colorCounts[base + candidates[pos - 1]] > colorCounts[base + color]) {
+                    candidates[pos] = candidates[pos - 1];
+                    pos--;
+                }
+                candidates[pos] = color;
+            }
+        }
+
+        int nodeFull = !isColorMode && saturation[node] == kMax ? 1 : 0;
+        for (int ii = start; ii < start + nbCandidates; ii++) {
+            int color = candidates[ii];
+            int added = colorCounts[base + color];
+            if (isColorMode ? color == nbUsed && nbUsed + 1 >= bestNbColors
+                    : conflicts + added + nbFull - nodeFull >= bestConflicts)
+                break;
+            assign(node, color);
+            search(depth + 1, Math.max(nbUsed, color + 1), conflicts + added);
+            unassign(node, color);
+            if (isTimedOut || isSolved())
+                return;
+        }
+    }
+
+    /**
+     * Selects the uncolored node of highest saturation degree, then of most uncolored neighbors, then of lowest index.
+     *
+     * @return The node to color.
+     */
+    private int selectNode() {
+        int bestNode = -1;
+        for (int word = 0; word < uncolored.length; word++) {
+            long bits = uncolored[word];
+            while (bits != 0) {
+                int node = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (bestNode == -1 || saturation[node] > saturation[bestNode]
+                        || (saturation[node] == saturation[bestNode] && uncoloredDegree[node] > uncoloredDegree[bestNode]))
+                    bestNode = node;
+            }
+        }
+        return bestNode;
+    }
+
+    /**
+     * Checks if a node is uncolored and part of the search.
+     *
+     * @param node The node.
+     * @return True if the node is still to be colored by the search.
+     */
+    private boolean isUncolored(int node) {
+        return (uncolored[node >>> 6] & (1L << node)) != 0;
+    }
+
+    /**
+     * Colors a node and updates the tables of its neighbors.
+     *
+     * @param node The node.
+     * @param color The color.
+     */
+    private void assign(int node, int color) {
+        colors[node] = color;
+        uncolored[node >>> 6] &= ~(1L << node);
+        if (!isColorMode && saturation[node] == kMax)
+            nbFull--;
+        for (int jj = adjacency.adjStart[node]; jj < adjacency.adjStart[node + 1]; jj++) {
+            int neighbor = adjacency.adjNodes[jj];
+            if (neighbor == node)
+                continue;
+            uncoloredDegree[neighbor]--;
+            if (colorCounts[neighbor * nbTableColors + color]++ == 0) {
+                saturation[neighbor]++;
+                if (!isColorMode && saturation[neighbor] == kMax && isUncolored(neighbor))
+                    nbFull++;
+            }
+        }
+    }
+
+    /**
+     * Uncolors a node and restores the tables of its neighbors.
+     *
+     * @param node The node.
+     * @param color The color it had.
+     */
+    private void unassign(int node, int color) {
+        for (int jj = adjacency.adjStart[node]; jj < adjacency.adjStart[node + 1]; jj++) {
+            int neighbor = adjacency.adjNodes[jj];
+            if (neighbor == node)
+                continue;
+            uncoloredDegree[neighbor]++;
+            if (--colorCounts[neighbor * nbTableColors + color] == 0) {
+                if (!isColorMode && saturation[neighbor] == kMax && isUncolored(neighbor))
+                    nbFull--;
+                saturation[neighbor]--;
+            }
+        }
+        uncolored[node >>> 6] |= 1L << node;
+        if (!isColorMode && saturation[node] == kMax)
+            nbFull++;
+        colors[node] = -1;
+    }
+
+    /**
+     * Keeps the complete coloring of the search, giving their dominator's color to the nodes left out.
+     *
+     * @param nbUsed The number of colors used.
+     * @param conflicts The number of conflicts.
+     */
+    private void saveBest(int nbUsed, int conflicts) {
+        System.arraycopy(colors, 0, nodeColors, 0, nbNodes);
+        for (int ii = nbDominated - 1; ii >= 0; ii--) {
+            nodeColors[dominated[ii]] = nodeColors[dominators[ii]];
+        }
+        bestNbColors = nbUsed;
+        bestConflicts = conflicts;
+    }
+
+    /**
+     * Checks if the last coloring is proven optimal.
+     * @return True if the search was completed or reached the lower bound.
+     */
+    public boolean isOptimal() {
+        return isOptimal;
+    }
+
+    /**
+     * Retrieves the number of nodes of the search tree visited by the last run.
+     * @return The number of branches.
+     */
+    public long getNbBranches() {
+        return nbBranches;
+    }
+
+}
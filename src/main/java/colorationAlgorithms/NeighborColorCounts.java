@@ -0,0 +1,72 @@
+package colorationAlgorithms;
+
+/**
+ * Number of neighbors of each color around each node of a coloring with kMax colors, used by the
+ * local searches to read the effect of a move in O(1).
+ * <p>
+ * The counts are kept in a flat {@code int[]} (node * kMax + color) and updated incrementally when a
+ * node changes color. Loops are left out, as in the {@link ConflictLedger}: a node is not its own neighbor.
+ */
+class NeighborColorCounts {
+
+    /** The adjacency of the graph. */
+    private final Adjacency adjacency;
+
+    /** Number of colors. */
+    private final int kMax;
+
+    /** Number of neighbors of each color, indexed by node * kMax + color. */
+    private final int[] counts;
+
+    /**
+     * Counts the neighbors of each color of a coloring.
+     *
+     * @param newAdjacency The adjacency of the graph.
+     * @param newKMax The number of colors.
+     * @param colors The color of each node, in [0, kMax).
+     */
+    NeighborColorCounts(Adjacency newAdjacency, int newKMax, int[] colors) {
+        adjacency = newAdjacency;
+        kMax = newKMax;
+        int nbNodes = adjacency.size();
+        counts = new int[nbNodes * kMax];
+        int[] adjStart = adjacency.adjStart;
+        int[] adjNodes = adjacency.adjNodes;
+        for (int ii = 0; ii < nbNodes; ii++) {
+            for (int jj = adjStart[ii]; jj < adjStart[ii + 1]; jj++) {
+                if (adjNodes[jj] != ii)
+                    counts[ii * kMax + colors[adjNodes[jj]]]++;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of neighbors of a node colored with a color.
+     *
+     * @param node The node.
+     * @param color The color.
+     * @return The number of neighbors of that color.
+     */
+    int get(int node, int color) {
+        return counts[node * kMax + color];
+    }
+
+    /**
+     * Updates the counts of the neighbors of a node moved to a new color.
+     *
+     * @param node The node.
+     * @param oldColor The color of the node before the move.
+     * @param newColor The color of the node after the move.
+     */
+    void move(int node, int oldColor, int newColor) {
+        int[] adjStart = adjacency.adjStart;
+        int[] adjNodes = adjacency.adjNodes;
+        for (int jj = adjStart[node]; jj < adjStart[node + 1]; jj++) {
+            int neighbor = adjNodes[jj];
+            if (neighbor == node)
+                continue;
+            counts[neighbor * kMax + oldColor]--;
+            counts[neighbor * kMax + newColor]++;
+        }
+    }
+}
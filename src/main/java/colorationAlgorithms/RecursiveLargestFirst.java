@@ -0,0 +1,206 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.Arrays;
+
+/**
+ * Implements the Recursive Largest First (RLF) graph coloring algorithm.
+ * <p>
+ * The colors are built one class at a time. A class starts with the uncolored node having the
+ * most uncolored neighbors, then repeatedly takes the candidate (uncolored and not adjacent to
+ * the class) having the most neighbors adjacent to the class, then the fewest candidate neighbors.
+ * The adjacency is kept as rows of {@code long[]} bits, and the candidates and the nodes adjacent to
+ * the class as bitsets: each node leaving the candidates updates the counts of the remaining ones
+ * with word operations on its row, so that a class costs O(n * n / 64) plus the degrees.
+ * When the kMax colors are used up, the remaining nodes receive their least conflict color, as
+ * in {@link DSatur#getBestColor(int)}. A kMax of 0 or less means that the number of colors is not limited.
+ * <p>
+ * The rows take n * n / 8 bytes: above {@link #MAX_RLF_NODES} nodes, the graph is colored by {@link DSatur}.
+ */
+public class RecursiveLargestFirst extends AbstractColoringAlgorithm {
+
+    /** Number of nodes above which the graph is colored by DSatur, the rows then taking more than 50 MB. */
+    public static final int MAX_RLF_NODES = 20000;
+
+    /** The number of nodes in the graph. */
+    private final int nbNodes;
+
+    /** Number of words of a row. */
+    private final int nbWords;
+
+    /** Neighbors of each node, indexed by node * nbWords + word (created on first use). */
+    private long[] rows;
+
+    /**
+     * Constructs a RLF coloring of the given graph.
+     *
+     * @param newGraph The graph to be colored.
+     */
+    public RecursiveLargestFirst(GraphPlus newGraph) {
+        this(newGraph, new Adjacency(newGraph));
+    }
+
+    /**
+     * Constructs a RLF coloring sharing the adjacency of the graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
+     */
+    public RecursiveLargestFirst(GraphPlus newGraph, Adjacency newAdjacency) {
+        super(newGraph, newAdjacency);
+        nbNodes = adjacency.size();
+        nbWords = (nbNodes + 63) >>> 6;
+    }
+
+    /**
+     * Builds the bit rows of the adjacency, leaving out the loops.
+     */
+    private void createRows() {
+        rows = new long[nbNodes * nbWords];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            for (int jj = adjacency.adjStart[ii]; jj < adjacency.adjStart[ii + 1]; jj++) {
+                int neighbor = adjacency.adjNodes[jj];
+                if (neighbor != ii)
+                    rows[ii * nbWords + (neighbor >>> 6)] |= 1L << neighbor;
+            }
+        }
+    }
+
+    /**
+     * Executes the RLF algorithm to color the graph, or DSatur above {@link #MAX_RLF_NODES} nodes.
+     */
+    public void rlfAlgo() {
+        if (nbNodes > MAX_RLF_NODES) {
+            DSatur dSatur = new DSatur(graph, adjacency);
+            dSatur.setKMax(kMax);
+            dSatur.setStopCondition(stopCondition);
+            dSatur.dSaturAlgo();
+            nodeColors = dSatur.getNodeColors();
+            conflictLedger = dSatur.getConflictLedger();
+            return;
+        }
+        if (rows == null)
+            createRows();
+        nodeColors = new int[nbNodes];
+        Arrays.fill(nodeColors, -1);
+        conflictLedger = new ConflictLedger(adjacency);
+
+        long[] uncolored = new long[nbWords];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            uncolored[ii >>> 6] |= 1L << ii;
+        }
+        int nbUncolored = nbNodes;
+        long[] candidates = new long[nbWords];
+        long[] leaving = new long[nbWords];
+        // Number of candidate neighbors, and of neighbors adjacent to the class, of each candidate
+        int[] nbCandidateNeighbors = new int[nbNodes];
+        int[] nbClassNeighbors = new int[nbNodes];
+
+        int nbColors = kMax > 0 ? kMax : nbNodes;
+        for (int color = 0; color < nbColors && nbUncolored > 0 && !isStopped(); color++) {
+            System.arraycopy(uncolored, 0, candidates, 0, nbWords);
+            int node = -1;
+            for (int word = 0; word < nbWords; word++) {
+                for (long bits = candidates[word]; bits != 0; bits &= bits - 1) {
+                    int candidate = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    nbCandidateNeighbors[candidate] = countCommon(candidate, candidates);
+                    nbClassNeighbors[candidate] = 0;
+                    if (node == -1 || nbCandidateNeighbors[candidate] > nbCandidateNeighbors[node])
+                        node = candidate;
+                }
+            }
+
+            while (node != -1 && !isStopped()) {
+                nodeColors[node] = color;
+                conflictLedger.setColor(node, color);
+                uncolored[node >>> 6] &= ~(1L << node);
+                nbUncolored--;
+
+                // The node and its candidate neighbors leave the candidates
+                int base = node * nbWords;
+                for (int word = 0; word < nbWords; word++) {
+                    leaving[word] = candidates[word] & rows[base + word];
+                    candidates[word] &= ~leaving[word];
+                }
+                candidates[node >>> 6] &= ~(1L << node);
+                leaving[node >>> 6] |= 1L << node;
+                for (int word = 0; word < nbWords; word++) {
+                    for (long bits = leaving[word]; bits != 0; bits &= bits - 1) {
+                        int left = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        boolean isAdjacentToClass = left != node;
+                        int leftBase = left * nbWords;
+                        for (int word2 = 0; word2 < nbWords; word2++) {
+                            for (long bits2 = candidates[word2] & rows[leftBase + word2]; bits2 != 0; bits2 &= bits2 - 1) {
+                                int candidate = (word2 << 6) + Long.numberOfTrailingZeros(bits2);
+                                nbCandidateNeighbors[candidate]--;
+                                if (isAdjacentToClass)
+                                    nbClassNeighbors[candidate]++;
+                            }
+                        }
+                    }
+                }
+
+                node = selectNextNode(candidates, nbCandidateNeighbors, nbClassNeighbors);
+            }
+        }
+
+        // Nodes left once every color is used
+        if (nbUncolored > 0 && !isStopped()) {
+            int[] colorCounts = new int[nbColors];
+            for (int word = 0; word < nbWords; word++) {
+                for (long bits = uncolored[word]; bits != 0; bits &= bits - 1) {
+                    int node = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    nodeColors[node] = getLeastConflictColor(node, colorCounts);
+                    conflictLedger.setColor(node, nodeColors[node]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Colors the graph with {@link #rlfAlgo()}.
+     */
+    @Override
+    public void colorGraph() {
+        rlfAlgo();
+    }
+
+    /**
+     * Counts the neighbors of a node in a set.
+     *
+     * @param node The node.
+     * @param set The set of nodes, one bit per node.
+     * @return The number of neighbors of the node in the set.
+     */
+    private int countCommon(int node, long[] set) {
+        int count = 0;
+        int base = node * nbWords;
+        for (int word = 0; word < nbWords; word++) {
+            count += Long.bitCount(rows[base + word] & set[word]);
+        }
+        return count;
+    }
+
+    /**
+     * Selects the candidate with the most neighbors adjacent to the class, then the fewest candidate neighbors.
+     *
+     * @param candidates The candidates, one bit per node.
+     * @param nbCandidateNeighbors The number of candidate neighbors of each candidate.
+     * @param nbClassNeighbors The number of neighbors adjacent to the class of each candidate.
+     * @return The selected node, -1 if there is no candidate left.
+     */
+    private int selectNextNode(long[] candidates, int[] nbCandidateNeighbors, int[] nbClassNeighbors) {
+        int bestNode = -1;
+        for (int word = 0; word < nbWords; word++) {
+            for (long bits = candidates[word]; bits != 0; bits &= bits - 1) {
+                int candidate = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (bestNode == -1 || nbClassNeighbors[candidate] > nbClassNeighbors[bestNode]
+                        || (nbClassNeighbors[candidate] == nbClassNeighbors[bestNode]
+                        && nbCandidateNeighbors[candidate] < nbCandidateNeighbors[bestNode]))
+                    bestNode = candidate;
+            }
+        }
+        return bestNode;
+    }
+}
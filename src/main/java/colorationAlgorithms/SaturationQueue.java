@@ -0,0 +1,220 @@
+package colorationAlgorithms;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Bucket queue of the uncolored nodes of a DSatur run, keyed by (saturation degree, degree).
+ * <p>
+ * The nodes are ranked once by decreasing degree, then increasing index, with a counting sort.
+ * Each saturation level holds a two-level bitset over the ranks, so the best node of a level
+ * is its lowest set rank. Adding a node, raising its saturation and removing the best node
+ * take O(1) word operations (plus a scan of n / 4096 summary words), and the order is the
+ * DSatur order: highest saturation, then highest degree, then lowest index.
+ */
+public class SaturationQueue {
+
+    /** Rank of each node, by decreasing degree then increasing index. */
+    private final int[] rank;
+
+    /** Node of each rank. */
+    private final int[] nodeAtRank;
+
+    /** Saturation level of each node, -1 if the node is not in the queue. */
+    private final int[] level;
+
+    /** Bitset of the ranks present at each level (allocated on first use). */
+    private long[][] words;
+
+    /** Bitset of the non-empty words of each level. */
+    private long[][] summaries;
+
+    /** Number of nodes at each level. */
+    private int[] levelSize;
+
+    /** Highest level that may be non-empty. */
+    private int maxLevel = -1;
+
+    /** Number of nodes in the queue. */
+    private int size;
+
+    /**
+     * Constructs an empty queue for nodes of the given degrees.
+     *
+     * @param degrees The degree of each node.
+     */
+    public SaturationQueue(int[] degrees) {
+        this(degrees, null);
+    }
+
+    /**
+     * Constructs an empty queue for nodes of the given degrees, with nodes of the same degree
+     * ranked in a random order instead of by increasing index.
+     *
+     * @param degrees The degree of each node.
+     * @param random The random generator shuffling the nodes of the same degree, or null to keep the index order.
+     */
+    public SaturationQueue(int[] degrees, Random random) {
+        int nbNodes = degrees.length;
+        int maxDegree = 0;
+        for (int degree : degrees) {
+            maxDegree = Math.max(maxDegree, degree);
+        }
+        // Counting sort by decreasing degree, stable on the order of the nodes
+        int[] start = new int[maxDegree + 2];
+        for (int degree : degrees) {
+            start[maxDegree - degree + 1]++;
+        }
+        for (int ii = 0; ii <= maxDegree; ii++) {
+            start[ii + 1] += start[ii];
+        }
+        int[] order = new int[nbNodes];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            order[ii] = ii;
+        }
+        if (random != null) {
+            for (int ii = nbNodes - 1; ii > 0; ii--) {
+                int jj = random.nextInt(ii + 1);
+                int tmp = order[ii];
+                order[ii] = order[jj];
+                order[jj] = tmp;
+            }
+        }
+        rank = new int[nbNodes];
+        nodeAtRank = new int[nbNodes];
+        for (int node : order) {
+            rank[node] = start[maxDegree - degrees[node]]++;
+            nodeAtRank[rank[node]] = node;
+        }
+        level = new int[nbNodes];
+        Arrays.fill(level, -1);
+        words = new long[1][];
+        summaries = new long[1][];
+        levelSize = new int[1];
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return True if no node is in the queue.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retrieves the number of nodes in the queue.
+     *
+     * @return The size of the queue.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a node to the queue with a saturation degree.
+     *
+     * @param node The node to add.
+     * @param saturation The saturation degree of the node.
+     */
+    public void add(int node, int saturation) {
+        insert(node, saturation);
+        size++;
+    }
+
+    /**
+     * Raises the saturation degree of a node of the queue by one.
+     *
+     * @param node The node.
+     */
+    public void increase(int node) {
+        int saturation = level[node];
+        erase(node);
+        insert(node, saturation + 1);
+    }
+
+    /**
+     * Removes a node from the queue.
+     *
+     * @param node The node to remove.
+     */
+    public void remove(int node) {
+        erase(node);
+        size--;
+    }
+
+    /**
+     * Checks if a node is in the queue.
+     *
+     * @param node The node.
+     * @return True if the node is in the queue.
+     */
+    public boolean contains(int node) {
+        return level[node] >= 0;
+    }
+
+    /**
+     * Removes and returns the node with the highest saturation degree,
+     * then the highest degree, then the lowest index.
+     *
+     * @return The best node, -1 if the queue is empty.
+     */
+    public int poll() {
+        if (size == 0)
+            return -1;
+        while (levelSize[maxLevel] == 0) {
+            maxLevel--;
+        }
+        long[] summary = summaries[maxLevel];
+        int summaryWord = 0;
+        while (summary[summaryWord] == 0) {
+            summaryWord++;
+        }
+        int word = (summaryWord << 6) + Long.numberOfTrailingZeros(summary[summaryWord]);
+        int node = nodeAtRank[(word << 6) + Long.numberOfTrailingZeros(words[maxLevel][word])];
+        remove(node);
+        return node;
+    }
+
+    /**
+     * Stores a node at a level.
+     *
+     * @param node The node.
+     * @param saturation The level.
+     */
+    private void insert(int node, int saturation) {
+        if (saturation >= words.length) {
+            int newLength = Math.max(saturation + 1, words.length * 2);
+            words = Arrays.copyOf(words, newLength);
+            summaries = Arrays.copyOf(summaries, newLength);
+            levelSize = Arrays.copyOf(levelSize, newLength);
+        }
+        if (words[saturation] == null) {
+            int nbWords = (rank.length + 63) >>> 6;
+            words[saturation] = new long[nbWords];
+            summaries[saturation] = new long[(nbWords + 63) >>> 6];
+        }
+        int nodeRank = rank[node];
+        words[saturation][nodeRank >>> 6] |= 1L << nodeRank;
+        summaries[saturation][nodeRank >>> 12] |= 1L << (nodeRank >>> 6);
+        levelSize[saturation]++;
+        level[node] = saturation;
+        maxLevel = Math.max(maxLevel, saturation);
+    }
+
+    /**
+     * Clears a node from its level.
+     *
+     * @param node The node.
+     */
+    private void erase(int node) {
+        int saturation = level[node];
+        int nodeRank = rank[node];
+        long[] levelWords = words[saturation];
+        levelWords[nodeRank >>> 6] &= ~(1L << nodeRank);
+        if (levelWords[nodeRank >>> 6] == 0)
+            summaries[saturation][nodeRank >>> 12] &= ~(1L << (nodeRank >>> 6));
+        levelSize[saturation]--;
+        level[node] = -1;
+    }
+}
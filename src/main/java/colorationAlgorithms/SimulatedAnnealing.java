@@ -0,0 +1,210 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.Random;
+
+/**
+ * Implements a simulated annealing to reduce the conflicts of a coloring with kMax colors.
+ * <p>
+ * Starting from an existing coloring, each step moves a random conflicting node to a random
+ * other color. The change of conflicts is read in O(1) from the number of neighbors of each
+ * color of {@link NeighborColorCounts}, and the conflicting nodes from a {@link ConflictLedger}.
+ * A move is accepted if it does not increase the conflicts, otherwise with probability
+ * exp(-delta / temperature). The cooling is adaptive: after each epoch of moves, the temperature
+ * is lowered when more moves were accepted than a target rate, and raised otherwise. The target rate decreases geometrically from {@link #START_ACCEPTANCE} to
+ * {@link #END_ACCEPTANCE} as the time (or iteration) budget is spent. The search stops at zero
+ * conflicts (or at a known lower bound), or when the budget is spent, and keeps the best coloring seen.
+ */
+public class SimulatedAnnealing extends AbstractColoringAlgorithm {
+
+    /** Default duration of the search, in milliseconds. */
+    public static final long DEFAULT_TIME_LIMIT = 1000;
+
+    /** Number of moves of a search limited neither in time nor in moves, about one second. */
+    public static final long DEFAULT_MAX_ITERATIONS = 10000000;
+
+    /** Number of moves between two adjustments of the temperature. */
+    private static final int EPOCH = 1000;
+
+    /** Target rate of accepted moves at the start of the search. */
+    private static final double START_ACCEPTANCE = 0.3;
+
+    /** Target rate of accepted moves at the end of the search. */
+    private static final double END_ACCEPTANCE = 0.001;
+
+    /** Factor of the temperature at each adjustment. */
+    private static final double COOLING_FACTOR = 0.9;
+
+    /** The number of nodes in the graph. */
+    private final int nbNodes;
+
+    /** Coloring to start from, null to start from the DSatur coloring. */
+    private final int[] initialColors;
+
+    /** Maximum number of moves. */
+    private long maxIterations = Long.MAX_VALUE;
+
+    /** Maximum duration of the search, in milliseconds (0 for no limit). */
+    private long timeLimit = DEFAULT_TIME_LIMIT;
+
+    /** Number of conflicts below which no coloring can go: the search stops when it is reached. */
+    private int conflictLowerBound;
+
+    /** Seed of the random choices. */
+    private long seed;
+
+    /** Number of moves tried by the last run. */
+    private long nbIterations;
+
+    /**
+     * Constructs a simulated annealing starting from a coloring of the given graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newInitialColors The color of each node to start from; colors outside [0, kMax) are redrawn.
+     */
+    public SimulatedAnnealing(GraphPlus newGraph, int[] newInitialColors) {
+        this(newGraph, new Adjacency(newGraph), newInitialColors);
+    }
+
+    /**
+     * Constructs a simulated annealing sharing the adjacency of the graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
+     * @param newInitialColors The color of each node to start from, for instance a DSatur or Welsh-Powell
+     *                         coloring; colors outside [0, kMax) are redrawn. Null to start from the DSatur coloring.
+     */
+    public SimulatedAnnealing(GraphPlus newGraph, Adjacency newAdjacency, int[] newInitialColors) {
+        super(newGraph, newAdjacency);
+        nbNodes = adjacency.size();
+        initialColors = newInitialColors != null ? newInitialColors.clone() : null;
+    }
+
+    /**
+     * Sets the maximum number of moves. When both limits are set, the cooling follows the one spent first.
+     * @param newMaxIterations The maximum number of moves.
+     */
+    public void setMaxIterations(long newMaxIterations) {
+        maxIterations = newMaxIterations;
+    }
+
+    /**
+     * Sets the maximum duration of the search.
+     * @param newTimeLimit The maximum duration in milliseconds, 0 for no limit. Without an iteration limit
+     *                     either, the search stops after {@link #DEFAULT_MAX_ITERATIONS} moves.
+     */
+    @Override
+    public void setTimeLimit(long newTimeLimit) {
+        timeLimit = newTimeLimit;
+    }
+
+    /**
+     * Sets a number of conflicts below which no coloring can go, to stop as soon as it is reached.
+     * @param newConflictLowerBound The lower bound on the number of conflicts.
+     */
+    @Override
+    public void setConflictLowerBound(int newConflictLowerBound) {
+        conflictLowerBound = newConflictLowerBound;
+    }
+
+    /**
+     * Sets the seed of the random choices.
+     * @param newSeed The seed.
+     */
+    public void setSeed(long newSeed) {
+        seed = newSeed;
+    }
+
+    /**
+     * Retrieves the number of moves tried by the last run.
+     * @return The number of moves.
+     */
+    public long getNbIterations() {
+        return nbIterations;
+    }
+
+    /**
+     * Executes the simulated annealing.
+     */
+    public void annealingAlgo() {
+        Random random = new Random(seed);
+        long startTime = System.currentTimeMillis();
+        nodeColors = new int[nbNodes];
+        nbIterations = 0;
+        int[] initialColors = this.initialColors;
+        if (initialColors == null) {
+            DSatur dSatur = new DSatur(graph, adjacency);
+            dSatur.setKMax(kMax);
+            dSatur.dSaturAlgo();
+            initialColors = dSatur.getNodeColors();
+        }
+        if (nbNodes == 0 || kMax <= 1) {
+            System.arraycopy(initialColors, 0, nodeColors, 0, nbNodes);
+            conflictLedger = new ConflictLedger(adjacency, nodeColors);
+            return;
+        }
+
+        int[] colors = new int[nbNodes];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            colors[ii] = initialColors[ii] >= 0 && initialColors[ii] < kMax ? initialColors[ii] : random.nextInt(kMax);
+        }
+
+        // Number of neighbors of each color, and conflicts of the current coloring
+        NeighborColorCounts adjColorCounts = new NeighborColorCounts(adjacency, kMax, colors);
+        ConflictLedger ledger = new ConflictLedger(adjacency, colors);
+        int bestConflicts = ledger.getNbConflicts();
+        System.arraycopy(colors, 0, nodeColors, 0, nbNodes);
+
+        long iterationLimit = timeLimit <= 0 && maxIterations == Long.MAX_VALUE ? DEFAULT_MAX_ITERATIONS : maxIterations;
+        double temperature = 1.0;
+        double targetAcceptance = START_ACCEPTANCE;
+        int nbAccepted = 0;
+        while (bestConflicts > conflictLowerBound && nbIterations < iterationLimit) {
+            if (nbIterations % EPOCH == 0 && nbIterations > 0) {
+                // Share of the budget spent, from the clock or from the iterations
+                double spent = (double) nbIterations / iterationLimit;
+                if (timeLimit > 0)
+                    spent = Math.max(spent, (double) (System.currentTimeMillis() - startTime) / timeLimit);
+                if (spent >= 1 || isStopped())
+                    break;
+                targetAcceptance = START_ACCEPTANCE * Math.pow(END_ACCEPTANCE / START_ACCEPTANCE, spent);
+                if ((double) nbAccepted / EPOCH > targetAcceptance)
+                    temperature *= COOLING_FACTOR;
+                else
+                    temperature /= COOLING_FACTOR;
+                nbAccepted = 0;
+            }
+            nbIterations++;
+
+            int node = ledger.getConflictingNode(random.nextInt(ledger.getNbConflictingNodes()));
+            int oldColor = colors[node];
+            int newColor = (oldColor + 1 + random.nextInt(kMax - 1)) % kMax;
+            int delta = adjColorCounts.get(node, newColor) - adjColorCounts.get(node, oldColor);
+            if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature))
+                continue;
+
+            // Apply the move
+            nbAccepted++;
+            colors[node] = newColor;
+            ledger.setColor(node, newColor);
+            adjColorCounts.move(node, oldColor, newColor);
+
+            if (ledger.getNbConflicts() < bestConflicts) {
+                bestConflicts = ledger.getNbConflicts();
+                System.arraycopy(colors, 0, nodeColors, 0, nbNodes);
+            }
+        }
+
+        conflictLedger = new ConflictLedger(adjacency, nodeColors);
+    }
+
+    /**
+     * Colors the graph with {@link #annealingAlgo()}.
+     */
+    @Override
+    public void colorGraph() {
+        annealingAlgo();
+    }
+
+}
@@ -0,0 +1,211 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Implements the TabuCol local search to reduce the conflicts of a coloring with kMax colors.
+ * <p>
+ * Starting from an existing coloring, each iteration moves one conflicting node to the
+ * color that decreases the number of conflicts the most. The effect of every move is read
+ * from the number of neighbors of each color of {@link NeighborColorCounts}, and the
+ * conflicting nodes from a {@link ConflictLedger}. Moving a node back to its previous color is
+ * forbidden for a tenure depending on the number of conflicting nodes, unless the move improves
+ * the best coloring seen (aspiration). The search stops at zero conflicts (or at a known lower
+ * bound), or when the iteration or time budget is spent, and keeps the best coloring seen.
+ */
+public class TabuCol extends AbstractColoringAlgorithm {
+
+    /** Maximum random part of the tabu tenure. */
+    private static final int TENURE_BASE = 10;
+
+    /** Part of the tabu tenure proportional to the number of conflicting nodes. */
+    private static final double TENURE_FACTOR = 0.6;
+
+    /** The number of nodes in the graph. */
+    private final int nbNodes;
+
+    /** Coloring to start from, null to start from the DSatur coloring. */
+    private final int[] initialColors;
+
+    /** Maximum number of iterations. */
+    private long maxIterations = 100000;
+
+    /** Maximum duration of the search, in milliseconds (0 for no limit). */
+    private long timeLimit;
+
+    /** Number of conflicts below which no coloring can go: the search stops when it is reached. */
+    private int conflictLowerBound;
+
+    /** Seed of the random choices. */
+    private long seed;
+
+    /** Number of iterations done by the last run. */
+    private long nbIterations;
+
+    /**
+     * Constructs a TabuCol search starting from a coloring of the given graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newInitialColors The color of each node to start from; colors outside [0, kMax) are redrawn.
+     */
+    public TabuCol(GraphPlus newGraph, int[] newInitialColors) {
+        this(newGraph, new Adjacency(newGraph), newInitialColors);
+    }
+
+    /**
+     * Constructs a TabuCol search sharing the adjacency of the graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
+     * @param newInitialColors The color of each node to start from; colors outside [0, kMax) are redrawn.
+     *                         Null to start from the DSatur coloring.
+     */
+    public TabuCol(GraphPlus newGraph, Adjacency newAdjacency, int[] newInitialColors) {
+        super(newGraph, newAdjacency);
+        nbNodes = adjacency.size();
+        initialColors = newInitialColors != null ? newInitialColors.clone() : null;
+    }
+
+    /**
+     * Sets the maximum number of iterations.
+     * @param newMaxIterations The maximum number of iterations.
+     */
+    public void setMaxIterations(long newMaxIterations) {
+        maxIterations = newMaxIterations;
+    }
+
+    /**
+     * Sets the maximum duration of the search.
+     * @param newTimeLimit The maximum duration in milliseconds, 0 for no limit.
+     */
+    @Override
+    public void setTimeLimit(long newTimeLimit) {
+        timeLimit = newTimeLimit;
+    }
+
+    /**
+     * Sets a number of conflicts below which no coloring can go, to stop as soon as it is reached.
+     * @param newConflictLowerBound The lower bound on the number of conflicts.
+     */
+    @Override
+    public void setConflictLowerBound(int newConflictLowerBound) {
+        conflictLowerBound = newConflictLowerBound;
+    }
+
+    /**
+     * Sets the seed of the random choices.
+     * @param newSeed The seed.
+     */
+    public void setSeed(long newSeed) {
+        seed = newSeed;
+    }
+
+    /**
+     * Retrieves the number of iterations done by the last run.
+     * @return The number of iterations.
+     */
+    public long getNbIterations() {
+        return nbIterations;
+    }
+
+    /**
+     * Executes the TabuCol search.
+     */
+    public void tabuColAlgo() {
+        Random random = new Random(seed);
+        long deadline = timeLimit > 0 ? System.currentTimeMillis() + timeLimit : Long.MAX_VALUE;
+        nodeColors = new int[nbNodes];
+        nbIterations = 0;
+        int[] initialColors = this.initialColors;
+        if (initialColors == null) {
+            DSatur dSatur = new DSatur(graph, adjacency);
+            dSatur.setKMax(kMax);
+            dSatur.dSaturAlgo();
+            initialColors = dSatur.getNodeColors();
+        }
+        if (nbNodes == 0 || kMax <= 1) {
+            // With one color or no limit, no move can change the conflicts
+            if (kMax == 1)
+                Arrays.fill(nodeColors, 0);
+            else
+                System.arraycopy(initialColors, 0, nodeColors, 0, nbNodes);
+            conflictLedger = new ConflictLedger(adjacency, nodeColors);
+            return;
+        }
+
+        int[] colors = new int[nbNodes];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            colors[ii] = initialColors[ii] >= 0 && initialColors[ii] < kMax ? initialColors[ii] : random.nextInt(kMax);
+        }
+
+        // Number of neighbors of each color, and conflicts of the current coloring
+        NeighborColorCounts adjColorCounts = new NeighborColorCounts(adjacency, kMax, colors);
+        ConflictLedger ledger = new ConflictLedger(adjacency, colors);
+
+        long[] tabuUntil = new long[nbNodes * kMax];
+        int bestConflicts = ledger.getNbConflicts();
+        System.arraycopy(colors, 0, nodeColors, 0, nbNodes);
+
+        while (bestConflicts > conflictLowerBound && nbIterations < maxIterations) {
+            if ((nbIterations & 255) == 0 && (System.currentTimeMillis() > deadline || isStopped()))
+                break;
+            nbIterations++;
+
+            // Best move among the conflicting nodes, ties broken at random
+            int bestNode = -1, bestColor = -1, bestDelta = Integer.MAX_VALUE, nbTies = 0;
+            int nbConflicts = ledger.getNbConflicts();
+            for (int ii = 0; ii < ledger.getNbConflictingNodes(); ii++) {
+                int node = ledger.getConflictingNode(ii);
+                int base = node * kMax;
+                int current = adjColorCounts.get(node, colors[node]);
+                for (int color = 0; color < kMax; color++) {
+                    if (color == colors[node])
+                        continue;
+                    int delta = adjColorCounts.get(node, color) - current;
+                    boolean allowed = tabuUntil[base + color] < nbIterations || nbConflicts + delta < bestConflicts;
+                    if (!allowed || delta > bestDelta)
+                        continue;
+                    if (delta < bestDelta) {
+                        bestDelta = delta;
+                        nbTies = 0;
+                    }
+                    if (random.nextInt(++nbTies) == 0) {
+                        bestNode = node;
+                        bestColor = color;
+                    }
+                }
+            }
+            if (bestNode == -1) {
+                // Every move is tabu: move a random conflicting node to a random color
+                bestNode = ledger.getConflictingNode(random.nextInt(ledger.getNbConflictingNodes()));
+                bestColor = (colors[bestNode] + 1 + random.nextInt(kMax - 1)) % kMax;
+            }
+
+            // Apply the move
+            int oldColor = colors[bestNode];
+            colors[bestNode] = bestColor;
+            ledger.setColor(bestNode, bestColor);
+            adjColorCounts.move(bestNode, oldColor, bestColor);
+            tabuUntil[bestNode * kMax + oldColor] = nbIterations + random.nextInt(TENURE_BASE)
+                    + (long) (TENURE_FACTOR * ledger.getNbConflictingNodes());
+
+            if (ledger.getNbConflicts() < bestConflicts) {
+                bestConflicts = ledger.getNbConflicts();
+                System.arraycopy(colors, 0, nodeColors, 0, nbNodes);
+            }
+        }
+
+        conflictLedger = new ConflictLedger(adjacency, nodeColors);
+    }
+
+    /**
+     * Colors the graph with {@link #tabuColAlgo()}.
+     */
+    @Override
+    public void colorGraph() {
+        tabuColAlgo();
+    }
+}
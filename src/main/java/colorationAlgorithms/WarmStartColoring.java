@@ -0,0 +1,205 @@
+package colorationAlgorithms;
+
+import graphTools.GraphPlus;
+
+/**
+ * Recolors a graph for a new kMax, starting from a previous coloring of the same graph instead of from scratch.
+ * <p>
+ * When kMax shrinks, only the nodes of the removed colors move: each one takes the color used the
+ * least by its neighbors. When kMax grows, each new color splits the color with the most conflicts
+ * by taking the nodes of that color that conflict with it, unless they are adjacent to a node already
+ * taken. In both cases, a short {@link TabuCol} search then repairs the remaining conflicts.
+ * A kMax of 0 or less means that the number of colors is not limited: conflicts are split until none is left.
+ */
+public class WarmStartColoring extends AbstractColoringAlgorithm {
+
+    /** Default number of iterations of the repair, a tenth of a cold {@link TabuCol} run. */
+    public static final long DEFAULT_REPAIR_ITERATIONS = 10000;
+
+    /** Coloring to start from. */
+    private final int[] previousColors;
+
+    /** Maximum number of iterations of the repair. */
+    private long maxIterations = DEFAULT_REPAIR_ITERATIONS;
+
+    /** Maximum duration of the repair, in milliseconds (0 for no limit). */
+    private long timeLimit;
+
+    /** Number of conflicts below which no coloring can go: the repair stops when it is reached. */
+    private int conflictLowerBound;
+
+    /** Number of nodes whose color changed. */
+    private int nbMoved;
+
+    /**
+     * Constructs a warm-start recoloring of the given graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newPreviousColors The color of each node in a previous coloring of the graph.
+     */
+    public WarmStartColoring(GraphPlus newGraph, int[] newPreviousColors) {
+        this(newGraph, new Adjacency(newGraph), newPreviousColors);
+    }
+
+    /**
+     * Constructs a warm-start recoloring sharing the adjacency of the graph.
+     *
+     * @param newGraph The graph to be colored.
+     * @param newAdjacency The adjacency of the graph.
+     * @param newPreviousColors The color of each node in a previous coloring of the graph.
+     */
+    public WarmStartColoring(GraphPlus newGraph, Adjacency newAdjacency, int[] newPreviousColors) {
+        super(newGraph, newAdjacency);
+        if (newPreviousColors.length != newAdjacency.size())
+            throw new IllegalArgumentException("The previous coloring has " + newPreviousColors.length
+                    + " colors for " + newAdjacency.size() + " nodes");
+        previousColors = newPreviousColors.clone();
+    }
+
+    /**
+     * Sets the maximum number of iterations of the repair.
+     * @param newMaxIterations The maximum number of iterations, 0 to skip the repair.
+     */
+    public void setMaxIterations(long newMaxIterations) {
+        maxIterations = newMaxIterations;
+    }
+
+    /**
+     * Sets the maximum duration of the repair.
+     * @param newTimeLimit The maximum duration in milliseconds, 0 for no limit.
+     */
+    @Override
+    public void setTimeLimit(long newTimeLimit) {
+        timeLimit = newTimeLimit;
+    }
+
+    /**
+     * Sets a number of conflicts below which no coloring can go, to stop the repair as soon as it is reached.
+     * @param newConflictLowerBound The lower bound on the number of conflicts.
+     */
+    @Override
+    public void setConflictLowerBound(int newConflictLowerBound) {
+        conflictLowerBound = newConflictLowerBound;
+    }
+
+    /**
+     * Adapts the previous coloring to kMax, then repairs its conflicts.
+     */
+    @Override
+    public void colorGraph() {
+        int nbNodes = adjacency.size();
+        int nbPreviousColors = 0;
+        for (int color : previousColors) {
+            nbPreviousColors = Math.max(nbPreviousColors, color + 1);
+        }
+        int nbColors = kMax > 0 ? kMax : Math.max(nbNodes, 1);
+        nodeColors = previousColors.clone();
+        conflictLedger = new ConflictLedger(adjacency, nodeColors);
+
+        if (nbColors < nbPreviousColors)
+            remapRemovedColors(nbColors);
+        else
+            splitConflictingColors(nbPreviousColors, nbColors);
+
+        if (kMax > 0 && maxIterations > 0 && conflictLedger.getNbConflicts() > conflictLowerBound) {
+            TabuCol tabuCol = new TabuCol(graph, adjacency, nodeColors);
+            tabuCol.setKMax(kMax);
+            tabuCol.setMaxIterations(maxIterations);
+            tabuCol.setTimeLimit(timeLimit);
+            tabuCol.setConflictLowerBound(conflictLowerBound);
+            tabuCol.setStopCondition(stopCondition);
+            tabuCol.colorGraph();
+            nodeColors = tabuCol.getNodeColors();
+            conflictLedger = new ConflictLedger(adjacency, nodeColors);
+        }
+
+        nbMoved = 0;
+        for (int ii = 0; ii < nbNodes; ii++) {
+            if (nodeColors[ii] != previousColors[ii])
+                nbMoved++;
+        }
+    }
+
+    /**
+     * Gives each node of a removed color the color used the least by its neighbors.
+     *
+     * @param nbColors The number of colors kept.
+     */
+    private void remapRemovedColors(int nbColors) {
+        int[] adjStart = adjacency.adjStart;
+        int[] adjNodes = adjacency.adjNodes;
+        int[] colorCounts = new int[nbColors];
+        for (int ii = 0; ii < nodeColors.length; ii++) {
+            if (nodeColors[ii] < nbColors)
+                continue;
+            for (int jj = adjStart[ii]; jj < adjStart[ii + 1]; jj++) {
+                int color = nodeColors[adjNodes[jj]];
+                if (color < nbColors)
+                    colorCounts[color]++;
+            }
+            int bestColor = 0;
+            for (int color = 1; color < nbColors; color++) {
+                if (colorCounts[color] < colorCounts[bestColor])
+                    bestColor = color;
+            }
+            nodeColors[ii] = bestColor;
+            conflictLedger.setColor(ii, bestColor);
+            for (int jj = adjStart[ii]; jj < adjStart[ii + 1]; jj++) {
+                int color = nodeColors[adjNodes[jj]];
+                if (color < nbColors)
+                    colorCounts[color] = 0;
+            }
+        }
+    }
+
+    /**
+     * Gives each new color to the conflicting nodes of the color with the most conflicts.
+     *
+     * @param nbPreviousColors The number of colors of the previous coloring.
+     * @param nbColors The number of colors allowed.
+     */
+    private void splitConflictingColors(int nbPreviousColors, int nbColors) {
+        int[] adjStart = adjacency.adjStart;
+        int[] adjNodes = adjacency.adjNodes;
+        int[] colorConflicts = new int[nbPreviousColors];
+        for (int ii = 0; ii < conflictLedger.getNbConflicts(); ii++) {
+            colorConflicts[nodeColors[ConflictLedger.getFirstNode(conflictLedger.getConflict(ii))]]++;
+        }
+
+        for (int newColor = nbPreviousColors; newColor < nbColors; newColor++) {
+            int splitColor = -1;
+            for (int color = 0; color < colorConflicts.length; color++) {
+                if (colorConflicts[color] > 0 && (splitColor == -1 || colorConflicts[color] > colorConflicts[splitColor]))
+                    splitColor = color;
+            }
+            if (splitColor == -1)
+                return;
+
+            for (int ii = 0; ii < nodeColors.length; ii++) {
+                if (nodeColors[ii] != splitColor)
+                    continue;
+                int nbSameColor = conflictLedger.getNodeConflicts(ii);
+                if (nbSameColor == 0)
+                    continue;
+                boolean isBlocked = false;
+                for (int jj = adjStart[ii]; jj < adjStart[ii + 1] && !isBlocked; jj++) {
+                    isBlocked = nodeColors[adjNodes[jj]] == newColor;
+                }
+                if (!isBlocked) {
+                    nodeColors[ii] = newColor;
+                    conflictLedger.setColor(ii, newColor);
+                    colorConflicts[splitColor] -= nbSameColor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of nodes whose color differs from the previous coloring.
+     * @return The number of nodes moved.
+     */
+    public int getNbMoved() {
+        return nbMoved;
+    }
+
+}
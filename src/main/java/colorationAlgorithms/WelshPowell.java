@@ -2,20 +2,17 @@ package colorationAlgorithms;
 
 import graphTools.GraphPlus;
 import nodes.NodeList;
-import nodes.NodePlus;
-import org.graphstream.graph.Graph;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Random;
 
 /**
  * Implements the Welsh-Powell graph coloring algorithm.
  */
-public class WelshPowell {
+public class WelshPowell extends AbstractColoringAlgorithm {
 
-    /** The list of nodes in the graph. */
-    private final NodeList nodeList;
+    /** The list of nodes in the graph (created on first use). */
+    private NodeList nodeList;
 
     /** The sorted indexes of nodes based on their degrees. */
     private int[] sortedIndexes;
@@ -23,14 +20,11 @@ public class WelshPowell {
     /** The number of nodes in the graph. */
     private final int nbNodes;
 
-    /** The colors assigned to each node. */
-    private int[] nodeColors;
+    /** Uncolored nodes, in decreasing degree order (scratch buffer). */
+    private final int[] remaining;
 
-    private int kMax;
-
-    private ArrayList<int[]> indConflictsList;
-
-    GraphPlus graph;
+    /** Last color given to a neighbor of each node (scratch buffer). */
+    private final int[] blockedColor;
 
     /**
      * Constructs a WelshPowell object for the given graph.
@@ -38,56 +32,45 @@ public class WelshPowell {
      * @param newGraph the input graph
      */
     public WelshPowell(GraphPlus newGraph) {
-        graph = newGraph;
-        nodeList = new NodeList(graph);
-        kMax = graph.getKMax();
-
-        sortedIndexes = createSortedIndexes();
-        nbNodes = nodeList.size();
+        this(newGraph, new Adjacency(newGraph), (Random) null);
     }
 
     /**
-     * Retrieves the number of colors used in the graph.
-     * @return The number of colors used.
+     * Constructs a WelshPowell object sharing the adjacency of the graph.
+     *
+     * @param newGraph the input graph
+     * @param newAdjacency the adjacency of the graph
      */
-    @SuppressWarnings("unused")
-    public int getNbColors() {
-        int nbColors = 0;
-        if (nodeList.size() > 0) {
-            for (int color : nodeColors) {
-                if (nbColors < color)
-                    nbColors = color;
-            }
-            nbColors++;
-        }
-        return nbColors;
+    public WelshPowell(GraphPlus newGraph, Adjacency newAdjacency) {
+        this(newGraph, newAdjacency, (Random) null);
     }
 
-    public GraphPlus getGraph() { return graph; }
-
     /**
-     * Retrieves the number of conflicts in the graph.
-     * @return The number of conflicts.
+     * Constructs a randomized WelshPowell object sharing the adjacency of the graph:
+     * nodes of the same degree are sorted in a random order. The same seed always gives the same coloring.
+     *
+     * @param newGraph the input graph
+     * @param newAdjacency the adjacency of the graph
+     * @param seed the seed of the order of the nodes of the same degree
      */
-    public int getNbConflicts() {
-        return indConflictsList.size();
+    public WelshPowell(GraphPlus newGraph, Adjacency newAdjacency, long seed) {
+        this(newGraph, newAdjacency, new Random(seed));
     }
 
     /**
-     * Retrieves the list of conflicts in the graph.
-     * @return The list of conflicts.
+     * Constructs a WelshPowell object from the adjacency of the graph.
+     *
+     * @param newGraph the input graph
+     * @param newAdjacency the adjacency of the graph
+     * @param random the random generator of the order of the nodes of the same degree, null for the index order
      */
-    public ArrayList<int[]> getIndConflictsList() {
-        return indConflictsList;
-    }
+    private WelshPowell(GraphPlus newGraph, Adjacency newAdjacency, Random random) {
+        super(newGraph, newAdjacency);
+        nbNodes = adjacency.size();
 
-    /**
-     * Sets a new maximum number of colors (kMax).
-     * @param newKMax The new maximum number of colors.
-     */
-    @SuppressWarnings("unused")
-    public void setKMax(int newKMax) {
-        kMax = newKMax;
+        sortedIndexes = createSortedIndexes(random);
+        remaining = new int[nbNodes];
+        blockedColor = new int[nbNodes];
     }
 
     /**
@@ -96,164 +79,108 @@ public class WelshPowell {
      */
     @SuppressWarnings("unused")
     public NodeList getNodeList() {
+        if (nodeList == null)
+            nodeList = new NodeList(graph);
         return nodeList;
     }
 
     /**
-     * Retrieves the colors assigned to each node.
-     * @return The array of node colors.
-     */
-    public int[] getNodeColors() {
-        return nodeColors;
-    }
-
-    /**
-     * Creates and returns the sorted indexes of nodes based on their degrees.
+     * Creates and returns the sorted indexes of nodes based on their degrees,
+     * by decreasing degree then increasing index, with a counting sort in O(n + maxDegree).
      *
+     * @param random the random generator shuffling the nodes of the same degree, or null to keep the index order
      * @return the sorted indexes
      */
-    private int[] createSortedIndexes() {
-        int nbNodes = nodeList.size();
-        sortedIndexes = new int[nbNodes];
+    private int[] createSortedIndexes(Random random) {
+        int nbNodes = adjacency.size();
+        int[] degreeList = adjacency.getDegrees();
+        int maxDegree = 0;
         for (int ii = 0; ii < nbNodes; ii++) {
-            sortedIndexes[ii] = ii;
+            maxDegree = Math.max(maxDegree, degreeList[ii]);
         }
-        sortedIndexes = mergeSort(sortedIndexes);
-        return sortedIndexes;
-    }
-
-    /**
-     * Sorts the indexes using the merge sort algorithm.
-     *
-     * @param sortedIndexes the indexes to be sorted
-     * @return the sorted indexes
-     */
-    public int[] mergeSort(int[] sortedIndexes) {
-        int nbNodesIndexes = sortedIndexes.length;
-        if (nbNodesIndexes > 1) {
-            int mid = nbNodesIndexes / 2;
-            int[] sortedIndexesL = new int[mid];
-            int[] sortedIndexesR = new int[nbNodesIndexes - mid];
-
-            System.arraycopy(sortedIndexes, 0, sortedIndexesL, 0, mid);
-            System.arraycopy(sortedIndexes, mid, sortedIndexesR, 0,
-                    nbNodesIndexes - mid);
-
-            mergeSort(sortedIndexesL);
-            mergeSort(sortedIndexesR);
-            merge(sortedIndexes, sortedIndexesL, sortedIndexesR);
+        int[] start = new int[maxDegree + 2];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            start[maxDegree - degreeList[ii] + 1]++;
         }
-        return sortedIndexes;
-    }
-
-    /**
-     * Merges two sorted subarrays into one sorted array.
-     *
-     * @param indexes the array to be merged into
-     * @param indexesL the left subarray
-     * @param indexesR the right subarray
-     */
-    private void merge(int[] indexes, int[] indexesL, int[] indexesR) {
-        int nbNodesL = indexesL.length, nbNodesR = indexesR.length;
-        int indL = 0, indR = 0, ind = 0;
-
-        while (indL < nbNodesL && indR < nbNodesR) {
-            int[] degreeList = nodeList.getDegreeList();
-            if (degreeList[indexesL[indL]] >= degreeList[indexesR[indR]]) {
-                indexes[ind++] = indexesL[indL++];
-            } else {
-                indexes[ind++] = indexesR[indR++];
-            }
+        for (int degree = 0; degree <= maxDegree; degree++) {
+            start[degree + 1] += start[degree];
         }
-
-        while (indL < nbNodesL) {
-            indexes[ind++] = indexesL[indL++];
+        sortedIndexes = new int[nbNodes];
+        for (int ii = 0; ii < nbNodes; ii++) {
+            sortedIndexes[start[maxDegree - degreeList[ii]]++] = ii;
         }
-
-        while (indR < nbNodesR) {
-            indexes[ind++] = indexesR[indR++];
+        if (random != null) {
+            // start[rank] is now the end of the nodes of that rank: shuffle each group
+            int groupStart = 0;
+            for (int rank = 0; rank <= maxDegree; rank++) {
+                for (int ii = start[rank] - 1; ii > groupStart; ii--) {
+                    int jj = groupStart + random.nextInt(ii - groupStart + 1);
+                    int tmp = sortedIndexes[ii];
+                    sortedIndexes[ii] = sortedIndexes[jj];
+                    sortedIndexes[jj] = tmp;
+                }
+                groupStart = start[rank];
+            }
         }
+        return sortedIndexes;
     }
 
     /**
      * Executes the Welsh-Powell algorithm to color the graph.
+     * <p>
+     * Each color class is built by a sweep over the uncolored nodes in decreasing degree order:
+     * a node receives the color unless a node of the class is adjacent to it. When the kMax
+     * colors are used up, the remaining nodes receive their least conflict color.
+     * A kMax of 0 or less means that the number of colors is not limited.
      */
     public void welshPowellAlgo() {
-        int colorIndTmp;
-        Random rand = new Random();
-
+        conflictLedger = new ConflictLedger(adjacency);
         if (nbNodes > 0) {
+            int[] adjStart = adjacency.adjStart;
+            int[] adjNodes = adjacency.adjNodes;
             nodeColors = new int[nbNodes];
             Arrays.fill(nodeColors, -1);
-            nodeColors[0] = 0;
-
-            boolean[] availableColors = new boolean[nbNodes];
-            Arrays.fill(availableColors, true);
-
-            for (int nodeIndex = 1; nodeIndex < nbNodes; nodeIndex++) {
-                availableColors = setAvailableColors(nodeIndex, nodeColors);
-                colorIndTmp = getFirstAvailableColor(availableColors);
-                if (colorIndTmp >= kMax) {
-                    colorIndTmp = rand.nextInt(kMax);
+            Arrays.fill(blockedColor, -1);
+            System.arraycopy(sortedIndexes, 0, remaining, 0, nbNodes);
+            int nbRemaining = nbNodes;
+            int nbColors = kMax > 0 ? kMax : nbNodes;
+
+            for (int color = 0; color < nbColors && nbRemaining > 0; color++) {
+                if (isStopped())
+                    return;
+                int nbKept = 0;
+                for (int ii = 0; ii < nbRemaining; ii++) {
+                    int nodeIndex = remaining[ii];
+                    if (blockedColor[nodeIndex] == color) {
+                        remaining[nbKept++] = nodeIndex;
+                    } else {
+                        nodeColors[nodeIndex] = color;
+                        conflictLedger.setColor(nodeIndex, color);
+                        for (int jj = adjStart[nodeIndex]; jj < adjStart[nodeIndex + 1]; jj++) {
+                            blockedColor[adjNodes[jj]] = color;
+                        }
+                    }
                 }
-                nodeColors[nodeIndex] = colorIndTmp;
+                nbRemaining = nbKept;
             }
-        }
-
-        calcIndConflictsList();
-    }
 
-    /**
-     * Determines available colors for a node based on its adjacent nodes.
-     *
-     * @param nodeIndex the index of the node
-     * @param nodeColors the array representing colors assigned to nodes
-     * @return an array indicating available colors
-     */
-    public boolean[] setAvailableColors(int nodeIndex, int[] nodeColors) {
-        int nbAdjacentNodes = nodeList.get(nodeIndex).getDegree();
-        NodePlus[] adjNodesList = nodeList.get(nodeIndex).getAdjNodeList();
-
-        boolean[] availableColors = new boolean[nbNodes];
-        Arrays.fill(availableColors, true);
-
-        for (int ii = 0; ii < nbAdjacentNodes; ii++) {
-            int nodeIndexAdj = adjNodesList[ii].getIndex();
-            if (nodeColors[nodeIndexAdj] != -1)
-                availableColors[nodeColors[nodeIndexAdj]] = false;
-        }
-
-        return availableColors;
-    }
-
-    /**
-     * Gets the index of the first available color.
-     *
-     * @param colorIsAvailable an array indicating available colors
-     * @return the index of the first available color
-     */
-    public int getFirstAvailableColor(boolean[] colorIsAvailable) {
-        int listSize = colorIsAvailable.length;
-        int colorInd = 0;
-        while (colorInd < listSize && !colorIsAvailable[colorInd]) {
-            colorInd++;
+            // Nodes left once every color is used
+            if (nbRemaining > 0) {
+                int[] colorCounts = new int[nbColors];
+                for (int ii = 0; ii < nbRemaining; ii++) {
+                    nodeColors[remaining[ii]] = getLeastConflictColor(remaining[ii], colorCounts);
+                    conflictLedger.setColor(remaining[ii], nodeColors[remaining[ii]]);
+                }
+            }
         }
-        return colorInd;
     }
 
     /**
-     * Calculates the list of conflicting nodes based on their colors.
+     * Colors the graph with {@link #welshPowellAlgo()}.
      */
-    private void calcIndConflictsList() {
-        indConflictsList = new ArrayList<>();
-        for (NodePlus node : nodeList.getNodeList()) {
-            for (int indAdjNode : nodeList.get(node.getIndex()).getAdjIndList()) {
-                if (nodeColors[node.getIndex()] == nodeColors[indAdjNode]
-                        && node.getIndex() < indAdjNode) {
-                    indConflictsList.add(new int[]{node.getIndex(), indAdjNode});
-                }
-            }
-        }
+    @Override
+    public void colorGraph() {
+        welshPowellAlgo();
     }
 
     /**
@@ -264,10 +191,10 @@ public class WelshPowell {
     public String toString() {
         String result = "[";
         if (nbNodes > 0) {
-            result += String.valueOf(nodeList.get(sortedIndexes[0]));
+            result += String.valueOf(getNodeList().get(sortedIndexes[0]));
             for (int ii = 1; ii < nbNodes; ii++) {
                 result = String.format("%s, %s", result,
-                        nodeList.get(sortedIndexes[ii]).toString());
+                        getNodeList().get(sortedIndexes[ii]).toString());
             }
         }
         return result + "]";
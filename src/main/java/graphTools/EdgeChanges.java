@@ -0,0 +1,66 @@
+package graphTools;
+
+import java.util.ArrayList;
+
+/**
+ * Edges added to and removed from an intersection graph by an incremental update.
+ */
+public class EdgeChanges {
+
+    /** Identifiers of the added edges. */
+    private final ArrayList<String> addedEdges = new ArrayList<>();
+
+    /** Identifiers of the removed edges. */
+    private final ArrayList<String> removedEdges = new ArrayList<>();
+
+    /**
+     * Constructs an empty set of changes.
+     */
+    public EdgeChanges() {}
+
+    /**
+     * Retrieves the identifiers of the added edges.
+     *
+     * @return The list of added edges.
+     */
+    public ArrayList<String> getAddedEdges() {
+        return addedEdges;
+    }
+
+    /**
+     * Retrieves the identifiers of the removed edges.
+     *
+     * @return The list of removed edges.
+     */
+    public ArrayList<String> getRemovedEdges() {
+        return removedEdges;
+    }
+
+    /**
+     * Records an added edge.
+     *
+     * @param edgeId The identifier of the edge.
+     */
+    public void addAddedEdge(String edgeId) {
+        addedEdges.add(edgeId);
+    }
+
+    /**
+     * Records a removed edge.
+     *
+     * @param edgeId The identifier of the edge.
+     */
+    public void addRemovedEdge(String edgeId) {
+        removedEdges.add(edgeId);
+    }
+
+    /**
+     * Returns a string representation of the changes.
+     *
+     * @return A string containing the number of added and removed edges.
+     */
+    public String toString() {
+        return String.format("Added edges : %d\nRemoved edges : %d",
+                addedEdges.size(), removedEdges.size());
+    }
+}
@@ -4,7 +4,18 @@ import airports.Airport;
 import airports.AirportsList;
 import flights.Flight;
 import flights.FlightsList;
+import intersectionTools.AirportConflictDetector;
+import intersectionTools.BroadPhase;
+import intersectionTools.CollisionBuffer;
+import intersectionTools.FlightTable;
 import intersectionTools.IntersectionTools;
+import intersectionTools.MarginConflictList;
+import intersectionTools.ParallelCollisionFinder;
+import intersectionTools.RouteCrossings;
+import intersectionTools.SegmentRTree;
+import intersectionTools.SpaceTimeHash;
+import intersectionTools.TimeSweep;
+import intersectionTools.UniformGrid;
 import org.graphstream.algorithm.ConnectedComponents;
 import org.graphstream.algorithm.Toolkit;
 import org.graphstream.graph.Edge;
@@ -29,6 +40,12 @@ public class GraphPlus extends MultiGraph {
     /** Maximum degree of the graph. */
     private int kMax;
 
+    /** Strategy used to select the pairs of flights tested for collisions. */
+    private BroadPhase broadPhase = BroadPhase.GRID;
+
+    /** Number of threads used to construct the intersection graph (1 for sequential). */
+    private int parallelism = 1;
+
     /**
      * Constructs a new graph.
      *
@@ -58,6 +75,44 @@ public class GraphPlus extends MultiGraph {
         kMax = newKMax; 
     }
 
+    /**
+     * Retrieves the strategy used to select the pairs of flights tested for collisions.
+     *
+     * @return The broad phase strategy.
+     */
+    public BroadPhase getBroadPhase() {
+        return broadPhase;
+    }
+
+    /**
+     * Sets the strategy used to select the pairs of flights tested for collisions.
+     * {@link BroadPhase#EXHAUSTIVE} can be used to verify the other strategies.
+     *
+     * @param newBroadPhase The broad phase strategy to set.
+     */
+    public void setBroadPhase(BroadPhase newBroadPhase) {
+        broadPhase = newBroadPhase;
+    }
+
+    /**
+     * Retrieves the number of threads used to construct the intersection graph.
+     *
+     * @return The parallelism level.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads used to construct the intersection graph.
+     * The intersection graph is identical whatever the parallelism level.
+     *
+     * @param newParallelism The parallelism level (1 for sequential).
+     */
+    public void setParallelism(int newParallelism) {
+        parallelism = Math.max(1, newParallelism);
+    }
+
     /**
      * Retrieves the average degree of the graph.
      *
@@ -258,40 +313,179 @@ public class GraphPlus extends MultiGraph {
     }
 
     /**
-     * Constructs an intersection graph from the current flight graph.
+     * Constructs an intersection graph from the current flight graph,
+     * using the broad phase strategy of the graph.
      *
      * @param safetyMargin The safety margin to consider for intersections.
      * @return The constructed intersection graph.
      */
     public IntersectionGraph constructIntersectGraph(double safetyMargin) {
+        return constructIntersectGraph(safetyMargin, broadPhase);
+    }
+
+    /**
+     * Constructs an intersection graph from the current flight graph.
+     * <p>
+     * {@link BroadPhase#EXHAUSTIVE} keeps the original pair test, used as a reference,
+     * unless several threads are used. The other strategies work on a
+     * {@link FlightTable} built once for the whole run.
+     * <p>
+     * With a parallelism level above 1, the pairs are evaluated on a fork/join pool
+     * and the edges are added in the same order as in a sequential run.
+     *
+     * @param safetyMargin The safety margin to consider for intersections.
+     * @param mode The strategy used to select the pairs of flights to test.
+     * @return The constructed intersection graph.
+     */
+    public IntersectionGraph constructIntersectGraph(double safetyMargin, BroadPhase mode) {
         IntersectionGraph intersectGraph = new IntersectionGraph("intersectGraph");
         int size = this.edgeCount;
-        Edge flight1, flight2;
-        PointPlus PointI;
-        int intersectCase;
         if (safetyMargin > 0) {
             intersectionTools.setSafetyMargin(safetyMargin);
         }
         intersectGraph.setNodesFlights(this, size);
-        for (int flightInd1 = 0; flightInd1 < size; flightInd1++) {
-            for (int flightInd2 = 0; flightInd2 < size; flightInd2++) {
-                if (flightInd1 < flightInd2) {
-                    flight1 = this.getEdge(flightInd1);
-                    flight2 = this.getEdge(flightInd2);
-                    PointI = intersectionTools.findIntersection(
-                            this, flightInd1, flightInd2);
-                    intersectCase = intersectionTools.intersectionCase(
-                            flight1, flight2, PointI);
-                    if (intersectionTools.hasCollision(
-                            this, flight1, flight2, PointI, intersectCase))
-                        intersectGraph.copyFlightAttributesToIntersectGraph(
-                                flight1, flight2, PointI);
+        intersectGraph.setSource(this, intersectionTools.getSafetyMargin());
+        if (mode == BroadPhase.EXHAUSTIVE && parallelism == 1) {
+            for (int flightInd1 = 0; flightInd1 < size; flightInd1++) {
+                for (int flightInd2 = 0; flightInd2 < size; flightInd2++) {
+                    if (flightInd1 < flightInd2)
+                        addCollision(intersectGraph, flightInd1, flightInd2);
+                }
+            }
+        } else if (size > 1) {
+            FlightTable flightTable = new FlightTable(this, size);
+            double margin = intersectionTools.getSafetyMargin();
+            CollisionBuffer collisions;
+            if (parallelism > 1) {
+                ParallelCollisionFinder finder = new ParallelCollisionFinder(flightTable, margin, parallelism);
+                if (mode == BroadPhase.EXHAUSTIVE)
+                    collisions = finder.findAllCollisions();
+                else
+                    collisions = finder.findCollisions(getCandidatePairs(flightTable, mode, margin));
+            } else {
+                collisions = new CollisionBuffer();
+                double[] crossing = new double[2];
+                for (long pair : getCandidatePairs(flightTable, mode, margin)) {
+                    if (flightTable.hasCollision(IntersectionTools.pairFirst(pair),
+                            IntersectionTools.pairSecond(pair), margin, crossing))
+                        collisions.add(pair, crossing[0], crossing[1]);
                 }
             }
+            addCollisionEdges(intersectGraph, collisions);
         }
         return intersectGraph;
     }
 
+    /**
+     * Computes, in a single pass, the time separation of every pair of flights
+     * colliding for some safety margin up to a maximum.
+     * The intersection graph for any margin up to the maximum can then be built
+     * with {@link #constructIntersectGraph(MarginConflictList, double)} without recomputing the geometry.
+     *
+     * @param maxMargin The largest safety margin the list must answer for.
+     * @return The pairs of flights sorted by time separation.
+     */
+    public MarginConflictList constructMarginConflictList(double maxMargin) {
+        FlightTable flightTable = new FlightTable(this, this.edgeCount);
+        long[] candidatePairs = this.edgeCount > 1 ? getCandidatePairs(flightTable, broadPhase, maxMargin) : new long[0];
+        return new MarginConflictList(flightTable, candidatePairs, maxMargin);
+    }
+
+    /**
+     * Constructs the intersection graph for a safety margin from a list computed
+     * by {@link #constructMarginConflictList(double)} on this graph.
+     *
+     * @param conflicts The pairs of flights sorted by time separation.
+     * @param safetyMargin The safety margin, at most the maximum margin of the list,
+     *                     0 or less to keep the current margin as {@link #constructIntersectGraph(double)} does.
+     * @return The constructed intersection graph.
+     */
+    public IntersectionGraph constructIntersectGraph(MarginConflictList conflicts, double safetyMargin) {
+        IntersectionGraph intersectGraph = new IntersectionGraph("intersectGraph");
+        if (safetyMargin > 0) {
+            intersectionTools.setSafetyMargin(safetyMargin);
+        }
+        double margin = intersectionTools.getSafetyMargin();
+        intersectGraph.setNodesFlights(this, this.edgeCount);
+        intersectGraph.setSource(this, margin);
+        addCollisionEdges(intersectGraph, conflicts.getCollisions(margin));
+        return intersectGraph;
+    }
+
+    /**
+     * Adds an edge to the intersection graph for each collision of a buffer.
+     *
+     * @param intersectGraph The intersection graph.
+     * @param collisions The collisions, between flights indexed as the edges of this graph.
+     */
+    private void addCollisionEdges(IntersectionGraph intersectGraph, CollisionBuffer collisions) {
+        for (int ii = 0; ii < collisions.size(); ii++) {
+            long pair = collisions.getPair(ii);
+            intersectGraph.addCollisionEdge(this.getEdge(IntersectionTools.pairFirst(pair)).getId(),
+                    this.getEdge(IntersectionTools.pairSecond(pair)).getId(),
+                    collisions.getXCoord(ii), collisions.getYCoord(ii));
+        }
+    }
+
+    /**
+     * Finds the pairs of flights to test with the given broad phase strategy.
+     *
+     * @param flightTable The table of the flights.
+     * @param mode The broad phase strategy.
+     * @param margin The safety margin.
+     * @return The candidate pairs, sorted in ascending order.
+     */
+    private long[] getCandidatePairs(FlightTable flightTable, BroadPhase mode, double margin) {
+        long[] pairs;
+        switch (mode) {
+            case RTREE:
+                pairs = new SegmentRTree(flightTable.getDepX(), flightTable.getDepY(),
+                        flightTable.getArrX(), flightTable.getArrY(), flightTable.size()).getCandidatePairs();
+                break;
+            case SWEEP:
+                pairs = new TimeSweep(flightTable.getHDep(), flightTable.getHArr(),
+                        margin).getCandidatePairs();
+                break;
+            case SPACE_TIME:
+                pairs = new SpaceTimeHash(flightTable, margin).getCandidatePairs();
+                break;
+            case AIRPORT_INDEX:
+                long[] sweepPairs = new TimeSweep(flightTable.getHDep(), flightTable.getHArr(),
+                        margin).getCandidatePairs();
+                pairs = new AirportConflictDetector(flightTable, margin)
+                        .getCandidatePairs(sweepPairs);
+                break;
+            case ROUTES:
+                long[] routePairs = new RouteCrossings(flightTable, margin)
+                        .getCandidatePairs();
+                pairs = new AirportConflictDetector(flightTable, margin)
+                        .getCandidatePairs(routePairs);
+                break;
+            default:
+                pairs = new UniformGrid(flightTable.getDepX(), flightTable.getDepY(),
+                        flightTable.getArrX(), flightTable.getArrY()).getCandidatePairs();
+                break;
+        }
+        return pairs;
+    }
+
+    /**
+     * Tests two flights for a collision and adds the corresponding edge
+     * to the intersection graph if they collide.
+     *
+     * @param intersectGraph The intersection graph being constructed.
+     * @param flightInd1 The index of the first flight.
+     * @param flightInd2 The index of the second flight.
+     */
+    private void addCollision(IntersectionGraph intersectGraph, int flightInd1, int flightInd2) {
+        Edge flight1 = this.getEdge(flightInd1);
+        Edge flight2 = this.getEdge(flightInd2);
+        PointPlus PointI = intersectionTools.findIntersection(this, flightInd1, flightInd2);
+        int intersectCase = intersectionTools.intersectionCase(flight1, flight2, PointI);
+        if (intersectionTools.hasCollision(this, flight1, flight2, PointI, intersectCase))
+            intersectGraph.copyFlightAttributesToIntersectGraph(flight1, flight2, PointI);
+    }
+
     /**
      * Returns a string representation of the graph.
      *
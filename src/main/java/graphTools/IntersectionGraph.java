@@ -1,15 +1,31 @@
 package graphTools;
 
+import flights.Flight;
+import intersectionTools.CollisionBuffer;
+import intersectionTools.ConflictSink;
+import intersectionTools.FlightIndex;
+import intersectionTools.IntersectionTools;
 import org.graphstream.graph.Edge;
 import org.graphstream.graph.Node;
 import tools.PointPlus;
 
+import java.util.LinkedHashMap;
+
 /**
  * This class represents an intersection graph, 
  * which is a specialized type of graph that
  * represents intersections between flights.
  */
-public class IntersectionGraph extends GraphPlus {
+public class IntersectionGraph extends GraphPlus implements ConflictSink {
+
+    /** The graph of airports and flights this graph was constructed from. */
+    private GraphPlus flightsAirportsGraph;
+
+    /** The safety margin used to construct this graph. */
+    private double safetyMargin;
+
+    /** Index of the flights, built on the first incremental update. */
+    private FlightIndex flightIndex;
 
     /**
      * Constructs a new IntersectionGraph with the specified identifier.
@@ -52,13 +68,192 @@ public class IntersectionGraph extends GraphPlus {
      */
     public void copyFlightAttributesToIntersectGraph(Edge flight1, Edge flight2, 
                                                      PointPlus I) {
-        String node1 = flight1.getId();
-        String node2 = flight2.getId();
+        addCollisionEdge(flight1.getId(), flight2.getId(), I.getX(), I.getY());
+    }
+
+    /**
+     * Adds an edge between two colliding flights and sets the intersection point.
+     *
+     * @param node1 The identifier of the first flight.
+     * @param node2 The identifier of the second flight.
+     * @param xCoord The x-coordinate of the intersection point.
+     * @param yCoord The y-coordinate of the intersection point.
+     */
+    public void addCollisionEdge(String node1, String node2, double xCoord, double yCoord) {
         String id = node1 + "," + node2;
 
         Edge edge = this.addEdge(id, node1, node2);
 
-        edge.setAttribute("xCoord", I.getX());
-        edge.setAttribute("yCoord", I.getY());
+        edge.setAttribute("xCoord", xCoord);
+        edge.setAttribute("yCoord", yCoord);
+    }
+
+    /**
+     * Adds a node for a flight read by a streaming conflict detector.
+     *
+     * @param flight The flight read.
+     */
+    @Override
+    public void onFlight(Flight flight) {
+        Node flightNode = this.addNode(flight.getFlightID());
+        flightNode.setAttribute("depAirport", flight.getDepAirportCode());
+        flightNode.setAttribute("arrAirport", flight.getArrAirportCode());
+        flightNode.setAttribute("hDeparture", flight.gethDeparture());
+        flightNode.setAttribute("duration", flight.getDuration());
+    }
+
+    /**
+     * Adds an edge for a conflict found by a streaming conflict detector.
+     *
+     * @param flightId1 The identifier of the first flight.
+     * @param flightId2 The identifier of the second flight.
+     * @param xCoord The x-coordinate of the intersection point.
+     * @param yCoord The y-coordinate of the intersection point.
+     */
+    @Override
+    public void onConflict(String flightId1, String flightId2, double xCoord, double yCoord) {
+        addCollisionEdge(flightId1, flightId2, xCoord, yCoord);
+    }
+
+    /**
+     * Records the graph and the safety margin this graph is constructed from,
+     * so that it can later be updated incrementally.
+     *
+     * @param newFlightsAirportsGraph The graph containing flights and airports information.
+     * @param newSafetyMargin The safety margin used for collisions.
+     */
+    public void setSource(GraphPlus newFlightsAirportsGraph, double newSafetyMargin) {
+        flightsAirportsGraph = newFlightsAirportsGraph;
+        safetyMargin = newSafetyMargin;
+        flightIndex = null;
+    }
+
+    /**
+     * Retrieves the index of the flights, building it from the nodes of the graph if needed.
+     *
+     * @return The index of the flights.
+     * @throws IllegalStateException If the graph has no source, see {@link #setSource(GraphPlus, double)}.
+     */
+    private FlightIndex getFlightIndex() {
+        if (flightIndex == null) {
+            if (flightsAirportsGraph == null)
+                throw new IllegalStateException("No flights and airports graph for " + getId()
+                        + ": construct it with GraphPlus.constructIntersectGraph or call setSource");
+            flightIndex = new FlightIndex(safetyMargin);
+            for (Node flightNode : this.nodes().toList()) {
+                String depAirportCode = (String) flightNode.getAttribute("depAirport");
+                String arrAirportCode = (String) flightNode.getAttribute("arrAirport");
+                Object[] depCoords = (Object[]) flightsAirportsGraph.getNode(depAirportCode).getAttribute("xy");
+                Object[] arrCoords = (Object[]) flightsAirportsGraph.getNode(arrAirportCode).getAttribute("xy");
+                flightIndex.add(flightNode.getId(),
+                        depAirportCode, (double) depCoords[0], (double) depCoords[1],
+                        arrAirportCode, (double) arrCoords[0], (double) arrCoords[1],
+                        (double) flightNode.getAttribute("hDeparture"),
+                        (int) flightNode.getAttribute("duration"));
+            }
+        }
+        return flightIndex;
+    }
+
+    /**
+     * Adds a flight to the graph and connects it to the flights it collides with.
+     * The graph must have been constructed by {@link GraphPlus#constructIntersectGraph}.
+     *
+     * @param flight The flight to add.
+     * @return The edges added to the graph.
+     * @throws IllegalStateException If the graph was not constructed by {@link GraphPlus#constructIntersectGraph}.
+     */
+    public EdgeChanges addFlight(Flight flight) {
+        FlightIndex index = getFlightIndex();
+        onFlight(flight);
+        index.add(flight.getFlightID(),
+                flight.getDepAirportCode(), flight.getDepAirport().getXCoord(), flight.getDepAirport().getYCoord(),
+                flight.getArrAirportCode(), flight.getArrAirport().getXCoord(), flight.getArrAirport().getYCoord(),
+                flight.gethDeparture(), flight.getDuration());
+        return updateFlightEdges(flight.getFlightID());
+    }
+
+    /**
+     * Removes a flight and all its edges from the graph.
+     * The graph must have been constructed by {@link GraphPlus#constructIntersectGraph}.
+     *
+     * @param flightId The identifier of the flight to remove.
+     * @return The edges removed from the graph, none if the flight is not in the graph.
+     * @throws IllegalStateException If the graph was not constructed by {@link GraphPlus#constructIntersectGraph}.
+     */
+    public EdgeChanges removeFlight(String flightId) {
+        EdgeChanges changes = new EdgeChanges();
+        getFlightIndex().remove(flightId);
+        Node flightNode = this.getNode(flightId);
+        if (flightNode != null) {
+            for (Edge edge : flightNode.edges().toList()) {
+                changes.addRemovedEdge(edge.getId());
+            }
+            this.removeNode(flightNode);
+        }
+        return changes;
+    }
+
+    /**
+     * Changes the departure time and the duration of a flight,
+     * and recomputes its collisions with the other flights.
+     * The graph must have been constructed by {@link GraphPlus#constructIntersectGraph}.
+     *
+     * @param flightId The identifier of the flight to update.
+     * @param newDeparture The new departure time, in minutes.
+     * @param newDuration The new duration, in minutes.
+     * @return The edges added to and removed from the graph, none if the flight is not in the graph.
+     * @throws IllegalStateException If the graph was not constructed by {@link GraphPlus#constructIntersectGraph}.
+     */
+    public EdgeChanges updateFlight(String flightId, double newDeparture, int newDuration) {
+        FlightIndex index = getFlightIndex();
+        Node flightNode = this.getNode(flightId);
+        if (flightNode == null)
+            return new EdgeChanges();
+        flightNode.setAttribute("hDeparture", newDeparture);
+        flightNode.setAttribute("duration", newDuration);
+        index.setSchedule(flightId, newDeparture, newDuration);
+        return updateFlightEdges(flightId);
+    }
+
+    /**
+     * Makes the edges of a flight match its collisions in the index of the flights.
+     *
+     * @param flightId The identifier of the flight.
+     * @return The edges added to and removed from the graph.
+     */
+    private EdgeChanges updateFlightEdges(String flightId) {
+        EdgeChanges changes = new EdgeChanges();
+        Node flightNode = this.getNode(flightId);
+        CollisionBuffer collisions = flightIndex.findCollisions(flightId);
+
+        // Flights colliding with the updated flight, and the index of their collision
+        LinkedHashMap<String, Integer> colliding = new LinkedHashMap<>();
+        for (int ii = 0; ii < collisions.size(); ii++) {
+            long pair = collisions.getPair(ii);
+            String otherId = flightIndex.getFlightId(IntersectionTools.pairFirst(pair));
+            if (otherId.equals(flightId))
+                otherId = flightIndex.getFlightId(IntersectionTools.pairSecond(pair));
+            colliding.put(otherId, ii);
+        }
+
+        for (Edge edge : flightNode.edges().toList()) {
+            String otherId = edge.getOpposite(flightNode).getId();
+            if (colliding.remove(otherId) == null) {
+                changes.addRemovedEdge(edge.getId());
+                this.removeEdge(edge);
+            }
+        }
+
+        for (String otherId : colliding.keySet()) {
+            int ii = colliding.get(otherId);
+            Node otherNode = this.getNode(otherId);
+            boolean flightFirst = flightNode.getIndex() < otherNode.getIndex();
+            String node1 = flightFirst ? flightId : otherId;
+            String node2 = flightFirst ? otherId : flightId;
+            addCollisionEdge(node1, node2, collisions.getXCoord(ii), collisions.getYCoord(ii));
+            changes.addAddedEdge(node1 + "," + node2);
+        }
+        return changes;
     }
 }
@@ -0,0 +1,205 @@
+package intersectionTools;
+
+import java.util.Arrays;
+
+/**
+ * Detects the separation conflicts between flights sharing an airport
+ * (cases 1, 2, 4 and 5 of {@link IntersectionTools#intersectionCase}).
+ * <p>
+ * For each airport, the departure times and the arrival times are kept in sorted
+ * arrays, and the pairs of movements closer than the safety margin are found with
+ * a two-pointer scan. This replaces the comparison of the airport codes of every
+ * pair of flights by O(n log n + conflicts) work.
+ */
+public class AirportConflictDetector {
+
+    /** The table of the flights. */
+    private final FlightTable flightTable;
+
+    /** The safety margin. */
+    private final double safetyMargin;
+
+    /** Start offset of each airport in departures (compressed row storage). */
+    private final int[] depStart;
+
+    /** Flights departing from each airport, sorted by departure time. */
+    private final int[] departures;
+
+    /** Start offset of each airport in arrivals (compressed row storage). */
+    private final int[] arrStart;
+
+    /** Flights arriving at each airport, sorted by arrival time. */
+    private final int[] arrivals;
+
+    /** Candidate pairs found so far. */
+    private long[] pairs = new long[16];
+
+    /** Number of candidate pairs found so far. */
+    private int nbPairs;
+
+    /**
+     * Constructs a detector over the given flights.
+     *
+     * @param newFlightTable The table of the flights.
+     * @param newSafetyMargin The safety margin.
+     */
+    public AirportConflictDetector(FlightTable newFlightTable, double newSafetyMargin) {
+        flightTable = newFlightTable;
+        safetyMargin = newSafetyMargin;
+        int size = flightTable.size();
+        int nbAirports = 0;
+        for (int ii = 0; ii < size; ii++) {
+            nbAirports = Math.max(nbAirports, Math.max(flightTable.getDepAirportId()[ii],
+                    flightTable.getArrAirportId()[ii]) + 1);
+        }
+        depStart = new int[nbAirports + 1];
+        departures = groupByAirport(flightTable.getDepAirportId(),
+                IntersectionTools.sortedIndexes(flightTable.getHDep(), size), depStart);
+        arrStart = new int[nbAirports + 1];
+        arrivals = groupByAirport(flightTable.getArrAirportId(),
+                IntersectionTools.sortedIndexes(flightTable.getHArr(), size), arrStart);
+    }
+
+    /**
+     * Groups the flights by airport with a stable counting sort,
+     * so that each group stays sorted by time.
+     *
+     * @param airportIds The airport of each flight.
+     * @param sortedFlights The flights, sorted by time.
+     * @param start Array receiving the start offset of each airport.
+     * @return The flights grouped by airport.
+     */
+    private static int[] groupByAirport(int[] airportIds, int[] sortedFlights, int[] start) {
+        for (int flight : sortedFlights) {
+            start[airportIds[flight] + 1]++;
+        }
+        for (int airport = 0; airport < start.length - 1; airport++) {
+            start[airport + 1] += start[airport];
+        }
+        int[] grouped = new int[sortedFlights.length];
+        int[] fill = Arrays.copyOf(start, start.length - 1);
+        for (int flight : sortedFlights) {
+            grouped[fill[airportIds[flight]]++] = flight;
+        }
+        return grouped;
+    }
+
+    /**
+     * Finds every pair of flights whose movements at a shared airport are closer than the safety margin:
+     * two departures (case 1), two arrivals (case 2) or a departure and an arrival (cases 4 and 5).
+     *
+     * @return The pairs, encoded with {@link IntersectionTools#pairKey(int, int)} and sorted in ascending order.
+     */
+    public long[] getCandidatePairs() {
+        nbPairs = 0;
+        double[] hDep = flightTable.getHDep(), hArr = flightTable.getHArr();
+        for (int airport = 0; airport < depStart.length - 1; airport++) {
+            scanSameMovement(departures, depStart[airport], depStart[airport + 1], hDep);
+            scanSameMovement(arrivals, arrStart[airport], arrStart[airport + 1], hArr);
+            scanDepartureArrival(depStart[airport], depStart[airport + 1],
+                    arrStart[airport], arrStart[airport + 1], hDep, hArr);
+        }
+        long[] result = Arrays.copyOf(pairs, nbPairs);
+        Arrays.sort(result);
+        return removeDuplicates(result);
+    }
+
+    /**
+     * Completes the pairs sharing an airport with the pairs selected by a geometric broad phase.
+     * Only the geometric pairs that are not same-airport conflicts (cases 3 and 6) are kept.
+     *
+     * @param geometricPairs The pairs selected by a broad phase, sorted in ascending order.
+     * @return The union of both sets of pairs, sorted in ascending order.
+     */
+    public long[] getCandidatePairs(long[] geometricPairs) {
+        long[] sharedPairs = getCandidatePairs();
+        long[] result = new long[sharedPairs.length + geometricPairs.length];
+        int nbResult = 0, ii = 0;
+        for (long pair : geometricPairs) {
+            int intersectCase = flightTable.sharedAirportCase(IntersectionTools.pairFirst(pair),
+                    IntersectionTools.pairSecond(pair));
+            if (intersectCase == 0 || intersectCase == 3) {
+                while (ii < sharedPairs.length && sharedPairs[ii] < pair) {
+                    result[nbResult++] = sharedPairs[ii++];
+                }
+                if (ii < sharedPairs.length && sharedPairs[ii] == pair)
+                    ii++;
+                result[nbResult++] = pair;
+            }
+        }
+        while (ii < sharedPairs.length) {
+            result[nbResult++] = sharedPairs[ii++];
+        }
+        return Arrays.copyOf(result, nbResult);
+    }
+
+    /**
+     * Finds the pairs of the same kind of movements (departures or arrivals)
+     * at one airport closer than the safety margin.
+     *
+     * @param flights The flights grouped by airport, sorted by time.
+     * @param from The first flight of the airport (included).
+     * @param to The last flight of the airport (excluded).
+     * @param times The time of the movement of each flight.
+     */
+    private void scanSameMovement(int[] flights, int from, int to, double[] times) {
+        for (int ii = from; ii < to; ii++) {
+            for (int jj = ii + 1; jj < to && times[flights[jj]] - times[flights[ii]] < safetyMargin; jj++) {
+                addPair(flights[ii], flights[jj]);
+            }
+        }
+    }
+
+    /**
+     * Finds the pairs made of a departure and an arrival at one airport closer than the safety margin.
+     *
+     * @param depFrom The first departure of the airport (included).
+     * @param depTo The last departure of the airport (excluded).
+     * @param arrFrom The first arrival of the airport (included).
+     * @param arrTo The last arrival of the airport (excluded).
+     * @param hDep The departure time of each flight.
+     * @param hArr The arrival time of each flight.
+     */
+    private void scanDepartureArrival(int depFrom, int depTo, int arrFrom, int arrTo,
+                                      double[] hDep, double[] hArr) {
+        int first = arrFrom;
+        for (int ii = depFrom; ii < depTo; ii++) {
+            double departure = hDep[departures[ii]];
+            while (first < arrTo && hArr[arrivals[first]] <= departure - safetyMargin) {
+                first++;
+            }
+            for (int jj = first; jj < arrTo && hArr[arrivals[jj]] < departure + safetyMargin; jj++) {
+                if (departures[ii] != arrivals[jj])
+                    addPair(departures[ii], arrivals[jj]);
+            }
+        }
+    }
+
+    /**
+     * Stores a candidate pair.
+     *
+     * @param flight1 The index of the first flight.
+     * @param flight2 The index of the second flight.
+     */
+    private void addPair(int flight1, int flight2) {
+        if (nbPairs == pairs.length)
+            pairs = Arrays.copyOf(pairs, nbPairs * 2);
+        pairs[nbPairs++] = IntersectionTools.pairKey(flight1, flight2);
+    }
+
+    /**
+     * Removes the duplicates of a sorted array of pairs
+     * (two flights can share both airports).
+     *
+     * @param sortedPairs The pairs, sorted in ascending order.
+     * @return The distinct pairs.
+     */
+    private static long[] removeDuplicates(long[] sortedPairs) {
+        int nbDistinct = 0;
+        for (int ii = 0; ii < sortedPairs.length; ii++) {
+            if (ii == 0 || sortedPairs[ii] != sortedPairs[ii - 1])
+                sortedPairs[nbDistinct++] = sortedPairs[ii];
+        }
+        return Arrays.copyOf(sortedPairs, nbDistinct);
+    }
+}
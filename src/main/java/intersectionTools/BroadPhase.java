@@ -0,0 +1,38 @@
+package intersectionTools;
+
+/**
+ * Strategies used to select the pairs of flights
+ * that are passed to the exact collision test.
+ */
+public enum BroadPhase {
+
+    /** Every pair of flights is tested (reference path, used for verification). */
+    EXHAUSTIVE,
+
+    /** Only flights whose bounding boxes share a cell of a uniform grid are tested. */
+    GRID,
+
+    /** Only flights whose bounding boxes overlap, found with an STR-packed R-tree, are tested. */
+    RTREE,
+
+    /** Only flights whose flight intervals, widened by the safety margin, overlap are tested. */
+    SWEEP,
+
+    /**
+     * Only flights sharing a (x cell, y cell, time bucket) key of a spatio-temporal hash
+     * along their trajectories are tested.
+     */
+    SPACE_TIME,
+
+    /**
+     * Flights sharing an airport are matched on per-airport sorted schedules (cases 1, 2, 4, 5),
+     * the time sweep only supplies the other pairs (cases 3 and 6).
+     */
+    AIRPORT_INDEX,
+
+    /**
+     * Flights sharing an airport are matched as with {@link #AIRPORT_INDEX}, the other pairs
+     * come from the crossings of their routes, computed once per pair of routes.
+     */
+    ROUTES
+}
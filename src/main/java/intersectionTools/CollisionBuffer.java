@@ -0,0 +1,112 @@
+package intersectionTools;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of collisions between pairs of flights.
+ * <p>
+ * Each collision is stored as a pair of flight indexes
+ * (see {@link IntersectionTools#pairKey(int, int)}) and the coordinates
+ * of the intersection point, in primitive arrays.
+ */
+public class CollisionBuffer {
+
+    /** The colliding pairs. */
+    private long[] pairs;
+
+    /** Coordinates of the intersection point of each pair. */
+    private double[] xCoords, yCoords;
+
+    /** Number of collisions in the buffer. */
+    private int size;
+
+    /**
+     * Constructs an empty buffer.
+     */
+    public CollisionBuffer() {
+        pairs = new long[16];
+        xCoords = new double[16];
+        yCoords = new double[16];
+    }
+
+    /**
+     * Adds a collision to the buffer.
+     *
+     * @param pair The colliding pair.
+     * @param xCoord The x-coordinate of the intersection point.
+     * @param yCoord The y-coordinate of the intersection point.
+     */
+    public void add(long pair, double xCoord, double yCoord) {
+        ensureCapacity(size + 1);
+        pairs[size] = pair;
+        xCoords[size] = xCoord;
+        yCoords[size] = yCoord;
+        size++;
+    }
+
+    /**
+     * Appends every collision of another buffer, keeping their order.
+     *
+     * @param other The buffer to append.
+     */
+    public void append(CollisionBuffer other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.pairs, 0, pairs, size, other.size);
+        System.arraycopy(other.xCoords, 0, xCoords, size, other.size);
+        System.arraycopy(other.yCoords, 0, yCoords, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Grows the arrays so that they can hold the given number of collisions.
+     *
+     * @param capacity The required capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > pairs.length) {
+            int newCapacity = Math.max(capacity, pairs.length * 2);
+            pairs = Arrays.copyOf(pairs, newCapacity);
+            xCoords = Arrays.copyOf(xCoords, newCapacity);
+            yCoords = Arrays.copyOf(yCoords, newCapacity);
+        }
+    }
+
+    /**
+     * Retrieves the number of collisions in the buffer.
+     *
+     * @return The number of collisions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves a colliding pair.
+     *
+     * @param ind The index of the collision in the buffer.
+     * @return The colliding pair.
+     */
+    public long getPair(int ind) {
+        return pairs[ind];
+    }
+
+    /**
+     * Retrieves the x-coordinate of the intersection point of a collision.
+     *
+     * @param ind The index of the collision in the buffer.
+     * @return The x-coordinate of the intersection point.
+     */
+    public double getXCoord(int ind) {
+        return xCoords[ind];
+    }
+
+    /**
+     * Retrieves the y-coordinate of the intersection point of a collision.
+     *
+     * @param ind The index of the collision in the buffer.
+     * @return The y-coordinate of the intersection point.
+     */
+    public double getYCoord(int ind) {
+        return yCoords[ind];
+    }
+}
@@ -0,0 +1,45 @@
+package intersectionTools;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the conflicts found by a {@link StreamingConflictDetector} to a file,
+ * one conflict per line in the format: flightId1;flightId2;xCoord;yCoord
+ */
+public class ConflictFileSink implements ConflictSink, AutoCloseable {
+
+    /** The writer of the output file. */
+    private final FileWriter fileWriter;
+
+    /**
+     * Constructs a sink writing to the given file.
+     *
+     * @param file The output file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public ConflictFileSink(File file) throws IOException {
+        fileWriter = new FileWriter(file);
+    }
+
+    @Override
+    public void onConflict(String flightId1, String flightId2, double xCoord, double yCoord) {
+        try {
+            fileWriter.write(flightId1 + ";" + flightId2 + ";" + xCoord + ";" + yCoord + "\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes and closes the output file.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        fileWriter.close();
+    }
+}
@@ -0,0 +1,26 @@
+package intersectionTools;
+
+import flights.Flight;
+
+/**
+ * Receives the flights and the conflicts found by a {@link StreamingConflictDetector}.
+ */
+public interface ConflictSink {
+
+    /**
+     * Called for every flight read, before its conflicts are reported.
+     *
+     * @param flight The flight read.
+     */
+    default void onFlight(Flight flight) {}
+
+    /**
+     * Called as soon as a conflict between two flights is found.
+     *
+     * @param flightId1 The identifier of the first (earlier) flight.
+     * @param flightId2 The identifier of the second flight.
+     * @param xCoord The x-coordinate of the intersection point.
+     * @param yCoord The y-coordinate of the intersection point.
+     */
+    void onConflict(String flightId1, String flightId2, double xCoord, double yCoord);
+}
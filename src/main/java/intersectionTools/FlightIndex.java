@@ -0,0 +1,244 @@
+package intersectionTools;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Dynamic index of flights used to maintain an intersection graph incrementally.
+ * <p>
+ * The flights are stored in a {@link FlightTable} and registered in time buckets
+ * covering their flight interval widened by the safety margin. The collisions
+ * of one flight are searched only among the flights sharing one of its buckets,
+ * so that adding, removing or retiming a flight does not cost a full rebuild.
+ */
+public class FlightIndex {
+
+    /** Width of a time bucket, in minutes. */
+    private static final double BUCKET_WIDTH = 60;
+
+    /** Geometry and schedule of the flights, one slot per flight. */
+    private final FlightTable flightTable = new FlightTable(16);
+
+    /** The safety margin. */
+    private final double safetyMargin;
+
+    /** Slot of each flight, by flight identifier. */
+    private final HashMap<String, Integer> slots = new HashMap<>();
+
+    /** Flight identifier of each slot (null for a free slot). */
+    private String[] slotIds = new String[16];
+
+    /** Slots released by removed flights. */
+    private int[] freeSlots = new int[16];
+
+    /** Number of released slots. */
+    private int nbFreeSlots;
+
+    /** Identifier of each airport, by airport code. */
+    private final HashMap<String, Integer> airportIds = new HashMap<>();
+
+    /** Slots registered in each time bucket. */
+    private int[][] buckets = new int[0][];
+
+    /** Number of slots registered in each time bucket. */
+    private int[] bucketSizes = new int[0];
+
+    /** Last search in which each slot has been seen (avoids testing a pair twice). */
+    private int[] seenStamp = new int[16];
+
+    /** Number of searches done so far. */
+    private int stamp;
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param newSafetyMargin The safety margin used for collisions.
+     */
+    public FlightIndex(double newSafetyMargin) {
+        safetyMargin = newSafetyMargin;
+    }
+
+    /**
+     * Retrieves the number of flights in the index.
+     *
+     * @return The number of flights.
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Checks if a flight is in the index.
+     *
+     * @param flightId The identifier of the flight.
+     * @return True if the flight is in the index.
+     */
+    public boolean contains(String flightId) {
+        return slots.containsKey(flightId);
+    }
+
+    /**
+     * Retrieves the identifier of the flight stored in a slot.
+     *
+     * @param slot The slot.
+     * @return The identifier of the flight.
+     */
+    public String getFlightId(int slot) {
+        return slotIds[slot];
+    }
+
+    /**
+     * Adds a flight to the index.
+     *
+     * @param flightId The identifier of the flight.
+     * @param depAirportCode The code of the departure airport.
+     * @param depX The x-coordinate of the departure airport.
+     * @param depY The y-coordinate of the departure airport.
+     * @param arrAirportCode The code of the arrival airport.
+     * @param arrX The x-coordinate of the arrival airport.
+     * @param arrY The y-coordinate of the arrival airport.
+     * @param hDeparture The departure time, in minutes.
+     * @param duration The duration of the flight, in minutes.
+     */
+    public void add(String flightId, String depAirportCode, double depX, double depY,
+                    String arrAirportCode, double arrX, double arrY,
+                    double hDeparture, int duration) {
+        int depAirport = airportIds.computeIfAbsent(depAirportCode, code -> airportIds.size());
+        int arrAirport = airportIds.computeIfAbsent(arrAirportCode, code -> airportIds.size());
+        int slot;
+        if (nbFreeSlots > 0) {
+            slot = freeSlots[--nbFreeSlots];
+            flightTable.set(slot, depAirport, depX, depY, arrAirport, arrX, arrY, hDeparture, duration);
+        } else {
+            slot = flightTable.add(depAirport, depX, depY, arrAirport, arrX, arrY, hDeparture, duration);
+            if (slot == slotIds.length) {
+                slotIds = Arrays.copyOf(slotIds, slot * 2);
+                seenStamp = Arrays.copyOf(seenStamp, slot * 2);
+            }
+        }
+        slotIds[slot] = flightId;
+        slots.put(flightId, slot);
+        registerInBuckets(slot);
+    }
+
+    /**
+     * Removes a flight from the index.
+     *
+     * @param flightId The identifier of the flight.
+     */
+    public void remove(String flightId) {
+        Integer slot = slots.remove(flightId);
+        if (slot != null) {
+            unregisterFromBuckets(slot);
+            slotIds[slot] = null;
+            if (nbFreeSlots == freeSlots.length)
+                freeSlots = Arrays.copyOf(freeSlots, nbFreeSlots * 2);
+            freeSlots[nbFreeSlots++] = slot;
+        }
+    }
+
+    /**
+     * Changes the departure time and the duration of a flight.
+     *
+     * @param flightId The identifier of the flight.
+     * @param hDeparture The new departure time, in minutes.
+     * @param duration The new duration, in minutes.
+     */
+    public void setSchedule(String flightId, double hDeparture, int duration) {
+        int slot = slots.get(flightId);
+        unregisterFromBuckets(slot);
+        flightTable.setSchedule(slot, hDeparture, duration);
+        registerInBuckets(slot);
+    }
+
+    /**
+     * Finds every flight of the index colliding with the given flight.
+     *
+     * @param flightId The identifier of the flight.
+     * @return The collisions, as pairs of slots (see {@link #getFlightId(int)}).
+     */
+    public CollisionBuffer findCollisions(String flightId) {
+        CollisionBuffer collisions = new CollisionBuffer();
+        int slot = slots.get(flightId);
+        double[] hDep = flightTable.getHDep(), hArr = flightTable.getHArr();
+        double[] crossing = new double[2];
+        stamp++;
+        seenStamp[slot] = stamp;
+        for (int bucket = firstBucket(slot); bucket <= lastBucket(slot); bucket++) {
+            for (int ii = 0; ii < bucketSizes[bucket]; ii++) {
+                int other = buckets[bucket][ii];
+                if (seenStamp[other] != stamp) {
+                    seenStamp[other] = stamp;
+                    // The widened flight intervals must overlap
+                    if (hDep[other] <= hArr[slot] + safetyMargin && hDep[slot] <= hArr[other] + safetyMargin) {
+                        int flight1 = Math.min(slot, other), flight2 = Math.max(slot, other);
+                        if (flightTable.hasCollision(flight1, flight2, safetyMargin, crossing))
+                            collisions.add(IntersectionTools.pairKey(flight1, flight2), crossing[0], crossing[1]);
+                    }
+                }
+            }
+        }
+        return collisions;
+    }
+
+    /**
+     * Retrieves the first time bucket of a flight.
+     *
+     * @param slot The slot of the flight.
+     * @return The index of the bucket containing the departure.
+     */
+    private int firstBucket(int slot) {
+        return (int) Math.max(0, Math.floor(flightTable.getHDep()[slot] / BUCKET_WIDTH));
+    }
+
+    /**
+     * Retrieves the last time bucket of a flight.
+     *
+     * @param slot The slot of the flight.
+     * @return The index of the bucket containing the arrival plus the safety margin.
+     */
+    private int lastBucket(int slot) {
+        double end = flightTable.getHArr()[slot] + safetyMargin;
+        return Math.min(bucketSizes.length - 1, (int) Math.max(0, Math.floor(end / BUCKET_WIDTH)));
+    }
+
+    /**
+     * Registers a flight in the buckets covering its widened flight interval.
+     *
+     * @param slot The slot of the flight.
+     */
+    private void registerInBuckets(int slot) {
+        double end = flightTable.getHArr()[slot] + safetyMargin;
+        int needed = (int) Math.max(0, Math.floor(end / BUCKET_WIDTH)) + 1;
+        if (needed > buckets.length) {
+            int oldLength = buckets.length;
+            buckets = Arrays.copyOf(buckets, needed);
+            bucketSizes = Arrays.copyOf(bucketSizes, needed);
+            for (int bucket = oldLength; bucket < needed; bucket++) {
+                buckets[bucket] = new int[4];
+            }
+        }
+        for (int bucket = firstBucket(slot); bucket <= lastBucket(slot); bucket++) {
+            if (bucketSizes[bucket] == buckets[bucket].length)
+                buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+            buckets[bucket][bucketSizes[bucket]++] = slot;
+        }
+    }
+
+    /**
+     * Removes a flight from the buckets covering its widened flight interval.
+     *
+     * @param slot The slot of the flight.
+     */
+    private void unregisterFromBuckets(int slot) {
+        for (int bucket = firstBucket(slot); bucket <= lastBucket(slot); bucket++) {
+            int[] content = buckets[bucket];
+            for (int ii = 0; ii < bucketSizes[bucket]; ii++) {
+                if (content[ii] == slot) {
+                    content[ii] = content[--bucketSizes[bucket]];
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package intersectionTools;
+
+import graphTools.GraphPlus;
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.Node;
+
+import java.util.Arrays;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+
+/**
+ * Precomputed geometry and schedule of a set of flights, stored as primitive arrays.
+ * <p>
+ * The table is built once per run from the flight graph, so that the pair test
+ * does not allocate any object nor read any string attribute. It gives the same
+ * results as {@link IntersectionTools#intersectionCase}, {@link IntersectionTools#findIntersection}
+ * and {@link IntersectionTools#hasCollision}.
+ */
+public class FlightTable {
+
+    /** Number of flights in the table. */
+    private int size;
+
+    /** Coordinates of the departure airport of each flight. */
+    private double[] depX, depY;
+
+    /** Coordinates of the arrival airport of each flight. */
+    private double[] arrX, arrY;
+
+    /** Departure and arrival time of each flight, in minutes. */
+    private double[] hDep, hArr;
+
+    /** Average speed of each flight (distance flown per minute). */
+    private double[] speed;
+
+    /** Identifier of the departure and arrival airport of each flight. */
+    private int[] depAirportId, arrAirportId;
+
+    /**
+     * Constructs an empty table.
+     *
+     * @param capacity The initial number of flights the table can hold.
+     */
+    public FlightTable(int capacity) {
+        depX = new double[capacity];
+        depY = new double[capacity];
+        arrX = new double[capacity];
+        arrY = new double[capacity];
+        hDep = new double[capacity];
+        hArr = new double[capacity];
+        speed = new double[capacity];
+        depAirportId = new int[capacity];
+        arrAirportId = new int[capacity];
+    }
+
+    /**
+     * Constructs the table of the first flights of a flight graph.
+     * The airport identifiers are the indexes of the airport nodes.
+     *
+     * @param graph The graph containing airports (nodes) and flights (edges).
+     * @param newSize The number of flights to process.
+     */
+    public FlightTable(GraphPlus graph, int newSize) {
+        this(newSize);
+        Edge flight;
+        Node depAirport, arrAirport;
+        Object[] depCoords, arrCoords;
+        for (int ii = 0; ii < newSize; ii++) {
+            flight = graph.getEdge(ii);
+            depAirport = flight.getNode0();
+            arrAirport = flight.getNode1();
+            depCoords = (Object[]) depAirport.getAttribute("xy");
+            arrCoords = (Object[]) arrAirport.getAttribute("xy");
+            add(depAirport.getIndex(), (double) depCoords[0], (double) depCoords[1],
+                    arrAirport.getIndex(), (double) arrCoords[0], (double) arrCoords[1],
+                    (double) flight.getAttribute("hDeparture"), (int) flight.getAttribute("duration"));
+        }
+    }
+
+    /**
+     * Adds a flight at the end of the table.
+     *
+     * @param depAirport The identifier of the departure airport.
+     * @param newDepX The x-coordinate of the departure airport.
+     * @param newDepY The y-coordinate of the departure airport.
+     * @param arrAirport The identifier of the arrival airport.
+     * @param newArrX The x-coordinate of the arrival airport.
+     * @param newArrY The y-coordinate of the arrival airport.
+     * @param hDeparture The departure time, in minutes.
+     * @param duration The duration of the flight, in minutes.
+     * @return The index of the flight in the table.
+     */
+    public int add(int depAirport, double newDepX, double newDepY,
+                   int arrAirport, double newArrX, double newArrY,
+                   double hDeparture, int duration) {
+        if (size == depX.length) {
+            int capacity = Math.max(16, size * 2);
+            depX = Arrays.copyOf(depX, capacity);
+            depY = Arrays.copyOf(depY, capacity);
+            arrX = Arrays.copyOf(arrX, capacity);
+            arrY = Arrays.copyOf(arrY, capacity);
+            hDep = Arrays.copyOf(hDep, capacity);
+            hArr = Arrays.copyOf(hArr, capacity);
+            speed = Arrays.copyOf(speed, capacity);
+            depAirportId = Arrays.copyOf(depAirportId, capacity);
+            arrAirportId = Arrays.copyOf(arrAirportId, capacity);
+        }
+        set(size, depAirport, newDepX, newDepY, arrAirport, newArrX, newArrY, hDeparture, duration);
+        return size++;
+    }
+
+    /**
+     * Replaces a flight of the table.
+     *
+     * @param flight The index of the flight in the table.
+     * @param depAirport The identifier of the departure airport.
+     * @param newDepX The x-coordinate of the departure airport.
+     * @param newDepY The y-coordinate of the departure airport.
+     * @param arrAirport The identifier of the arrival airport.
+     * @param newArrX The x-coordinate of the arrival airport.
+     * @param newArrY The y-coordinate of the arrival airport.
+     * @param hDeparture The departure time, in minutes.
+     * @param duration The duration of the flight, in minutes.
+     */
+    public void set(int flight, int depAirport, double newDepX, double newDepY,
+                    int arrAirport, double newArrX, double newArrY,
+                    double hDeparture, int duration) {
+        depAirportId[flight] = depAirport;
+        arrAirportId[flight] = arrAirport;
+        depX[flight] = newDepX;
+        depY[flight] = newDepY;
+        arrX[flight] = newArrX;
+        arrY[flight] = newArrY;
+        setSchedule(flight, hDeparture, duration);
+    }
+
+    /**
+     * Changes the departure time and the duration of a flight of the table.
+     *
+     * @param flight The index of the flight in the table.
+     * @param hDeparture The new departure time, in minutes.
+     * @param duration The new duration of the flight, in minutes.
+     */
+    public void setSchedule(int flight, double hDeparture, int duration) {
+        double flightDistance = sqrt((arrX[flight] - depX[flight]) * (arrX[flight] - depX[flight])
+                + (arrY[flight] - depY[flight]) * (arrY[flight] - depY[flight]));
+        hDep[flight] = hDeparture;
+        hArr[flight] = hDeparture + duration;
+        speed[flight] = flightDistance / duration;
+    }
+
+    /**
+     * Retrieves the number of flights in the table.
+     * The arrays returned by the getters may be longer than this number
+     * when flights have been added after the construction of the table.
+     *
+     * @return The number of flights.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the x-coordinates of the departure airports.
+     *
+     * @return The x-coordinate of the departure airport of each flight.
+     */
+    public double[] getDepX() {
+        return depX;
+    }
+
+    /**
+     * Retrieves the y-coordinates of the departure airports.
+     *
+     * @return The y-coordinate of the departure airport of each flight.
+     */
+    public double[] getDepY() {
+        return depY;
+    }
+
+    /**
+     * Retrieves the x-coordinates of the arrival airports.
+     *
+     * @return The x-coordinate of the arrival airport of each flight.
+     */
+    public double[] getArrX() {
+        return arrX;
+    }
+
+    /**
+     * Retrieves the y-coordinates of the arrival airports.
+     *
+     * @return The y-coordinate of the arrival airport of each flight.
+     */
+    public double[] getArrY() {
+        return arrY;
+    }
+
+    /**
+     * Retrieves the departure times.
+     *
+     * @return The departure time of each flight, in minutes.
+     */
+    public double[] getHDep() {
+        return hDep;
+    }
+
+    /**
+     * Retrieves the arrival times.
+     *
+     * @return The arrival time of each flight, in minutes.
+     */
+    public double[] getHArr() {
+        return hArr;
+    }
+
+    /**
+     * Retrieves the average speeds.
+     *
+     * @return The average speed of each flight.
+     */
+    public double[] getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Retrieves the identifiers of the departure airports.
+     *
+     * @return The identifier of the departure airport of each flight.
+     */
+    public int[] getDepAirportId() {
+        return depAirportId;
+    }
+
+    /**
+     * Retrieves the identifiers of the arrival airports.
+     *
+     * @return The identifier of the arrival airport of each flight.
+     */
+    public int[] getArrAirportId() {
+        return arrAirportId;
+    }
+
+    /**
+     * Determines the type of intersection between two flights
+     * when they share at least one airport (cases 1 to 5 of
+     * {@link IntersectionTools#intersectionCase}).
+     *
+     * @param flight1 The index of the first flight.
+     * @param flight2 The index of the second flight.
+     * @return The intersection case, or 0 if the flights share no airport.
+     */
+    public int sharedAirportCase(int flight1, int flight2) {
+        int result = 0;
+        int dep1 = depAirportId[flight1], dep2 = depAirportId[flight2];
+        int arr1 = arrAirportId[flight1], arr2 = arrAirportId[flight2];
+        if (dep1 == arr2 && dep2 == arr1)
+            result = 3;
+        else if (dep1 == dep2)
+            result = 1;
+        else if (arr1 == arr2)
+            result = 2;
+        else if (dep1 == arr2)
+            result = 4;
+        else if (dep2 == arr1)
+            result = 5;
+        return result;
+    }
+
+    /**
+     * Computes the orientation of three points (see {@link IntersectionPoint#orientation}).
+     *
+     * @param px The x-coordinate of the first point.
+     * @param py The y-coordinate of the first point.
+     * @param qx The x-coordinate of the second point.
+     * @param qy The y-coordinate of the second point.
+     * @param rx The x-coordinate of the third point.
+     * @param ry The y-coordinate of the third point.
+     * @return 1 if clockwise, 2 if counterclockwise, 0 if collinear.
+     */
+    private static int orientation(double px, double py, double qx, double qy, double rx, double ry) {
+        double val = ((qy - py) * (rx - qx)) - ((qx - px) * (ry - qy));
+        return val > 0 ? 1 : (val < 0 ? 2 : 0);
+    }
+
+    /**
+     * Checks if a point lies on a segment (see {@link IntersectionPoint#isOnSegment}).
+     *
+     * @param px The x-coordinate of the first endpoint of the segment.
+     * @param py The y-coordinate of the first endpoint of the segment.
+     * @param qx The x-coordinate of the point to check.
+     * @param qy The y-coordinate of the point to check.
+     * @param rx The x-coordinate of the second endpoint of the segment.
+     * @param ry The y-coordinate of the second endpoint of the segment.
+     * @return True if the point lies on the segment.
+     */
+    private static boolean isOnSegment(double px, double py, double qx, double qy, double rx, double ry) {
+        return qx <= max(px, rx) && qx >= min(px, rx) && qy <= max(py, ry) && qy >= min(py, ry);
+    }
+
+    /**
+     * Checks if the routes of two flights intersect.
+     *
+     * @param flight1 The index of the first flight.
+     * @param flight2 The index of the second flight.
+     * @return True if the two segments intersect.
+     */
+    public boolean hasIntersection(int flight1, int flight2) {
+        return segmentsIntersect(depX[flight1], depY[flight1], arrX[flight1], arrY[flight1],
+                depX[flight2], depY[flight2], arrX[flight2], arrY[flight2]);
+    }
+
+    /**
+     * Checks if two segments intersect, with the same test as {@link IntersectionPoint#hasIntersection}.
+     *
+     * @param ax The x-coordinate of the first end of the first segment.
+     * @param ay The y-coordinate of the first end of the first segment.
+     * @param bx The x-coordinate of the second end of the first segment.
+     * @param by The y-coordinate of the second end of the first segment.
+     * @param cx The x-coordinate of the first end of the second segment.
+     * @param cy The y-coordinate of the first end of the second segment.
+     * @param dx The x-coordinate of the second end of the second segment.
+     * @param dy The y-coordinate of the second end of the second segment.
+     * @return True if the two segments intersect.
+     */
+    public static boolean segmentsIntersect(double ax, double ay, double bx, double by,
+                                            double cx, double cy, double dx, double dy) {
+        int oA = orientation(ax, ay, bx, by, cx, cy);
+        int oB = orientation(ax, ay, bx, by, dx, dy);
+        int oC = orientation(cx, cy, dx, dy, ax, ay);
+        int oD = orientation(cx, cy, dx, dy, bx, by);
+        return (oA != oB && oC != oD)
+                || (oA == 0 && isOnSegment(ax, ay, cx, cy, bx, by))
+                || (oB == 0 && isOnSegment(ax, ay, dx, dy, bx, by))
+                || (oC == 0 && isOnSegment(cx, cy, ax, ay, dx, dy))
+                || (oD == 0 && isOnSegment(cx, cy, bx, by, dx, dy));
+    }
+
+    /**
+     * Finds the intersection point of the routes of two flights.
+     *
+     * @param flight1 The index of the first flight.
+     * @param flight2 The index of the second flight.
+     * @param crossing Array receiving the coordinates (x, y) of the point, (0, 0) if it does not exist.
+     * @return True if the intersection point exists.
+     */
+    public boolean findIntersection(int flight1, int flight2, double[] crossing) {
+        crossing[0] = 0;
+        crossing[1] = 0;
+        if (!hasIntersection(flight1, flight2))
+            return false;
+        double ax = depX[flight1], ay = depY[flight1], bx = arrX[flight1], by = arrY[flight1];
+        double cx = depX[flight2], cy = depY[flight2], dx = arrX[flight2], dy = arrY[flight2];
+        crossing[0] = ((ax * by - ay * bx) * (cx - dx) - (ax - bx) * (cx * dy - cy * dx)) /
+                ((ax - bx) * (cy - dy) - (ay - by) * (cx - dx));
+        crossing[1] = ((ax * by - ay * bx) * (cy - dy) - (ay - by) * (cx * dy - cy * dx)) /
+                ((ax - bx) * (cy - dy) - (ay - by) * (cx - dx));
+        return true;
+    }
+
+    /**
+     * Finds the time at which a flight passes over a point of its route.
+     *
+     * @param flight The index of the flight.
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @return The time at the point, in minutes.
+     */
+    public double findTimeAtIntersection(int flight, double x, double y) {
+        double intersectDistance = sqrt((x - depX[flight]) * (x - depX[flight])
+                + (y - depY[flight]) * (y - depY[flight]));
+        return hDep[flight] + intersectDistance / speed[flight];
+    }
+
+    /**
+     * Computes the time separation between two flights, as defined by the
+     * intersection case in {@link IntersectionTools#hasCollision}.
+     *
+     * @param flight1 The index of the first flight.
+     * @param flight2 The index of the second flight.
+     * @param crossing Scratch array of size 2 used for the intersection point.
+     * @return The time separation, or positive infinity if the flights can never collide.
+     */
+    public double timeDelta(int flight1, int flight2, double[] crossing) {
+        double timeDelta;
+        switch (sharedAirportCase(flight1, flight2)) {
+            case 1:
+                timeDelta = abs(hDep[flight1] - hDep[flight2]);
+                break;
+            case 2:
+                timeDelta = abs(hArr[flight1] - hArr[flight2]);
+                break;
+            case 3:
+                if (hDep[flight1] < hDep[flight2])
+                    timeDelta = hDep[flight2] - hArr[flight1];
+                else
+                    timeDelta = hDep[flight1] - hArr[flight2];
+                break;
+            case 4:
+                timeDelta = abs(hArr[flight2] - hDep[flight1]);
+                break;
+            case 5:
+                timeDelta = abs(hArr[flight1] - hDep[flight2]);
+                break;
+            default:
+                if (findIntersection(flight1, flight2, crossing)) {
+                    timeDelta = abs(findTimeAtIntersection(flight1, crossing[0], crossing[1])
+                            - findTimeAtIntersection(flight2, crossing[0], crossing[1]));
+                } else {
+                    timeDelta = Double.POSITIVE_INFINITY;
+                }
+                break;
+        }
+        return timeDelta;
+    }
+
+    /**
+     * Determines if two flights have a collision.
+     *
+     * @param flight1 The index of the first flight.
+     * @param flight2 The index of the second flight.
+     * @param safetyMargin The safety margin.
+     * @param crossing Array receiving the coordinates (x, y) of the intersection point.
+     * @return True if the time separation is below the safety margin.
+     */
+    public boolean hasCollision(int flight1, int flight2, double safetyMargin, double[] crossing) {
+        boolean result = timeDelta(flight1, flight2, crossing) < safetyMargin;
+        if (result)
+            findIntersection(flight1, flight2, crossing);
+        return result;
+    }
+}
@@ -4,6 +4,8 @@ import graphTools.GraphPlus;
 import org.graphstream.graph.Edge;
 import tools.PointPlus;
 
+import java.util.Arrays;
+
 import static java.lang.Math.abs;
 import static java.lang.Math.sqrt;
 
@@ -29,6 +31,68 @@ public class IntersectionTools {
         safetyMargin = newSafetyMargin;
     }
 
+    /**
+     * Retrieves the safety margin.
+     *
+     * @return the safety margin
+     */
+    public double getSafetyMargin() {
+        return safetyMargin;
+    }
+
+    /**
+     * Encodes a pair of flight indexes in a single long, the smallest index first.
+     * <p>
+     * Sorting encoded pairs orders them like the nested loops over the flights.
+     *
+     * @param flightInd1 the index of the first flight
+     * @param flightInd2 the index of the second flight
+     * @return the encoded pair
+     */
+    public static long pairKey(int flightInd1, int flightInd2) {
+        return ((long) Math.min(flightInd1, flightInd2) << 32) | Math.max(flightInd1, flightInd2);
+    }
+
+    /**
+     * Decodes the first (smallest) flight index of a pair.
+     *
+     * @param pair the encoded pair
+     * @return the first flight index
+     */
+    public static int pairFirst(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    /**
+     * Decodes the second (largest) flight index of a pair.
+     *
+     * @param pair the encoded pair
+     * @return the second flight index
+     */
+    public static int pairSecond(long pair) {
+        return (int) pair;
+    }
+
+    /**
+     * Sorts the indexes of the flights by ascending value (departure time, arrival time...).
+     *
+     * @param values the value of each flight
+     * @param size   the number of flights to sort
+     * @return the flight indexes, sorted by value
+     */
+    public static int[] sortedIndexes(double[] values, int size) {
+        Integer[] boxed = new Integer[size];
+        for (int ii = 0; ii < size; ii++) {
+            boxed[ii] = ii;
+        }
+        Arrays.sort(boxed, (ind1, ind2) -> Double.compare(values[ind1], values[ind2]));
+        int[] order = new int[size];
+        for (int ii = 0; ii < size; ii++) {
+            order[ii] = boxed[ii];
+        }
+        return order;
+    }
+
     /**
      * Determines the type of intersection between two flights.
      * <p>
@@ -0,0 +1,145 @@
+package intersectionTools;
+
+import java.util.Arrays;
+
+/**
+ * Pairs of flights that collide for some safety margin up to a maximum,
+ * with their time separation, sorted by increasing time separation.
+ * <p>
+ * Two flights collide for a margin m when their time separation is below m,
+ * so the collisions for any margin up to the maximum are a prefix of the list.
+ * The geometry is computed once, and a new margin only costs a binary search
+ * and a pass over the selected pairs.
+ */
+public class MarginConflictList {
+
+    /** The largest safety margin the list can answer for. */
+    private final double maxMargin;
+
+    /** The pairs of flights, see {@link IntersectionTools#pairKey(int, int)}. */
+    private final long[] pairs;
+
+    /** Time separation of each pair. */
+    private final double[] timeDeltas;
+
+    /** Coordinates of the intersection point of each pair. */
+    private final double[] xCoords, yCoords;
+
+    /**
+     * Computes the time separation of the candidate pairs and keeps those below the maximum margin.
+     *
+     * @param flightTable The table of the flights.
+     * @param candidatePairs The pairs selected by a broad phase for the maximum margin, sorted in ascending order.
+     * @param newMaxMargin The largest safety margin the list can answer for.
+     */
+    public MarginConflictList(FlightTable flightTable, long[] candidatePairs, double newMaxMargin) {
+        maxMargin = newMaxMargin;
+        CollisionBuffer collisions = new CollisionBuffer();
+        double[] deltas = new double[candidatePairs.length];
+        double[] crossing = new double[2];
+        int nbConflicts = 0;
+        for (long pair : candidatePairs) {
+            int flight1 = IntersectionTools.pairFirst(pair), flight2 = IntersectionTools.pairSecond(pair);
+            double timeDelta = flightTable.timeDelta(flight1, flight2, crossing);
+            if (timeDelta < maxMargin) {
+                flightTable.findIntersection(flight1, flight2, crossing);
+                collisions.add(pair, crossing[0], crossing[1]);
+                deltas[nbConflicts++] = timeDelta;
+            }
+        }
+
+        // Stable sort: pairs with the same time separation stay in ascending order
+        int[] order = IntersectionTools.sortedIndexes(deltas, nbConflicts);
+        pairs = new long[nbConflicts];
+        timeDeltas = new double[nbConflicts];
+        xCoords = new double[nbConflicts];
+        yCoords = new double[nbConflicts];
+        for (int ii = 0; ii < nbConflicts; ii++) {
+            pairs[ii] = collisions.getPair(order[ii]);
+            timeDeltas[ii] = deltas[order[ii]];
+            xCoords[ii] = collisions.getXCoord(order[ii]);
+            yCoords[ii] = collisions.getYCoord(order[ii]);
+        }
+    }
+
+    /**
+     * Retrieves the largest safety margin the list can answer for.
+     *
+     * @return The maximum margin.
+     */
+    public double getMaxMargin() {
+        return maxMargin;
+    }
+
+    /**
+     * Retrieves the number of pairs colliding for the maximum margin.
+     *
+     * @return The size of the list.
+     */
+    public int size() {
+        return pairs.length;
+    }
+
+    /**
+     * Retrieves the number of pairs colliding for a safety margin.
+     *
+     * @param safetyMargin The safety margin, at most the maximum margin.
+     * @return The number of colliding pairs.
+     */
+    public int getNbConflicts(double safetyMargin) {
+        if (safetyMargin > maxMargin)
+            throw new IllegalArgumentException("Safety margin above the maximum margin: " + safetyMargin);
+        // First pair whose time separation is not below the margin
+        int low = 0, high = timeDeltas.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timeDeltas[middle] < safetyMargin)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Retrieves the collisions for a safety margin, in ascending pair order
+     * (the order of a direct construction of the intersection graph).
+     *
+     * @param safetyMargin The safety margin, at most the maximum margin.
+     * @return The colliding pairs with their intersection points.
+     */
+    public CollisionBuffer getCollisions(double safetyMargin) {
+        int nbConflicts = getNbConflicts(safetyMargin);
+        long[] prefix = Arrays.copyOf(pairs, nbConflicts);
+        Integer[] order = new Integer[nbConflicts];
+        for (int ii = 0; ii < nbConflicts; ii++) {
+            order[ii] = ii;
+        }
+        Arrays.sort(order, (ii, jj) -> Long.compare(prefix[ii], prefix[jj]));
+        CollisionBuffer collisions = new CollisionBuffer();
+        for (int ii : order) {
+            collisions.add(pairs[ii], xCoords[ii], yCoords[ii]);
+        }
+        return collisions;
+    }
+
+    /**
+     * Retrieves the time separation of a pair of the list.
+     *
+     * @param ii The position of the pair, in increasing time separation.
+     * @return The time separation.
+     */
+    public double getTimeDelta(int ii) {
+        return timeDeltas[ii];
+    }
+
+    /**
+     * Retrieves a pair of the list.
+     *
+     * @param ii The position of the pair, in increasing time separation.
+     * @return The pair, see {@link IntersectionTools#pairKey(int, int)}.
+     */
+    public long getPair(int ii) {
+        return pairs[ii];
+    }
+}
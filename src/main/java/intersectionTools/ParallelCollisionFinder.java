@@ -0,0 +1,205 @@
+package intersectionTools;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates collisions between pairs of flights on a fork/join pool.
+ * <p>
+ * The pairs are split into balanced blocks, each block fills its own
+ * {@link CollisionBuffer}, and the buffers are merged in block order.
+ * The result is therefore in the same order as a sequential evaluation.
+ */
+public class ParallelCollisionFinder {
+
+    /** Number of pairs below which a block is evaluated sequentially. */
+    private static final long BLOCK_SIZE = 1 << 14;
+
+    /** The table of the flights. */
+    private final FlightTable flightTable;
+
+    /** The safety margin. */
+    private final double safetyMargin;
+
+    /** Number of worker threads. */
+    private final int parallelism;
+
+    /**
+     * Constructs a finder over the given flights.
+     *
+     * @param newFlightTable The table of the flights.
+     * @param newSafetyMargin The safety margin.
+     * @param newParallelism The number of worker threads.
+     */
+    public ParallelCollisionFinder(FlightTable newFlightTable, double newSafetyMargin, int newParallelism) {
+        flightTable = newFlightTable;
+        safetyMargin = newSafetyMargin;
+        parallelism = newParallelism;
+    }
+
+    /**
+     * Evaluates every pair of flights (upper triangle of the pair space).
+     *
+     * @return The collisions, sorted by pair.
+     */
+    public CollisionBuffer findAllCollisions() {
+        return invoke(new TriangleBlock(0, flightTable.size()));
+    }
+
+    /**
+     * Evaluates the given candidate pairs.
+     *
+     * @param candidatePairs The pairs to evaluate, sorted in ascending order.
+     * @return The collisions, in the order of the candidate pairs.
+     */
+    public CollisionBuffer findCollisions(long[] candidatePairs) {
+        return invoke(new CandidateBlock(candidatePairs, 0, candidatePairs.length));
+    }
+
+    /**
+     * Runs a task on a dedicated pool.
+     *
+     * @param task The root task.
+     * @return The result of the task.
+     */
+    private CollisionBuffer invoke(RecursiveTask<CollisionBuffer> task) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(task);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests a pair of flights and stores it in the buffer if they collide.
+     *
+     * @param flightInd1 The index of the first flight.
+     * @param flightInd2 The index of the second flight.
+     * @param crossing Scratch array of size 2 for the intersection point.
+     * @param buffer The buffer receiving the collision.
+     */
+    private void testPair(int flightInd1, int flightInd2, double[] crossing, CollisionBuffer buffer) {
+        if (flightTable.hasCollision(flightInd1, flightInd2, safetyMargin, crossing))
+            buffer.add(IntersectionTools.pairKey(flightInd1, flightInd2), crossing[0], crossing[1]);
+    }
+
+    /**
+     * Block of rows [firstRow, lastRow) of the upper triangle of the pair space.
+     */
+    private class TriangleBlock extends RecursiveTask<CollisionBuffer> {
+
+        /** Serialization version of the task. */
+        private static final long serialVersionUID = 1L;
+
+        /** First row of the block (included). */
+        private final int firstRow;
+
+        /** Last row of the block (excluded). */
+        private final int lastRow;
+
+        /**
+         * Constructs a block of rows.
+         *
+         * @param newFirstRow The first row (included).
+         * @param newLastRow The last row (excluded).
+         */
+        TriangleBlock(int newFirstRow, int newLastRow) {
+            firstRow = newFirstRow;
+            lastRow = newLastRow;
+        }
+
+        /**
+         * Counts the pairs of the rows [from, to).
+         *
+         * @param from The first row (included).
+         * @param to The last row (excluded).
+         * @return The number of pairs.
+         */
+        private long nbPairs(int from, int to) {
+            int size = flightTable.size();
+            // Row i holds the pairs (i, j) with i < j < size
+            return (long) (to - from) * (2L * size - from - to - 1) / 2;
+        }
+
+        @Override
+        protected CollisionBuffer compute() {
+            CollisionBuffer buffer;
+            if (lastRow - firstRow > 1 && nbPairs(firstRow, lastRow) > BLOCK_SIZE) {
+                // Split where both halves hold the same number of pairs
+                long half = nbPairs(firstRow, lastRow) / 2;
+                int midRow = firstRow + 1;
+                while (midRow < lastRow - 1 && nbPairs(firstRow, midRow) < half) {
+                    midRow++;
+                }
+                TriangleBlock left = new TriangleBlock(firstRow, midRow);
+                TriangleBlock right = new TriangleBlock(midRow, lastRow);
+                right.fork();
+                buffer = left.compute();
+                buffer.append(right.join());
+            } else {
+                buffer = new CollisionBuffer();
+                double[] crossing = new double[2];
+                int size = flightTable.size();
+                for (int flightInd1 = firstRow; flightInd1 < lastRow; flightInd1++) {
+                    for (int flightInd2 = flightInd1 + 1; flightInd2 < size; flightInd2++) {
+                        testPair(flightInd1, flightInd2, crossing, buffer);
+                    }
+                }
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Block [first, last) of a list of candidate pairs.
+     */
+    private class CandidateBlock extends RecursiveTask<CollisionBuffer> {
+
+        /** Serialization version of the task. */
+        private static final long serialVersionUID = 1L;
+
+        /** The candidate pairs. */
+        private final long[] pairs;
+
+        /** First pair of the block (included). */
+        private final int first;
+
+        /** Last pair of the block (excluded). */
+        private final int last;
+
+        /**
+         * Constructs a block of candidate pairs.
+         *
+         * @param newPairs The candidate pairs.
+         * @param newFirst The first pair (included).
+         * @param newLast The last pair (excluded).
+         */
+        CandidateBlock(long[] newPairs, int newFirst, int newLast) {
+            pairs = newPairs;
+            first = newFirst;
+            last = newLast;
+        }
+
+        @Override
+        protected CollisionBuffer compute() {
+            CollisionBuffer buffer;
+            if (last - first > BLOCK_SIZE) {
+                int mid = (first + last) >>> 1;
+                CandidateBlock left = new CandidateBlock(pairs, first, mid);
+                CandidateBlock right = new CandidateBlock(pairs, mid, last);
+                right.fork();
+                buffer = left.compute();
+                buffer.append(right.join());
+            } else {
+                buffer = new CollisionBuffer();
+                double[] crossing = new double[2];
+                for (int ii = first; ii < last; ii++) {
+                    testPair(IntersectionTools.pairFirst(pairs[ii]),
+                            IntersectionTools.pairSecond(pairs[ii]), crossing, buffer);
+                }
+            }
+            return buffer;
+        }
+    }
+}
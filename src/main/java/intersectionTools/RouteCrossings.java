@@ -0,0 +1,202 @@
+package intersectionTools;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+
+/**
+ * Finds the crossings between flights at the level of their routes.
+ * <p>
+ * The flights are grouped by directed route (departure airport, arrival airport).
+ * For each pair of routes, the crossing point and the distance flown on each route
+ * at the crossing are computed once. Only the time comparison at the crossing is
+ * then done for each pair of flights, so the geometric work scales with the number
+ * of distinct routes rather than with the number of flights.
+ * <p>
+ * The crossing point does not depend on the order of the two segments, so the
+ * times at the crossing are exactly those of {@link FlightTable#timeDelta}.
+ */
+public class RouteCrossings {
+
+    /** The table of the flights. */
+    private final FlightTable flightTable;
+
+    /** The safety margin. */
+    private final double safetyMargin;
+
+    /** Number of distinct routes. */
+    private final int nbRoutes;
+
+    /** Start offset of each route in routeFlights (compressed row storage). */
+    private final int[] routeStart;
+
+    /** Flights grouped by route. */
+    private final int[] routeFlights;
+
+    /** Earliest departure and latest arrival of the flights of each route. */
+    private final double[] routeFirstDep, routeLastArr;
+
+    /** Candidate pairs found so far. */
+    private long[] pairs = new long[16];
+
+    /** Number of candidate pairs found so far. */
+    private int nbPairs;
+
+    /**
+     * Groups the flights of the table by directed route.
+     *
+     * @param newFlightTable The table of the flights.
+     * @param newSafetyMargin The safety margin.
+     */
+    public RouteCrossings(FlightTable newFlightTable, double newSafetyMargin) {
+        flightTable = newFlightTable;
+        safetyMargin = newSafetyMargin;
+        int size = flightTable.size();
+        int[] depAirportId = flightTable.getDepAirportId(), arrAirportId = flightTable.getArrAirportId();
+
+        HashMap<Long, Integer> routeIds = new HashMap<>();
+        int[] routeOf = new int[size];
+        for (int ii = 0; ii < size; ii++) {
+            long routeKey = ((long) depAirportId[ii] << 32) | arrAirportId[ii];
+            routeOf[ii] = routeIds.computeIfAbsent(routeKey, key -> routeIds.size());
+        }
+        nbRoutes = routeIds.size();
+
+        routeStart = new int[nbRoutes + 1];
+        for (int ii = 0; ii < size; ii++) {
+            routeStart[routeOf[ii] + 1]++;
+        }
+        for (int route = 0; route < nbRoutes; route++) {
+            routeStart[route + 1] += routeStart[route];
+        }
+        routeFlights = new int[size];
+        int[] fill = Arrays.copyOf(routeStart, nbRoutes);
+        routeFirstDep = new double[nbRoutes];
+        routeLastArr = new double[nbRoutes];
+        Arrays.fill(routeFirstDep, Double.POSITIVE_INFINITY);
+        Arrays.fill(routeLastArr, Double.NEGATIVE_INFINITY);
+        for (int ii = 0; ii < size; ii++) {
+            int route = routeOf[ii];
+            routeFlights[fill[route]++] = ii;
+            routeFirstDep[route] = min(routeFirstDep[route], flightTable.getHDep()[ii]);
+            routeLastArr[route] = max(routeLastArr[route], flightTable.getHArr()[ii]);
+        }
+    }
+
+    /**
+     * Retrieves the number of distinct routes.
+     *
+     * @return The number of routes.
+     */
+    public int getNbRoutes() {
+        return nbRoutes;
+    }
+
+    /**
+     * Finds the pairs of flights that may collide away from a shared airport:
+     * flights crossing closer in time than the safety margin (case 6), and flights
+     * on the same route in opposite directions whose flight intervals overlap (case 3).
+     *
+     * @return The pairs, encoded with {@link IntersectionTools#pairKey(int, int)} and sorted in ascending order.
+     */
+    public long[] getCandidatePairs() {
+        nbPairs = 0;
+        double[] crossing = new double[2];
+        double[] crossingTimes = new double[routeFlights.length];
+        for (int route1 = 0; route1 < nbRoutes; route1++) {
+            int rep1 = routeFlights[routeStart[route1]];
+            for (int route2 = route1 + 1; route2 < nbRoutes; route2++) {
+                // The flights of the two routes are never in the air at the same time
+                if (routeFirstDep[route2] > routeLastArr[route1] + safetyMargin
+                        || routeFirstDep[route1] > routeLastArr[route2] + safetyMargin)
+                    continue;
+                int rep2 = routeFlights[routeStart[route2]];
+                int intersectCase = flightTable.sharedAirportCase(rep1, rep2);
+                if (intersectCase == 3) {
+                    addOppositePairs(route1, route2);
+                } else if (intersectCase == 0 && flightTable.findIntersection(rep1, rep2, crossing)
+                        && !Double.isNaN(crossing[0]) && !Double.isNaN(crossing[1])) {
+                    addCrossingPairs(route1, route2, crossing, crossingTimes);
+                }
+            }
+        }
+        long[] result = Arrays.copyOf(pairs, nbPairs);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Distance flown on a route at a point of the route.
+     *
+     * @param route The route.
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @return The distance from the departure airport to the point.
+     */
+    private double distanceFromDeparture(int route, double x, double y) {
+        int flight = routeFlights[routeStart[route]];
+        double depX = flightTable.getDepX()[flight], depY = flightTable.getDepY()[flight];
+        return sqrt((x - depX) * (x - depX) + (y - depY) * (y - depY));
+    }
+
+    /**
+     * Adds the pairs of flights of two crossing routes that pass the crossing
+     * closer in time than the safety margin.
+     *
+     * @param route1 The first route.
+     * @param route2 The second route.
+     * @param crossing The crossing point of the routes.
+     * @param crossingTimes Scratch array receiving the times of the first route at the crossing.
+     */
+    private void addCrossingPairs(int route1, int route2, double[] crossing, double[] crossingTimes) {
+        double[] hDep = flightTable.getHDep(), speed = flightTable.getSpeed();
+        double distance1 = distanceFromDeparture(route1, crossing[0], crossing[1]);
+        double distance2 = distanceFromDeparture(route2, crossing[0], crossing[1]);
+        for (int ii = routeStart[route1]; ii < routeStart[route1 + 1]; ii++) {
+            crossingTimes[ii] = hDep[routeFlights[ii]] + distance1 / speed[routeFlights[ii]];
+        }
+        for (int jj = routeStart[route2]; jj < routeStart[route2 + 1]; jj++) {
+            int flight2 = routeFlights[jj];
+            double time2 = hDep[flight2] + distance2 / speed[flight2];
+            for (int ii = routeStart[route1]; ii < routeStart[route1 + 1]; ii++) {
+                if (abs(crossingTimes[ii] - time2) < safetyMargin)
+                    addPair(routeFlights[ii], flight2);
+            }
+        }
+    }
+
+    /**
+     * Adds the pairs of flights of two opposite routes whose flight intervals,
+     * widened by the safety margin, overlap.
+     *
+     * @param route1 The first route.
+     * @param route2 The opposite route.
+     */
+    private void addOppositePairs(int route1, int route2) {
+        double[] hDep = flightTable.getHDep(), hArr = flightTable.getHArr();
+        for (int ii = routeStart[route1]; ii < routeStart[route1 + 1]; ii++) {
+            int flight1 = routeFlights[ii];
+            for (int jj = routeStart[route2]; jj < routeStart[route2 + 1]; jj++) {
+                int flight2 = routeFlights[jj];
+                if (hDep[flight2] <= hArr[flight1] + safetyMargin && hDep[flight1] <= hArr[flight2] + safetyMargin)
+                    addPair(flight1, flight2);
+            }
+        }
+    }
+
+    /**
+     * Stores a candidate pair.
+     *
+     * @param flight1 The index of the first flight.
+     * @param flight2 The index of the second flight.
+     */
+    private void addPair(int flight1, int flight2) {
+        if (nbPairs == pairs.length)
+            pairs = Arrays.copyOf(pairs, nbPairs * 2);
+        pairs[nbPairs++] = IntersectionTools.pairKey(flight1, flight2);
+    }
+}
@@ -0,0 +1,382 @@
+package intersectionTools;
+
+import java.util.Arrays;
+
+import static java.lang.Math.*;
+
+/**
+ * R-tree over segments in the projected x/y plane, bulk-loaded with the
+ * Sort-Tile-Recursive (STR) algorithm.
+ * <p>
+ * The segments are sorted by the x-coordinate of the center of their bounding box,
+ * cut into vertical slices, sorted by y inside each slice and packed into leaves of
+ * {@link #NODE_CAPACITY} entries. The same packing is repeated on the nodes of each
+ * level until a single root remains. The tree answers bounding-box, segment and radius
+ * queries, and can be used as a broad phase for the intersection graph.
+ */
+public class SegmentRTree {
+
+    /** Maximum number of children of a node. */
+    private static final int NODE_CAPACITY = 16;
+
+    /** Bounding box of each segment. */
+    private final double[] segMinX, segMinY, segMaxX, segMaxY;
+
+    /** Ends of each segment. */
+    private final double[] x1, y1, x2, y2;
+
+    /** Number of segments. */
+    private final int size;
+
+    /** Segments in the order of the leaves. */
+    private final int[] entries;
+
+    /** Bounding box of each node. */
+    private double[] nodeMinX, nodeMinY, nodeMaxX, nodeMaxY;
+
+    /** Range of the children of each node, in entries for a leaf, in the nodes otherwise. */
+    private int[] childStart, childEnd;
+
+    /** Number of nodes; the first nbLeaves nodes are the leaves, the last one is the root. */
+    private int nbNodes;
+
+    /** Number of leaves. */
+    private final int nbLeaves;
+
+    /** Number of levels of the tree. */
+    private int height;
+
+    /** Results of the current query. */
+    private int[] results = new int[16];
+
+    /** Number of results of the current query. */
+    private int nbResults;
+
+    /** Stack of the nodes to visit during a query. */
+    private int[] stack = new int[16];
+
+    /**
+     * Bulk-loads a tree over the given segments.
+     *
+     * @param newX1 The x-coordinates of the first end of each segment.
+     * @param newY1 The y-coordinates of the first end of each segment.
+     * @param newX2 The x-coordinates of the second end of each segment.
+     * @param newY2 The y-coordinates of the second end of each segment.
+     * @param newSize The number of segments.
+     */
+    public SegmentRTree(double[] newX1, double[] newY1, double[] newX2, double[] newY2, int newSize) {
+        x1 = newX1;
+        y1 = newY1;
+        x2 = newX2;
+        y2 = newY2;
+        size = newSize;
+        segMinX = new double[size];
+        segMinY = new double[size];
+        segMaxX = new double[size];
+        segMaxY = new double[size];
+        double[] centerX = new double[size], centerY = new double[size];
+        for (int ii = 0; ii < size; ii++) {
+            segMinX[ii] = min(x1[ii], x2[ii]);
+            segMinY[ii] = min(y1[ii], y2[ii]);
+            segMaxX[ii] = max(x1[ii], x2[ii]);
+            segMaxY[ii] = max(y1[ii], y2[ii]);
+            centerX[ii] = (segMinX[ii] + segMaxX[ii]) / 2;
+            centerY[ii] = (segMinY[ii] + segMaxY[ii]) / 2;
+        }
+
+        int capacity = 0;
+        for (int count = size; count > 1; count = (count + NODE_CAPACITY - 1) / NODE_CAPACITY) {
+            capacity += (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        }
+        capacity = max(capacity, 1);
+        nodeMinX = new double[capacity];
+        nodeMinY = new double[capacity];
+        nodeMaxX = new double[capacity];
+        nodeMaxY = new double[capacity];
+        childStart = new int[capacity];
+        childEnd = new int[capacity];
+
+        // Leaves: packed groups of segments
+        entries = strOrder(centerX, centerY, size);
+        for (int start = 0; start < size; start += NODE_CAPACITY) {
+            int node = newNode(start, min(start + NODE_CAPACITY, size));
+            for (int ii = start; ii < childEnd[node]; ii++) {
+                extendNode(node, segMinX[entries[ii]], segMinY[entries[ii]],
+                        segMaxX[entries[ii]], segMaxY[entries[ii]]);
+            }
+        }
+        nbLeaves = nbNodes;
+        height = size > 0 ? 1 : 0;
+
+        // Upper levels: packed groups of the nodes of the level below
+        int levelStart = 0;
+        while (nbNodes - levelStart > 1) {
+            int levelEnd = nbNodes;
+            sortLevel(levelStart, levelEnd);
+            for (int start = levelStart; start < levelEnd; start += NODE_CAPACITY) {
+                int node = newNode(start, min(start + NODE_CAPACITY, levelEnd));
+                for (int child = start; child < childEnd[node]; child++) {
+                    extendNode(node, nodeMinX[child], nodeMinY[child], nodeMaxX[child], nodeMaxY[child]);
+                }
+            }
+            levelStart = levelEnd;
+            height++;
+        }
+    }
+
+    /**
+     * Orders boxes with the Sort-Tile-Recursive packing: by center x, then by center y inside each slice.
+     *
+     * @param centerX The x-coordinate of the center of each box.
+     * @param centerY The y-coordinate of the center of each box.
+     * @param count The number of boxes.
+     * @return The indexes of the boxes in packing order.
+     */
+    private static int[] strOrder(double[] centerX, double[] centerY, int count) {
+        Integer[] order = new Integer[count];
+        for (int ii = 0; ii < count; ii++) {
+            order[ii] = ii;
+        }
+        Arrays.sort(order, (ind1, ind2) -> Double.compare(centerX[ind1], centerX[ind2]));
+        int nbGroups = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int nbSlices = (int) ceil(sqrt(nbGroups));
+        int sliceSize = nbSlices * NODE_CAPACITY;
+        for (int start = 0; start < count; start += sliceSize) {
+            Arrays.sort(order, start, min(start + sliceSize, count),
+                    (ind1, ind2) -> Double.compare(centerY[ind1], centerY[ind2]));
+        }
+        int[] result = new int[count];
+        for (int ii = 0; ii < count; ii++) {
+            result[ii] = order[ii];
+        }
+        return result;
+    }
+
+    /**
+     * Reorders the nodes of a level with the Sort-Tile-Recursive packing.
+     * The nodes of the level are not referenced by any parent yet.
+     *
+     * @param levelStart The first node of the level (included).
+     * @param levelEnd The last node of the level (excluded).
+     */
+    private void sortLevel(int levelStart, int levelEnd) {
+        int count = levelEnd - levelStart;
+        double[] centerX = new double[count], centerY = new double[count];
+        for (int ii = 0; ii < count; ii++) {
+            centerX[ii] = (nodeMinX[levelStart + ii] + nodeMaxX[levelStart + ii]) / 2;
+            centerY[ii] = (nodeMinY[levelStart + ii] + nodeMaxY[levelStart + ii]) / 2;
+        }
+        int[] order = strOrder(centerX, centerY, count);
+        double[] minX = new double[count], minY = new double[count], maxX = new double[count], maxY = new double[count];
+        int[] start = new int[count], end = new int[count];
+        for (int ii = 0; ii < count; ii++) {
+            int node = levelStart + order[ii];
+            minX[ii] = nodeMinX[node];
+            minY[ii] = nodeMinY[node];
+            maxX[ii] = nodeMaxX[node];
+            maxY[ii] = nodeMaxY[node];
+            start[ii] = childStart[node];
+            end[ii] = childEnd[node];
+        }
+        System.arraycopy(minX, 0, nodeMinX, levelStart, count);
+        System.arraycopy(minY, 0, nodeMinY, levelStart, count);
+        System.arraycopy(maxX, 0, nodeMaxX, levelStart, count);
+        System.arraycopy(maxY, 0, nodeMaxY, levelStart, count);
+        System.arraycopy(start, 0, childStart, levelStart, count);
+        System.arraycopy(end, 0, childEnd, levelStart, count);
+    }
+
+    /**
+     * Creates a node with an empty bounding box.
+     *
+     * @param start The first child of the node (included).
+     * @param end The last child of the node (excluded).
+     * @return The index of the node.
+     */
+    private int newNode(int start, int end) {
+        int node = nbNodes++;
+        nodeMinX[node] = nodeMinY[node] = Double.POSITIVE_INFINITY;
+        nodeMaxX[node] = nodeMaxY[node] = Double.NEGATIVE_INFINITY;
+        childStart[node] = start;
+        childEnd[node] = end;
+        return node;
+    }
+
+    /**
+     * Extends the bounding box of a node to contain a box.
+     *
+     * @param node The node.
+     * @param minX The lower x-coordinate of the box.
+     * @param minY The lower y-coordinate of the box.
+     * @param maxX The upper x-coordinate of the box.
+     * @param maxY The upper y-coordinate of the box.
+     */
+    private void extendNode(int node, double minX, double minY, double maxX, double maxY) {
+        nodeMinX[node] = min(nodeMinX[node], minX);
+        nodeMinY[node] = min(nodeMinY[node], minY);
+        nodeMaxX[node] = max(nodeMaxX[node], maxX);
+        nodeMaxY[node] = max(nodeMaxY[node], maxY);
+    }
+
+    /**
+     * Retrieves the number of segments in the tree.
+     *
+     * @return The number of segments.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the number of levels of the tree.
+     *
+     * @return The height of the tree, 0 if it is empty.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Finds the segments whose bounding box overlaps a box (boundaries included).
+     *
+     * @param minX The lower x-coordinate of the box.
+     * @param minY The lower y-coordinate of the box.
+     * @param maxX The upper x-coordinate of the box.
+     * @param maxY The upper y-coordinate of the box.
+     * @return The indexes of the segments, in ascending order.
+     */
+    public int[] searchBox(double minX, double minY, double maxX, double maxY) {
+        collectBox(minX, minY, maxX, maxY);
+        return sortedResults();
+    }
+
+    /**
+     * Finds the segments intersecting a segment.
+     *
+     * @param ax The x-coordinate of the first end of the segment.
+     * @param ay The y-coordinate of the first end of the segment.
+     * @param bx The x-coordinate of the second end of the segment.
+     * @param by The y-coordinate of the second end of the segment.
+     * @return The indexes of the segments, in ascending order.
+     */
+    public int[] searchSegment(double ax, double ay, double bx, double by) {
+        collectBox(min(ax, bx), min(ay, by), max(ax, bx), max(ay, by));
+        int nbKept = 0;
+        for (int ii = 0; ii < nbResults; ii++) {
+            int seg = results[ii];
+            if (FlightTable.segmentsIntersect(ax, ay, bx, by, x1[seg], y1[seg], x2[seg], y2[seg]))
+                results[nbKept++] = seg;
+        }
+        nbResults = nbKept;
+        return sortedResults();
+    }
+
+    /**
+     * Finds the segments passing within a distance of a point.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @param radius The distance.
+     * @return The indexes of the segments, in ascending order.
+     */
+    public int[] searchRadius(double x, double y, double radius) {
+        collectBox(x - radius, y - radius, x + radius, y + radius);
+        int nbKept = 0;
+        for (int ii = 0; ii < nbResults; ii++) {
+            int seg = results[ii];
+            if (squaredDistance(seg, x, y) <= radius * radius)
+                results[nbKept++] = seg;
+        }
+        nbResults = nbKept;
+        return sortedResults();
+    }
+
+    /**
+     * Finds every pair of segments whose bounding boxes overlap.
+     *
+     * @return The pairs, encoded with {@link IntersectionTools#pairKey(int, int)} and sorted in ascending order.
+     */
+    public long[] getCandidatePairs() {
+        long[] pairs = new long[16];
+        int nbPairs = 0;
+        for (int seg = 0; seg < size; seg++) {
+            collectBox(segMinX[seg], segMinY[seg], segMaxX[seg], segMaxY[seg]);
+            for (int ii = 0; ii < nbResults; ii++) {
+                if (results[ii] > seg) {
+                    if (nbPairs == pairs.length)
+                        pairs = Arrays.copyOf(pairs, nbPairs * 2);
+                    pairs[nbPairs++] = IntersectionTools.pairKey(seg, results[ii]);
+                }
+            }
+        }
+        pairs = Arrays.copyOf(pairs, nbPairs);
+        Arrays.sort(pairs);
+        return pairs;
+    }
+
+    /**
+     * Collects in results the segments whose bounding box overlaps a box.
+     *
+     * @param minX The lower x-coordinate of the box.
+     * @param minY The lower y-coordinate of the box.
+     * @param maxX The upper x-coordinate of the box.
+     * @param maxY The upper y-coordinate of the box.
+     */
+    private void collectBox(double minX, double minY, double maxX, double maxY) {
+        nbResults = 0;
+        if (nbNodes == 0)
+            return;
+        int top = 0;
+        stack[top++] = nbNodes - 1;
+        while (top > 0) {
+            int node = stack[--top];
+            if (nodeMinX[node] > maxX || nodeMaxX[node] < minX || nodeMinY[node] > maxY || nodeMaxY[node] < minY)
+                continue;
+            if (node < nbLeaves) {
+                for (int ii = childStart[node]; ii < childEnd[node]; ii++) {
+                    int seg = entries[ii];
+                    if (segMinX[seg] <= maxX && segMaxX[seg] >= minX && segMinY[seg] <= maxY && segMaxY[seg] >= minY) {
+                        if (nbResults == results.length)
+                            results = Arrays.copyOf(results, nbResults * 2);
+                        results[nbResults++] = seg;
+                    }
+                }
+            } else {
+                int nbChildren = childEnd[node] - childStart[node];
+                if (top + nbChildren > stack.length)
+                    stack = Arrays.copyOf(stack, max(stack.length * 2, top + nbChildren));
+                for (int child = childStart[node]; child < childEnd[node]; child++) {
+                    stack[top++] = child;
+                }
+            }
+        }
+    }
+
+    /**
+     * Squared distance between a point and a segment.
+     *
+     * @param seg The index of the segment.
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @return The squared distance.
+     */
+    private double squaredDistance(int seg, double x, double y) {
+        double dx = x2[seg] - x1[seg], dy = y2[seg] - y1[seg];
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared > 0 ? ((x - x1[seg]) * dx + (y - y1[seg]) * dy) / lengthSquared : 0;
+        t = max(0, min(1, t));
+        double px = x1[seg] + t * dx - x, py = y1[seg] + t * dy - y;
+        return px * px + py * py;
+    }
+
+    /**
+     * Copies the results of the current query, sorted in ascending order.
+     *
+     * @return The indexes of the segments found.
+     */
+    private int[] sortedResults() {
+        int[] found = Arrays.copyOf(results, nbResults);
+        Arrays.sort(found);
+        return found;
+    }
+}
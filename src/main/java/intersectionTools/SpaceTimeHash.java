@@ -0,0 +1,244 @@
+package intersectionTools;
+
+import java.util.Arrays;
+
+import static java.lang.Math.*;
+
+/**
+ * Spatio-temporal broad phase: each flight is voxelized along its trajectory
+ * into (x cell, y cell, time bucket) keys, and only the flights sharing a key are tested.
+ * <p>
+ * For a time bucket [start, end), a flight registers the cells covered by the part
+ * of its route flown between start - margin / 2 and end + margin / 2. Two flights
+ * passing over the same point less than a safety margin apart are both registered
+ * in the cell of that point for the bucket of the middle of their passing times,
+ * so every colliding pair (shared airports included) shares at least one key.
+ * <p>
+ * The bucket width is the safety margin, and the cell size is the distance
+ * flown during one bucket at the average speed of the flights.
+ */
+public class SpaceTimeHash {
+
+    /** Maximum number of cells along one axis. */
+    private static final int MAX_CELLS_PER_AXIS = 1024;
+
+    /** Maximum number of time buckets. */
+    private static final int MAX_BUCKETS = 4096;
+
+    /** Number of low bits of an entry holding the flight index. */
+    private static final int FLIGHT_BITS = 30;
+
+    /** The table of the flights. */
+    private final FlightTable flightTable;
+
+    /** The safety margin. */
+    private final double safetyMargin;
+
+    /** Coordinates of the origin (lower left corner) of the grid. */
+    private double originX, originY;
+
+    /** Time of the start of the first bucket. */
+    private double originTime;
+
+    /** Side length of a cell. */
+    private double cellSize;
+
+    /** Width of a time bucket. */
+    private double bucketWidth;
+
+    /** Number of cells along each axis and number of buckets. */
+    private int nbCellsX, nbCellsY, nbBuckets;
+
+    /** Entries (key, flight) registered so far, the key in the high bits. */
+    private long[] entries = new long[16];
+
+    /** Number of entries. */
+    private int nbEntries;
+
+    /**
+     * Voxelizes the flights of a table.
+     *
+     * @param newFlightTable The table of the flights.
+     * @param newSafetyMargin The safety margin.
+     */
+    public SpaceTimeHash(FlightTable newFlightTable, double newSafetyMargin) {
+        flightTable = newFlightTable;
+        safetyMargin = newSafetyMargin;
+        int size = flightTable.size();
+        if (size == 0)
+            return;
+        double[] depX = flightTable.getDepX(), depY = flightTable.getDepY();
+        double[] arrX = flightTable.getArrX(), arrY = flightTable.getArrY();
+        double[] hDep = flightTable.getHDep(), hArr = flightTable.getHArr(), speed = flightTable.getSpeed();
+
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        double minTime = Double.POSITIVE_INFINITY, maxTime = Double.NEGATIVE_INFINITY;
+        double totalSpeed = 0;
+        int nbSpeeds = 0;
+        for (int ii = 0; ii < size; ii++) {
+            minX = min(minX, min(depX[ii], arrX[ii]));
+            minY = min(minY, min(depY[ii], arrY[ii]));
+            maxX = max(maxX, max(depX[ii], arrX[ii]));
+            maxY = max(maxY, max(depY[ii], arrY[ii]));
+            minTime = min(minTime, hDep[ii]);
+            maxTime = max(maxTime, hArr[ii]);
+            if (speed[ii] > 0 && !Double.isInfinite(speed[ii])) {
+                totalSpeed += speed[ii];
+                nbSpeeds++;
+            }
+        }
+        originX = minX;
+        originY = minY;
+        originTime = minTime - safetyMargin;
+
+        // Never let the hash grow beyond MAX_BUCKETS buckets and MAX_CELLS_PER_AXIS cells per axis
+        double timeSpan = maxTime - minTime + 2 * safetyMargin;
+        bucketWidth = max(max(safetyMargin, timeSpan / MAX_BUCKETS), 1);
+        double extent = max(maxX - minX, maxY - minY);
+        double averageSpeed = nbSpeeds > 0 ? totalSpeed / nbSpeeds : 0;
+        cellSize = max(max(averageSpeed * bucketWidth, extent / MAX_CELLS_PER_AXIS), 1);
+        nbCellsX = (int) floor((maxX - originX) / cellSize) + 1;
+        nbCellsY = (int) floor((maxY - originY) / cellSize) + 1;
+        nbBuckets = (int) floor((maxTime + safetyMargin - originTime) / bucketWidth) + 1;
+
+        for (int ii = 0; ii < size; ii++) {
+            voxelize(ii);
+        }
+    }
+
+    /**
+     * Retrieves the side length of a cell.
+     *
+     * @return The cell size.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Retrieves the width of a time bucket.
+     *
+     * @return The bucket width, in minutes.
+     */
+    public double getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Retrieves the number of (key, flight) entries registered.
+     *
+     * @return The number of entries.
+     */
+    public int getNbEntries() {
+        return nbEntries;
+    }
+
+    /**
+     * Registers the keys of a flight, one bucket at a time.
+     *
+     * @param flight The index of the flight.
+     */
+    private void voxelize(int flight) {
+        double hDep = flightTable.getHDep()[flight], hArr = flightTable.getHArr()[flight];
+        double depX = flightTable.getDepX()[flight], depY = flightTable.getDepY()[flight];
+        double arrX = flightTable.getArrX()[flight], arrY = flightTable.getArrY()[flight];
+        double halfMargin = safetyMargin / 2;
+        int firstBucket = clamp((int) floor((hDep - halfMargin - originTime) / bucketWidth), nbBuckets);
+        int lastBucket = clamp((int) floor((hArr + halfMargin - originTime) / bucketWidth), nbBuckets);
+        for (int bucket = firstBucket; bucket <= lastBucket; bucket++) {
+            // Part of the route flown during the bucket, widened by half the margin
+            double start = max(originTime + bucket * bucketWidth - halfMargin, hDep);
+            double end = min(originTime + (bucket + 1) * bucketWidth + halfMargin, hArr);
+            if (start > end)
+                continue;
+            double fromX = depX, fromY = depY, toX = arrX, toY = arrY;
+            if (hArr > hDep) {
+                double ratioStart = (start - hDep) / (hArr - hDep), ratioEnd = (end - hDep) / (hArr - hDep);
+                fromX = depX + (arrX - depX) * ratioStart;
+                fromY = depY + (arrY - depY) * ratioStart;
+                toX = depX + (arrX - depX) * ratioEnd;
+                toY = depY + (arrY - depY) * ratioEnd;
+                if (start == hDep) {
+                    fromX = depX;
+                    fromY = depY;
+                }
+                if (end == hArr) {
+                    toX = arrX;
+                    toY = arrY;
+                }
+            }
+            // A small tolerance covers the rounding of the interpolated ends
+            double tolerance = cellSize * 1e-9;
+            int minCellX = clamp(cellIndex(min(fromX, toX) - tolerance, originX), nbCellsX);
+            int maxCellX = clamp(cellIndex(max(fromX, toX) + tolerance, originX), nbCellsX);
+            int minCellY = clamp(cellIndex(min(fromY, toY) - tolerance, originY), nbCellsY);
+            int maxCellY = clamp(cellIndex(max(fromY, toY) + tolerance, originY), nbCellsY);
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                    long key = ((long) cellX * nbCellsY + cellY) * nbBuckets + bucket;
+                    if (nbEntries == entries.length)
+                        entries = Arrays.copyOf(entries, nbEntries * 2);
+                    entries[nbEntries++] = (key << FLIGHT_BITS) | flight;
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the index of the cell containing a coordinate.
+     *
+     * @param coord The coordinate.
+     * @param origin The coordinate of the origin of the grid along the same axis.
+     * @return The index of the cell.
+     */
+    private int cellIndex(double coord, double origin) {
+        return (int) floor((coord - origin) / cellSize);
+    }
+
+    /**
+     * Clamps an index into [0, count - 1].
+     *
+     * @param index The index.
+     * @param count The number of valid indexes.
+     * @return The clamped index.
+     */
+    private static int clamp(int index, int count) {
+        return max(0, min(count - 1, index));
+    }
+
+    /**
+     * Finds every pair of flights sharing at least one (x cell, y cell, time bucket) key.
+     *
+     * @return The pairs, encoded with {@link IntersectionTools#pairKey(int, int)} and sorted in ascending order.
+     */
+    public long[] getCandidatePairs() {
+        long[] sorted = Arrays.copyOf(entries, nbEntries);
+        Arrays.sort(sorted);
+        long flightMask = (1L << FLIGHT_BITS) - 1;
+        long[] pairs = new long[16];
+        int nbPairs = 0;
+        int groupStart = 0;
+        for (int ii = 1; ii <= nbEntries; ii++) {
+            if (ii < nbEntries && sorted[ii] >>> FLIGHT_BITS == sorted[groupStart] >>> FLIGHT_BITS)
+                continue;
+            for (int jj = groupStart; jj < ii; jj++) {
+                for (int kk = jj + 1; kk < ii; kk++) {
+                    if (nbPairs == pairs.length)
+                        pairs = Arrays.copyOf(pairs, nbPairs * 2);
+                    pairs[nbPairs++] = IntersectionTools.pairKey((int) (sorted[jj] & flightMask),
+                            (int) (sorted[kk] & flightMask));
+                }
+            }
+            groupStart = ii;
+        }
+        pairs = Arrays.copyOf(pairs, nbPairs);
+        Arrays.sort(pairs);
+        int nbDistinct = 0;
+        for (int ii = 0; ii < nbPairs; ii++) {
+            if (ii == 0 || pairs[ii] != pairs[ii - 1])
+                pairs[nbDistinct++] = pairs[ii];
+        }
+        return Arrays.copyOf(pairs, nbDistinct);
+    }
+}
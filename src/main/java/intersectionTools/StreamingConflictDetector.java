@@ -0,0 +1,188 @@
+package intersectionTools;
+
+import airports.AirportsList;
+import flights.Flight;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Scanner;
+
+/**
+ * Detects conflicts directly while reading a flight file, without building
+ * the flight list nor the flight graph.
+ * <p>
+ * The flights must be read in departure order. Only the flights still in the air
+ * (plus the safety margin) are kept in an active window, so the memory used is
+ * bounded by the peak number of simultaneous flights rather than by the length
+ * of the schedule. Conflicts are sent to a {@link ConflictSink} as soon as they are found.
+ */
+public class StreamingConflictDetector {
+
+    /** The list of airports used to read the flights. */
+    private final AirportsList airportsList;
+
+    /** The safety margin. */
+    private final double safetyMargin;
+
+    /** The receiver of the flights and conflicts. */
+    private final ConflictSink sink;
+
+    /** Geometry and schedule of the active flights, one slot per flight. */
+    private final FlightTable activeTable = new FlightTable(16);
+
+    /** Flight identifier of each slot. */
+    private String[] slotIds = new String[16];
+
+    /** Slots of the active flights. */
+    private int[] activeSlots = new int[16];
+
+    /** Number of active flights. */
+    private int nbActive;
+
+    /** Slots released by flights that left the active window. */
+    private int[] freeSlots = new int[16];
+
+    /** Number of released slots. */
+    private int nbFreeSlots;
+
+    /** Identifier of each airport, by airport code. */
+    private final HashMap<String, Integer> airportIds = new HashMap<>();
+
+    /** Departure time of the last flight read. */
+    private double lastDeparture = Double.NEGATIVE_INFINITY;
+
+    /** Largest number of flights held in the active window. */
+    private int peakActive;
+
+    /** Number of conflicts found. */
+    private int nbConflicts;
+
+    /**
+     * Constructs a detector.
+     *
+     * @param newAirportsList The list of airports used to read the flights.
+     * @param newSafetyMargin The safety margin.
+     * @param newSink The receiver of the flights and conflicts.
+     */
+    public StreamingConflictDetector(AirportsList newAirportsList, double newSafetyMargin, ConflictSink newSink) {
+        airportsList = newAirportsList;
+        safetyMargin = newSafetyMargin;
+        sink = newSink;
+    }
+
+    /**
+     * Retrieves the largest number of flights held in the active window.
+     *
+     * @return The peak number of active flights.
+     */
+    public int getPeakActive() {
+        return peakActive;
+    }
+
+    /**
+     * Retrieves the number of conflicts found so far.
+     *
+     * @return The number of conflicts.
+     */
+    public int getNbConflicts() {
+        return nbConflicts;
+    }
+
+    /**
+     * Reads a flight file, sorted by departure time, and reports its conflicts.
+     *
+     * @param file The file containing flight data.
+     * @throws Exception If the file cannot be read or is not sorted by departure time.
+     */
+    public void detect(File file) throws Exception {
+        Scanner scanner = new Scanner(file);
+        Flight tmpFlight;
+        try {
+            while (scanner.hasNextLine()) {
+                tmpFlight = new Flight();
+                tmpFlight.extractFlightLine(scanner.nextLine(), airportsList);
+                accept(tmpFlight);
+            }
+        } finally {
+            scanner.close();
+        }
+    }
+
+    /**
+     * Adds the next flight of the schedule and reports its conflicts with the active flights.
+     *
+     * @param flight The flight, departing no earlier than the previous one.
+     * @throws Exception If the flight departs before the previous one.
+     */
+    public void accept(Flight flight) throws Exception {
+        double hDeparture = flight.gethDeparture();
+        if (hDeparture < lastDeparture) {
+            throw new Exception("Flights must be sorted by departure time: " + flight.getFlightID());
+        }
+        lastDeparture = hDeparture;
+
+        // Release the flights landed (plus the safety margin) before this departure
+        double[] hArr = activeTable.getHArr();
+        for (int ii = nbActive - 1; ii >= 0; ii--) {
+            if (hArr[activeSlots[ii]] + safetyMargin < hDeparture) {
+                releaseSlot(activeSlots[ii]);
+                activeSlots[ii] = activeSlots[--nbActive];
+            }
+        }
+
+        int slot = allocateSlot(flight);
+        sink.onFlight(flight);
+        double[] crossing = new double[2];
+        for (int ii = 0; ii < nbActive; ii++) {
+            int other = activeSlots[ii];
+            if (activeTable.hasCollision(other, slot, safetyMargin, crossing)) {
+                nbConflicts++;
+                sink.onConflict(slotIds[other], slotIds[slot], crossing[0], crossing[1]);
+            }
+        }
+
+        if (nbActive == activeSlots.length)
+            activeSlots = Arrays.copyOf(activeSlots, nbActive * 2);
+        activeSlots[nbActive++] = slot;
+        peakActive = Math.max(peakActive, nbActive);
+    }
+
+    /**
+     * Stores a flight in a free slot of the active table.
+     *
+     * @param flight The flight to store.
+     * @return The slot of the flight.
+     */
+    private int allocateSlot(Flight flight) {
+        int depAirport = airportIds.computeIfAbsent(flight.getDepAirportCode(), code -> airportIds.size());
+        int arrAirport = airportIds.computeIfAbsent(flight.getArrAirportCode(), code -> airportIds.size());
+        double depX = flight.getDepAirport().getXCoord(), depY = flight.getDepAirport().getYCoord();
+        double arrX = flight.getArrAirport().getXCoord(), arrY = flight.getArrAirport().getYCoord();
+        int slot;
+        if (nbFreeSlots > 0) {
+            slot = freeSlots[--nbFreeSlots];
+            activeTable.set(slot, depAirport, depX, depY, arrAirport, arrX, arrY,
+                    flight.gethDeparture(), flight.getDuration());
+        } else {
+            slot = activeTable.add(depAirport, depX, depY, arrAirport, arrX, arrY,
+                    flight.gethDeparture(), flight.getDuration());
+            if (slot == slotIds.length)
+                slotIds = Arrays.copyOf(slotIds, slot * 2);
+        }
+        slotIds[slot] = flight.getFlightID();
+        return slot;
+    }
+
+    /**
+     * Releases the slot of a flight that left the active window.
+     *
+     * @param slot The slot to release.
+     */
+    private void releaseSlot(int slot) {
+        slotIds[slot] = null;
+        if (nbFreeSlots == freeSlots.length)
+            freeSlots = Arrays.copyOf(freeSlots, nbFreeSlots * 2);
+        freeSlots[nbFreeSlots++] = slot;
+    }
+}
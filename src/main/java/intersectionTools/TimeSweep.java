@@ -0,0 +1,108 @@
+package intersectionTools;
+
+import java.util.Arrays;
+
+/**
+ * Sweep line over time used as a temporal broad phase.
+ * <p>
+ * Two flights whose flight intervals [hDeparture, hDeparture + duration],
+ * widened by the safety margin, do not overlap can never collide, whatever
+ * the intersection case. The flights are swept by departure time while an
+ * active set, ordered by arrival time, keeps the flights still in the air.
+ */
+public class TimeSweep {
+
+    /** Departure time of each flight. */
+    private final double[] hDep;
+
+    /** Arrival time of each flight. */
+    private final double[] hArr;
+
+    /** The safety margin added to the arrival time of each flight. */
+    private final double safetyMargin;
+
+    /** Active flights, stored as a binary heap ordered by arrival time. */
+    private int[] activeHeap;
+
+    /** Number of flights in the active set. */
+    private int nbActive;
+
+    /**
+     * Constructs a sweep over the given flights.
+     *
+     * @param newHDep The departure time of each flight.
+     * @param newHArr The arrival time of each flight.
+     * @param newSafetyMargin The safety margin.
+     */
+    public TimeSweep(double[] newHDep, double[] newHArr, double newSafetyMargin) {
+        hDep = newHDep;
+        hArr = newHArr;
+        safetyMargin = newSafetyMargin;
+    }
+
+    /**
+     * Finds every pair of flights whose widened flight intervals overlap.
+     *
+     * @return The pairs, encoded with {@link IntersectionTools#pairKey(int, int)} and sorted in ascending order.
+     */
+    public long[] getCandidatePairs() {
+        int size = hDep.length;
+        int[] order = IntersectionTools.sortedIndexes(hDep, size);
+        long[] pairs = new long[16];
+        int nbPairs = 0;
+        activeHeap = new int[16];
+        nbActive = 0;
+
+        for (int ii = 0; ii < size; ii++) {
+            int flight = order[ii];
+            // Remove the flights landed (plus the safety margin) before this departure
+            while (nbActive > 0 && hArr[activeHeap[0]] + safetyMargin < hDep[flight]) {
+                pollActive();
+            }
+            for (int jj = 0; jj < nbActive; jj++) {
+                if (nbPairs == pairs.length)
+                    pairs = Arrays.copyOf(pairs, nbPairs * 2);
+                pairs[nbPairs++] = IntersectionTools.pairKey(activeHeap[jj], flight);
+            }
+            addActive(flight);
+        }
+        pairs = Arrays.copyOf(pairs, nbPairs);
+        Arrays.sort(pairs);
+        return pairs;
+    }
+
+    /**
+     * Adds a flight to the active set.
+     *
+     * @param flight The index of the flight.
+     */
+    private void addActive(int flight) {
+        if (nbActive == activeHeap.length)
+            activeHeap = Arrays.copyOf(activeHeap, nbActive * 2);
+        int pos = nbActive++;
+        while (pos > 0 && hArr[activeHeap[(pos - 1) / 2]] > hArr[flight]) {
+            activeHeap[pos] = activeHeap[(pos - 1) / 2];
+            pos = (pos - 1) / 2;
+        }
+        activeHeap[pos] = flight;
+    }
+
+    /**
+     * Removes the flight with the earliest arrival from the active set.
+     */
+    private void pollActive() {
+        int last = activeHeap[--nbActive];
+        int pos = 0;
+        int child = 1;
+        while (child < nbActive) {
+            if (child + 1 < nbActive && hArr[activeHeap[child + 1]] < hArr[activeHeap[child]])
+                child++;
+            if (hArr[activeHeap[child]] >= hArr[last])
+                break;
+            activeHeap[pos] = activeHeap[child];
+            pos = child;
+            child = 2 * pos + 1;
+        }
+        activeHeap[pos] = last;
+    }
+}
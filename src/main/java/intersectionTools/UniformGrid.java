@@ -0,0 +1,195 @@
+package intersectionTools;
+
+import java.util.Arrays;
+
+import static java.lang.Math.*;
+
+/**
+ * Uniform grid over the projected x/y plane used as a spatial broad phase.
+ * <p>
+ * The bounding box of each flight segment is rasterized into the cells of the grid.
+ * Two flights can only intersect (or share an airport) if their bounding boxes
+ * overlap, and two overlapping bounding boxes always share at least one cell.
+ */
+public class UniformGrid {
+
+    /** Maximum number of cells along one axis of the grid. */
+    private static final int MAX_CELLS_PER_AXIS = 1024;
+
+    /** Coordinates of the origin (lower left corner) of the grid. */
+    private final double originX, originY;
+
+    /** Side length of a cell. */
+    private final double cellSize;
+
+    /** Number of cells along each axis. */
+    private final int nbCellsX, nbCellsY;
+
+    /** Cell range covered by the bounding box of each segment. */
+    private final int[] minCellX, minCellY, maxCellX, maxCellY;
+
+    /** Start offset of each cell in cellContent (compressed row storage). */
+    private final int[] cellStart;
+
+    /** Indexes of the segments stored in each cell. */
+    private final int[] cellContent;
+
+    /**
+     * Constructs a grid over the given segments, with a cell size derived
+     * from the average extent of their bounding boxes.
+     *
+     * @param x1 The x-coordinates of the first end of each segment.
+     * @param y1 The y-coordinates of the first end of each segment.
+     * @param x2 The x-coordinates of the second end of each segment.
+     * @param y2 The y-coordinates of the second end of each segment.
+     */
+    public UniformGrid(double[] x1, double[] y1, double[] x2, double[] y2) {
+        this(x1, y1, x2, y2, averageExtent(x1, y1, x2, y2));
+    }
+
+    /**
+     * Constructs a grid over the given segments.
+     *
+     * @param x1 The x-coordinates of the first end of each segment.
+     * @param y1 The y-coordinates of the first end of each segment.
+     * @param x2 The x-coordinates of the second end of each segment.
+     * @param y2 The y-coordinates of the second end of each segment.
+     * @param newCellSize The requested side length of a cell.
+     */
+    public UniformGrid(double[] x1, double[] y1, double[] x2, double[] y2, double newCellSize) {
+        int size = x1.length;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int ii = 0; ii < size; ii++) {
+            minX = min(minX, min(x1[ii], x2[ii]));
+            minY = min(minY, min(y1[ii], y2[ii]));
+            maxX = max(maxX, max(x1[ii], x2[ii]));
+            maxY = max(maxY, max(y1[ii], y2[ii]));
+        }
+        if (size == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        originX = minX;
+        originY = minY;
+
+        // Never let the grid grow beyond MAX_CELLS_PER_AXIS cells per axis
+        double extent = max(maxX - minX, maxY - minY);
+        double smallestCell = extent / MAX_CELLS_PER_AXIS;
+        cellSize = (newCellSize > smallestCell && newCellSize > 0) ? newCellSize : max(smallestCell, 1);
+        nbCellsX = cellIndex(maxX, originX) + 1;
+        nbCellsY = cellIndex(maxY, originY) + 1;
+
+        minCellX = new int[size];
+        minCellY = new int[size];
+        maxCellX = new int[size];
+        maxCellY = new int[size];
+        cellStart = new int[nbCellsX * nbCellsY + 1];
+
+        // First pass: count the segments in each cell
+        for (int ii = 0; ii < size; ii++) {
+            minCellX[ii] = cellIndex(min(x1[ii], x2[ii]), originX);
+            minCellY[ii] = cellIndex(min(y1[ii], y2[ii]), originY);
+            maxCellX[ii] = cellIndex(max(x1[ii], x2[ii]), originX);
+            maxCellY[ii] = cellIndex(max(y1[ii], y2[ii]), originY);
+            for (int cx = minCellX[ii]; cx <= maxCellX[ii]; cx++) {
+                for (int cy = minCellY[ii]; cy <= maxCellY[ii]; cy++) {
+                    cellStart[cx * nbCellsY + cy + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < nbCellsX * nbCellsY; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+
+        // Second pass: fill the cells
+        cellContent = new int[cellStart[nbCellsX * nbCellsY]];
+        int[] fill = Arrays.copyOf(cellStart, nbCellsX * nbCellsY);
+        for (int ii = 0; ii < size; ii++) {
+            for (int cx = minCellX[ii]; cx <= maxCellX[ii]; cx++) {
+                for (int cy = minCellY[ii]; cy <= maxCellY[ii]; cy++) {
+                    cellContent[fill[cx * nbCellsY + cy]++] = ii;
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the average extent of the bounding boxes of the segments.
+     *
+     * @param x1 The x-coordinates of the first end of each segment.
+     * @param y1 The y-coordinates of the first end of each segment.
+     * @param x2 The x-coordinates of the second end of each segment.
+     * @param y2 The y-coordinates of the second end of each segment.
+     * @return The average of the largest side of each bounding box.
+     */
+    private static double averageExtent(double[] x1, double[] y1, double[] x2, double[] y2) {
+        double sum = 0;
+        for (int ii = 0; ii < x1.length; ii++) {
+            sum += max(abs(x2[ii] - x1[ii]), abs(y2[ii] - y1[ii]));
+        }
+        return x1.length > 0 ? sum / x1.length : 0;
+    }
+
+    /**
+     * Converts a coordinate into a cell index along one axis.
+     *
+     * @param coord The coordinate.
+     * @param origin The origin of the grid along the same axis.
+     * @return The index of the cell containing the coordinate.
+     */
+    private int cellIndex(double coord, double origin) {
+        return (int) floor((coord - origin) / cellSize);
+    }
+
+    /**
+     * Retrieves the side length of a cell.
+     *
+     * @return The side length of a cell.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Retrieves the number of cells of the grid.
+     *
+     * @return The number of cells.
+     */
+    public int getNbCells() {
+        return nbCellsX * nbCellsY;
+    }
+
+    /**
+     * Finds every pair of segments sharing at least one cell.
+     * <p>
+     * A pair is only reported by the first cell of the overlap of the two cell ranges,
+     * so each pair appears once even if the segments share many cells.
+     *
+     * @return The pairs, encoded with {@link IntersectionTools#pairKey(int, int)} and sorted in ascending order.
+     */
+    public long[] getCandidatePairs() {
+        long[] pairs = new long[16];
+        int nbPairs = 0;
+        int seg1, seg2;
+        for (int cx = 0; cx < nbCellsX; cx++) {
+            for (int cy = 0; cy < nbCellsY; cy++) {
+                int cell = cx * nbCellsY + cy;
+                for (int ii = cellStart[cell]; ii < cellStart[cell + 1]; ii++) {
+                    for (int jj = ii + 1; jj < cellStart[cell + 1]; jj++) {
+                        seg1 = cellContent[ii];
+                        seg2 = cellContent[jj];
+                        if (max(minCellX[seg1], minCellX[seg2]) == cx
+                                && max(minCellY[seg1], minCellY[seg2]) == cy) {
+                            if (nbPairs == pairs.length)
+                                pairs = Arrays.copyOf(pairs, nbPairs * 2);
+                            pairs[nbPairs++] = IntersectionTools.pairKey(seg1, seg2);
+                        }
+                    }
+                }
+            }
+        }
+        pairs = Arrays.copyOf(pairs, nbPairs);
+        Arrays.sort(pairs);
+        return pairs;
+    }
+}
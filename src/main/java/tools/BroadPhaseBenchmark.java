@@ -0,0 +1,73 @@
+package tools;
+
+import graphTools.GraphPlus;
+import intersectionTools.BroadPhase;
+import intersectionTools.FlightTable;
+import intersectionTools.SegmentRTree;
+import intersectionTools.SpaceTimeHash;
+import intersectionTools.UniformGrid;
+
+import java.io.File;
+
+/**
+ * This class compares the broad phase strategies used to construct the intersection graph.
+ */
+public class BroadPhaseBenchmark {
+
+    /** Number of timed runs of each measure. */
+    private static final int NB_RUNS = 10;
+
+    /**
+     * Main method to run the benchmark on the test flight files.
+     *
+     * @param args Command line arguments (not used).
+     */
+    public static void main(String[] args) {
+        for (int ii = 1; ii <= 9; ii++) {
+            File flightsFile = new File("Data Test/vol-test" + ii + ".csv");
+            if (!flightsFile.exists())
+                continue;
+            GraphPlus graph = new GraphPlus("flightsGraph");
+            graph.loadFlightsAirportsFile(flightsFile, new File("Data Test/aeroports.txt"));
+            System.out.println(flightsFile.getName() + " : " + graph.getEdgeCount() + " flights");
+
+            // Candidate generation of the indexes alone
+            FlightTable flightTable = new FlightTable(graph, graph.getEdgeCount());
+            int nbGridPairs = 0, nbTreePairs = 0;
+            long start = System.nanoTime();
+            for (int run = 0; run < NB_RUNS; run++) {
+                nbGridPairs = new UniformGrid(flightTable.getDepX(), flightTable.getDepY(),
+                        flightTable.getArrX(), flightTable.getArrY()).getCandidatePairs().length;
+            }
+            double gridTime = (System.nanoTime() - start) / 1e6 / NB_RUNS;
+            start = System.nanoTime();
+            for (int run = 0; run < NB_RUNS; run++) {
+                nbTreePairs = new SegmentRTree(flightTable.getDepX(), flightTable.getDepY(),
+                        flightTable.getArrX(), flightTable.getArrY(), flightTable.size()).getCandidatePairs().length;
+            }
+            double treeTime = (System.nanoTime() - start) / 1e6 / NB_RUNS;
+            int nbHashPairs = 0;
+            start = System.nanoTime();
+            for (int run = 0; run < NB_RUNS; run++) {
+                nbHashPairs = new SpaceTimeHash(flightTable, 15).getCandidatePairs().length;
+            }
+            double hashTime = (System.nanoTime() - start) / 1e6 / NB_RUNS;
+            int nbAllPairs = flightTable.size() * (flightTable.size() - 1) / 2;
+            System.out.printf("  candidates     EXHAUSTIVE : %8d pairs%n", nbAllPairs);
+            System.out.printf("  candidates           GRID : %8d pairs %8.3f ms%n", nbGridPairs, gridTime);
+            System.out.printf("  candidates          RTREE : %8d pairs %8.3f ms%n", nbTreePairs, treeTime);
+            System.out.printf("  candidates     SPACE_TIME : %8d pairs %8.3f ms%n", nbHashPairs, hashTime);
+
+            // Full construction of the intersection graph
+            for (BroadPhase mode : BroadPhase.values()) {
+                int nbEdges = graph.constructIntersectGraph(15, mode).getEdgeCount();
+                start = System.nanoTime();
+                for (int run = 0; run < NB_RUNS; run++) {
+                    graph.constructIntersectGraph(15, mode);
+                }
+                double time = (System.nanoTime() - start) / 1e6 / NB_RUNS;
+                System.out.printf("  graph %16s : %8d edges %8.3f ms%n", mode, nbEdges, time);
+            }
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package tools;
 
-import colorationAlgorithms.DSatur;
-import colorationAlgorithms.WelshPowell;
+import colorationAlgorithms.ColoringPortfolio;
+import colorationAlgorithms.SimulatedAnnealing;
+import colorationAlgorithms.TabuCol;
 import com.lowagie.text.pdf.codec.GifImage;
 import graphTools.GraphPlus;
 
@@ -28,54 +29,45 @@ public class Test {
             try {
                 graph.loadTestGraph(new File("Data Eval/graph-eval" + ii + ".txt"));
             } catch (Exception ignored) {}
-            DSatur dSatur = new DSatur(graph, true);
-            dSatur.dSaturAlgo();
-            int bestConflicts = dSatur.getNbConflicts();
-            DSatur bestDSatur = dSatur;
-            if (bestConflicts > 0) {
-                for (int jj = 0; jj < 100; jj++) {
-                    System.out.println(jj);
-                    dSatur = new DSatur(graph, true);
-                    dSatur.dSaturAlgo();
+            ColoringPortfolio portfolio = new ColoringPortfolio(graph);
+            portfolio.portfolioAlgo();
+            System.out.println("graph-eval" + ii + ": " + portfolio.getNbConflicts() + " conflicts with "
+                    + portfolio.getBestAlgorithm() + " seed " + portfolio.getBestSeed());
+            int[] nodeColors = portfolio.getNodeColors();
+            int nbConflicts = portfolio.getNbConflicts();
 
-
-                    if (bestConflicts > dSatur.getNbConflicts()) {
-                        System.out.println("Better conflicts found with random");
-                        bestConflicts = dSatur.getNbConflicts();
-                        bestDSatur = dSatur;
-                    }
-
-                    if (bestConflicts == 0) {
-                        bestDSatur = dSatur;
-                        break;
-                    }
+            if (nbConflicts > 0) {
+                TabuCol tabuCol = new TabuCol(graph, portfolio.getAdjacency(), nodeColors);
+                tabuCol.setTimeLimit(10000);
+                tabuCol.tabuColAlgo();
+                if (tabuCol.getNbConflicts() < nbConflicts) {
+                    System.out.println("Better conflicts found with TabuCol");
+                    nodeColors = tabuCol.getNodeColors();
+                    nbConflicts = tabuCol.getNbConflicts();
                 }
             }
 
+            if (nbConflicts > portfolio.getConflictLowerBound()) {
+                SimulatedAnnealing annealing = new SimulatedAnnealing(graph, portfolio.getAdjacency(), nodeColors);
+                annealing.setTimeLimit(10000);
+                annealing.setConflictLowerBound(portfolio.getConflictLowerBound());
+                annealing.annealingAlgo();
+                if (annealing.getNbConflicts() < nbConflicts) {
+                    System.out.println("Better conflicts found with simulated annealing");
+                    nodeColors = annealing.getNodeColors();
+                    nbConflicts = annealing.getNbConflicts();
+                }
+            }
 
             File exportFile = new File("colo-eval" + ii + "txt");
             FileWriter fileWriter = new FileWriter(exportFile);
-            WelshPowell wp = new WelshPowell(graph);
-            wp.welshPowellAlgo();
-            if (wp.getNbConflicts() < dSatur.getNbConflicts()) {
-                for (int jj=0; jj < wp.getGraph().getNodeCount(); jj++) {
-                    fileWriter.write((jj+1) + "; " + wp.getNodeColors()[jj] + "\n");
-                }
-                fileWriter.flush();
-
-                csvFileWriter.write("graph-eval" + ii + ".txt ; " + wp.getNbConflicts() + "\n");
-                csvFileWriter.flush();
-            } else {
-                for (int jj=0; jj < bestDSatur.getGraph().getNodeCount(); jj++) {
-                    fileWriter.write((jj+1) + "; " + dSatur.getNodeColors()[jj] + "\n");
-                }
-                fileWriter.flush();
-
-                csvFileWriter.write("graph-eval" + ii + ".txt ; " + bestDSatur.getNbConflicts() + "\n");
-                csvFileWriter.flush();
+            for (int jj=0; jj < graph.getNodeCount(); jj++) {
+                fileWriter.write((jj+1) + "; " + nodeColors[jj] + "\n");
             }
+            fileWriter.flush();
 
-
+            csvFileWriter.write("graph-eval" + ii + ".txt ; " + nbConflicts + "\n");
+            csvFileWriter.flush();
         }
     }
 }
@@ -2,11 +2,15 @@ package ui.controllers;
 
 import airports.Airport;
 import airports.AirportsList;
-import colorationAlgorithms.DSatur;
+import colorationAlgorithms.CliqueBound;
+import colorationAlgorithms.ColoringAlgorithm;
+import colorationAlgorithms.ComponentColoring;
+import colorationAlgorithms.WarmStartColoring;
 import flights.Flight;
 import flights.FlightsList;
 import graphTools.GraphPlus;
 import graphTools.IntersectionGraph;
+import intersectionTools.MarginConflictList;
 import org.netbeans.lib.awtextra.AbsoluteConstraints;
 import ui.jXMapViewer.MapPanelController;
 import ui.jXMapViewer.MapPanelView;
@@ -30,6 +34,11 @@ import static ui.frameTools.Fonts.textColor;
  */
 public class ColoredFlightFileController {
 
+    /**
+     * Largest safety margin answered without recomputing the geometry of the flights.
+     */
+    static final double MAX_SWEPT_MARGIN = 120;
+
     /**
      * List of airports available.
      */
@@ -41,9 +50,19 @@ public class ColoredFlightFileController {
     final FlightsList flightsList;
 
     /**
-     * Instance of DSaturKMax algorithm for coloring flights.
+     * Coloring algorithm chosen for the flights.
+     */
+    ColoringAlgorithm coloring;
+
+    /**
+     * Graph of airports and flights.
      */
-    DSatur dSatur;
+    GraphPlus graph;
+
+    /**
+     * Conflicting pairs of flights for every safety margin up to a maximum.
+     */
+    MarginConflictList marginConflicts;
 
     /**
      * Intersection graph of airports and flights.
@@ -144,6 +163,48 @@ public class ColoredFlightFileController {
     public ColoredFlightFileController(AirportsList newAirportsList, FlightsList newFlightsList, int newKMax,
                                        double newSafetyMargin, String newChosenAlgo,
                                        ColoredFlightFileView newView) {
+        this(newAirportsList, newFlightsList, newKMax, newSafetyMargin, newChosenAlgo, null, null, newView);
+    }
+
+    /**
+     * Constructor reusing the flight graph and the conflicting pairs computed by a previous controller,
+     * so that a new safety margin does not recompute the geometry of the flights.
+     *
+     * @param newAirportsList    List of airports
+     * @param newFlightsList     List of flights
+     * @param newKMax            Maximum number of colors (layers)
+     * @param newSafetyMargin    Safety margin for constructing intersection graph
+     * @param newChosenAlgo      Chosen algorithm for coloring flights
+     * @param newGraph           Graph of airports and flights, or null to load it
+     * @param newMarginConflicts Conflicting pairs of the graph, or null to compute them
+     * @param newView            Associated view
+     */
+    public ColoredFlightFileController(AirportsList newAirportsList, FlightsList newFlightsList, int newKMax,
+                                       double newSafetyMargin, String newChosenAlgo, GraphPlus newGraph,
+                                       MarginConflictList newMarginConflicts, ColoredFlightFileView newView) {
+        this(newAirportsList, newFlightsList, newKMax, newSafetyMargin, newChosenAlgo, newGraph, newMarginConflicts,
+                null, null, newView);
+    }
+
+    /**
+     * Constructor reusing the intersection graph and the coloring of a previous controller with the same
+     * safety margin, so that a new kMax only adapts the previous coloring.
+     *
+     * @param newAirportsList    List of airports
+     * @param newFlightsList     List of flights
+     * @param newKMax            Maximum number of colors (layers)
+     * @param newSafetyMargin    Safety margin for constructing intersection graph
+     * @param newChosenAlgo      Chosen algorithm for coloring flights
+     * @param newGraph           Graph of airports and flights, or null to load it
+     * @param newMarginConflicts Conflicting pairs of the graph, or null to compute them
+     * @param newIntersectGraph  Intersection graph for the safety margin, or null to construct it
+     * @param newPreviousColors  Colors of the intersection graph to start from, or null to color it from scratch
+     * @param newView            Associated view
+     */
+    public ColoredFlightFileController(AirportsList newAirportsList, FlightsList newFlightsList, int newKMax,
+                                       double newSafetyMargin, String newChosenAlgo, GraphPlus newGraph,
+                                       MarginConflictList newMarginConflicts, IntersectionGraph newIntersectGraph,
+                                       int[] newPreviousColors, ColoredFlightFileView newView) {
         view = newView;
 
         airportsList = newAirportsList;
@@ -183,21 +244,30 @@ public class ColoredFlightFileController {
         view.getHomeButton().addActionListener(homeButtonListener());
         view.getVoirGrapheButton().addActionListener(voirGrapheListener());
 
-        GraphPlus graph = new GraphPlus("tempGraph").loadFlightsAirportsList(airportsList, flightsList);
-        intersectGraph = graph.constructIntersectGraph(safetyMargin);
+        graph = newGraph != null ? newGraph
+                : new GraphPlus("tempGraph").loadFlightsAirportsList(airportsList, flightsList);
+        marginConflicts = newMarginConflicts;
+        if (marginConflicts == null || marginConflicts.getMaxMargin() < safetyMargin)
+            marginConflicts = graph.constructMarginConflictList(Math.max(safetyMargin, MAX_SWEPT_MARGIN));
+        intersectGraph = newIntersectGraph != null ? newIntersectGraph
+                : graph.constructIntersectGraph(marginConflicts, safetyMargin);
 
-        dSatur = new DSatur(intersectGraph, false);
-        dSatur.setKMax(kMax);
-        dSatur.dSaturAlgo();
+        coloring = newIntersectGraph != null && newPreviousColors != null
+                ? new WarmStartColoring(intersectGraph, newPreviousColors)
+                : new ComponentColoring(intersectGraph, chosenAlgo);
+        coloring.setKMax(kMax);
+        coloring.colorGraph();
 
-        nbLayers = dSatur.getNbColors();
+        nbLayers = coloring.getNbColors();
 
         view.getNbLayerLabel().setText("Nombre de couches : " + nbLayers);
         layerSpinner.setValue(nbLayers / 2);
 
         view.setSpinner(layerSpinner, (double) (nbLayers / 2) + 1, 1.0, nbLayers, new Color(227, 223, 241));
 
-        view.getNbConflictsLabel().setText("Nombre de conflits : " + dSatur.getNbConflicts());
+        int conflictLowerBound = new CliqueBound(intersectGraph).getConflictLowerBound(kMax);
+        view.getNbConflictsLabel().setText("Nombre de conflits : " + coloring.getNbConflicts()
+                + " (minimum : " + conflictLowerBound + ")");
 
         setFlightLayers();
     }
@@ -218,10 +288,10 @@ public class ColoredFlightFileController {
     }
 
     /**
-     * Sets layers for each flight based on the DSatur coloring.
+     * Sets layers for each flight based on the coloring.
      */
     private void setFlightLayers() {
-        int[] nodeColors = dSatur.getNodeColors();
+        int[] nodeColors = coloring.getNodeColors();
         Flight flight;
         for (int ii = 0; ii < nodeColors.length; ii++) {
             flight = flightsList.get(ii);
@@ -385,8 +455,14 @@ public class ColoredFlightFileController {
             double safetyMargin = (double) view.getMargeSecuriteSpinner().getValue();
             String chosenAlgo = (String) view.getAlgoComboBox().getSelectedItem();
 
+            // Same intersection graph and algorithm: the current coloring is adapted to the new kMax
+            boolean isWarmStart = safetyMargin == this.safetyMargin && kMax != this.kMax
+                    && chosenAlgo != null && chosenAlgo.equals(this.chosenAlgo);
+
             ColoredFlightFileView cffView = new ColoredFlightFileView();
-            new ColoredFlightFileController(airportsList, flightsList, kMax, safetyMargin, chosenAlgo, cffView);
+            new ColoredFlightFileController(airportsList, flightsList, kMax, safetyMargin, chosenAlgo,
+                    graph, marginConflicts, isWarmStart ? intersectGraph : null,
+                    isWarmStart ? coloring.getNodeColors() : null, cffView);
             cffView.setVisible(true);
 
             view.dispose();
@@ -407,7 +483,7 @@ public class ColoredFlightFileController {
             DefaultTableModel model = new DefaultTableModel(columnNames, 0);
 
             // Populate the model with data from indConflictsList
-            ArrayList<int[]> indConflictsList = dSatur.getIndConflictsList();
+            ArrayList<int[]> indConflictsList = coloring.getIndConflictsList();
             for (int[] indConflicts : indConflictsList) {
                 Object[] row = {flightsList.get(indConflicts[0]), flightsList.get(indConflicts[1])};
                 model.addRow(row);
@@ -452,7 +528,7 @@ public class ColoredFlightFileController {
      */
     private ActionListener voirGrapheListener() {
         return evt -> {
-            ColoredFlightGraphView cfgView = new ColoredFlightGraphView(intersectGraph, dSatur);
+            ColoredFlightGraphView cfgView = new ColoredFlightGraphView(intersectGraph, coloring);
             new ColoredFlightGraphController(cfgView, view, flightsList);
             cfgView.setVisible(true);
 
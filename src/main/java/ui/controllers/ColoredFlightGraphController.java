@@ -85,13 +85,8 @@ public class ColoredFlightGraphController {
             // Create a DefaultTableModel with the column names
             DefaultTableModel model = new DefaultTableModel(columnNames, 0);
 
-            ArrayList<int[]> indConflictsList;
             // Populate the model with data from indConflictsList
-            if (view.getdSatur() != null) {
-                indConflictsList = view.getdSatur().getIndConflictsList();
-            } else {
-                indConflictsList = view.getWp().getIndConflictsList();
-            }
+            ArrayList<int[]> indConflictsList = view.getColoring().getIndConflictsList();
             for (int[] indConflicts : indConflictsList) {
                 Object[] row = {flightsList.get(indConflicts[0]), flightsList.get(indConflicts[1])};
                 model.addRow(row);
@@ -1,5 +1,7 @@
 package ui.controllers;
 
+import colorationAlgorithms.ColoringAlgorithm;
+import colorationAlgorithms.WarmStartColoring;
 import ui.views.*;
 
 import java.awt.event.ActionListener;
@@ -41,6 +43,7 @@ public class ColoredGraphFileController {
 
     /**
      * Returns an ActionListener for the recolorier button in the view.
+     * When only kMax changed, the current coloring is adapted to it instead of coloring the graph again.
      *
      * @return ActionListener for the recolorier button.
      */
@@ -50,7 +53,14 @@ public class ColoredGraphFileController {
 
             int kMax = ((Double) view.getKmaxSpinner().getValue()).intValue();
 
-            ColoredGraphFileView cgfView = new ColoredGraphFileView(view.getGraph(), kMax, chosenAlgo);
+            ColoringAlgorithm coloring = null;
+            if (chosenAlgo != null && chosenAlgo.equals(view.getChosenAlgo()) && kMax != view.getKMax()) {
+                coloring = new WarmStartColoring(view.getGraph(), view.getColoring().getNodeColors());
+                coloring.setKMax(kMax);
+                coloring.colorGraph();
+            }
+
+            ColoredGraphFileView cgfView = new ColoredGraphFileView(view.getGraph(), kMax, chosenAlgo, coloring);
             new ColoredGraphFileController(cgfView);
             cgfView.setVisible(true);
 
@@ -1,7 +1,6 @@
 package ui.views;
 
-import colorationAlgorithms.DSatur;
-import colorationAlgorithms.WelshPowell;
+import colorationAlgorithms.ColoringAlgorithm;
 import graphTools.GraphPlus;
 import org.netbeans.lib.awtextra.AbsoluteConstraints;
 import org.netbeans.lib.awtextra.AbsoluteLayout;
@@ -31,35 +30,20 @@ public class ColoredFlightGraphView extends JFrame {
 
     int nbConflicts;
 
-    DSatur dSatur;
-
-    WelshPowell wp;
+    ColoringAlgorithm coloring;
 
 
     /**
      * Constructor for ColoredFlightGraphView.
      * @param newGraph The graph to be displayed.
      */
-    public ColoredFlightGraphView(GraphPlus newGraph, WelshPowell newWp) {
+    public ColoredFlightGraphView(GraphPlus newGraph, ColoringAlgorithm newColoring) {
         graph = newGraph;
 
-        wp = newWp;
-        graphPanel = new GraphStreamPanel(graph, -1, newWp);
-
-        nbConflicts = newWp.getNbConflicts();
-
-        initComponents();
-    }
-
-    public ColoredFlightGraphView(GraphPlus newGraph, DSatur newDSatur) {
-        graph = newGraph;
-
-
-        dSatur = newDSatur;
-        graphPanel = new GraphStreamPanel(graph, -1, newDSatur);
-
-        nbConflicts = newDSatur.getNbConflicts();
+        coloring = newColoring;
+        graphPanel = new GraphStreamPanel(graph, -1, newColoring);
 
+        nbConflicts = newColoring.getNbConflicts();
 
         initComponents();
     }
@@ -255,9 +239,7 @@ public class ColoredFlightGraphView extends JFrame {
 
     public JButton getSeeConflitsButton() { return seeConflitsButton; }
 
-    public DSatur getdSatur() { return dSatur; }
-
-    public WelshPowell getWp() { return wp; }
+    public ColoringAlgorithm getColoring() { return coloring; }
 
 
     private JLabel aretesLabel;
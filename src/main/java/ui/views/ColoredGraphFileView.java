@@ -1,5 +1,8 @@
 package ui.views;
 
+import colorationAlgorithms.CliqueBound;
+import colorationAlgorithms.ColoringAlgorithm;
+import colorationAlgorithms.ColoringRegistry;
 import graphTools.GraphPlus;
 import org.netbeans.lib.awtextra.AbsoluteConstraints;
 import org.netbeans.lib.awtextra.AbsoluteLayout;
@@ -33,23 +36,43 @@ public class ColoredGraphFileView extends JFrame {
 
     int nbConflicts;
 
+    /** Lower bound on the number of conflicts with kMax colors. */
+    int conflictLowerBound;
+
+    /** Maximum number of colors of the coloring. */
+    int kMax;
+
+    /** Name of the algorithm of the coloring, see {@link ColoringRegistry}. */
+    String chosenAlgo;
+
     /**
      * Constructs a new ColoredGraphFileView with the specified graph and chosen algorithm.
      *
      * @param newGraph     The GraphPlus object representing the graph to display.
      */
-     public ColoredGraphFileView(GraphPlus newGraph, int newKMax, String chosenAlgo) {
+     public ColoredGraphFileView(GraphPlus newGraph, int newKMax, String newChosenAlgo) {
+        this(newGraph, newKMax, newChosenAlgo, null);
+    }
+
+    /**
+     * Constructs a new ColoredGraphFileView displaying a coloring already computed.
+     *
+     * @param newGraph      The GraphPlus object representing the graph to display.
+     * @param newKMax       The maximum number of colors of the coloring.
+     * @param newChosenAlgo The name of the algorithm of the coloring.
+     * @param newColoring   The coloring of the graph, or null to color it with the chosen algorithm.
+     */
+    public ColoredGraphFileView(GraphPlus newGraph, int newKMax, String newChosenAlgo, ColoringAlgorithm newColoring) {
         graph = newGraph;
+        kMax = newKMax;
+        chosenAlgo = newChosenAlgo;
 
-        graphPanel = new GraphStreamPanel(getGraph(), newKMax, chosenAlgo);
+        graphPanel = newColoring != null ? new GraphStreamPanel(getGraph(), newKMax, newColoring)
+                : new GraphStreamPanel(getGraph(), newKMax, newChosenAlgo);
 
-        if (chosenAlgo.equals("DSatur")) {
-            nbColors = graphPanel.getDSatur().getNbColors();
-            nbConflicts = graphPanel.getDSatur().getNbConflicts();
-        } else {
-            nbColors = graphPanel.getWp().getNbColors();
-            nbConflicts = graphPanel.getWp().getNbConflicts();
-        }
+        nbColors = graphPanel.getColoring().getNbColors();
+        nbConflicts = graphPanel.getColoring().getNbConflicts();
+        conflictLowerBound = new CliqueBound(graph).getConflictLowerBound(newKMax);
 
         initComponents();
     }
@@ -217,7 +240,7 @@ public class ColoredGraphFileView extends JFrame {
         algoLabel.setForeground(textColor);
         algoPanel.add(algoLabel, BorderLayout.WEST);
 
-        algoComboBox.setModel(new DefaultComboBoxModel<>(new String[] { "Welsh Powell", "DSatur"}));
+        algoComboBox.setModel(new DefaultComboBoxModel<>(ColoringRegistry.getNames()));
         algoComboBox.setBackground(new Color(206, 209, 232));
         algoComboBox.setForeground(textColor);
         algoComboBox.setFont(spaceGrotesk18);
@@ -243,7 +266,7 @@ public class ColoredGraphFileView extends JFrame {
         kmaxPanel.add(kmaxLabel, BorderLayout.WEST);
 
         assert kmaxSpinner != null;
-        setSpinner(kmaxSpinner, graph.getKMax(), 1.0, 1000.0, new Color(196, 202, 228));
+        setSpinner(kmaxSpinner, kMax, 1.0, 1000.0, new Color(196, 202, 228));
         kmaxPanel.add(kmaxSpinner, BorderLayout.CENTER);
 
         colorationPanel.add(kmaxPanel, new AbsoluteConstraints(40, 30, 310, 40));
@@ -287,7 +310,7 @@ public class ColoredGraphFileView extends JFrame {
         getContentPane().add(nbConflictsPanel, new AbsoluteConstraints(1050, 920, 700, 60));
 
         nbCouleursNBLabel.setText(String.valueOf(nbColors));
-        nbConflictsNBLabel.setText(String.valueOf(nbConflicts));
+        nbConflictsNBLabel.setText(nbConflicts + " (minimum : " + conflictLowerBound + ")");
     }
 
 
@@ -308,6 +331,12 @@ public class ColoredGraphFileView extends JFrame {
 
     public GraphPlus getGraph() { return graph; }
 
+    public ColoringAlgorithm getColoring() { return graphPanel.getColoring(); }
+
+    public int getKMax() { return kMax; }
+
+    public String getChosenAlgo() { return chosenAlgo; }
+
     public JButton getHomeButton() { return homeButton; }
 
     public JButton getRecolorierButton() { return colorierButton; }
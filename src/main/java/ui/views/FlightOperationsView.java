@@ -1,6 +1,7 @@
 package ui.views;
 
 import airports.Airport;
+import colorationAlgorithms.ColoringRegistry;
 import org.netbeans.lib.awtextra.AbsoluteConstraints;
 import org.netbeans.lib.awtextra.AbsoluteLayout;
 import ui.frameTools.BackgroundImagePanel;
@@ -142,7 +143,7 @@ public class FlightOperationsView extends JFrame {
         assert algoComboBox != null;
         algoComboBox.setFont(spaceGrotesk18);
         algoComboBox.setForeground(textColor);
-        algoComboBox.setModel(new DefaultComboBoxModel<>(new String[] {"Welsh Powell", "DSatur"}));
+        algoComboBox.setModel(new DefaultComboBoxModel<>(ColoringRegistry.getNames()));
         algoComboBox.setBackground(new Color(196, 202, 228));
         algoPanel.add(algoComboBox, BorderLayout.CENTER);
 
@@ -1,5 +1,6 @@
 package ui.views;
 
+import colorationAlgorithms.ColoringRegistry;
 import graphTools.GraphPlus;
 import org.netbeans.lib.awtextra.AbsoluteConstraints;
 import org.netbeans.lib.awtextra.AbsoluteLayout;
@@ -201,7 +202,7 @@ public class GraphFileView extends JFrame {
         algoLabel.setForeground(textColor);
         algoPanel.add(algoLabel, BorderLayout.WEST);
 
-        algoComboBox.setModel(new DefaultComboBoxModel<>(new String[] { "Welsh Powell", "DSatur"}));
+        algoComboBox.setModel(new DefaultComboBoxModel<>(ColoringRegistry.getNames()));
         algoComboBox.setBackground(new Color(206, 209, 232));
         algoComboBox.setForeground(textColor);
         algoComboBox.setFont(spaceGrotesk18);
@@ -1,8 +1,9 @@
 package ui.views;
 
-import colorationAlgorithms.DSatur;
-import colorationAlgorithms.WelshPowell;
+import colorationAlgorithms.ColoringAlgorithm;
+import colorationAlgorithms.ColoringRegistry;
 import graphTools.GraphPlus;
+import nodes.NodeList;
 import org.graphstream.ui.swing_viewer.SwingViewer;
 import org.graphstream.ui.swing_viewer.ViewPanel;
 import org.graphstream.ui.view.Viewer;
@@ -22,80 +23,50 @@ public class GraphStreamPanel extends JPanel {
 
     private int kMax;
 
-    public DSatur dSatur;
-
-    public WelshPowell wp;
+    /** The coloring displayed. */
+    private ColoringAlgorithm coloring;
 
     private Point lastPoint;
 
 
     /**
-     * Constructs a new GraphStreamPanel with the specified graph and chosen coloring algorithm.
+     * Constructs a new GraphStreamPanel displaying the coloring of an algorithm already run.
      * @param graph The graph to be displayed.
+     * @param newColoring The algorithm which colored the graph.
      */
-    public GraphStreamPanel(GraphPlus graph, int newKMax, WelshPowell newWp) {
+    public GraphStreamPanel(GraphPlus graph, int newKMax, ColoringAlgorithm newColoring) {
         System.setProperty("org.graphstream.ui", "swing"); // Required setting
 
         kMax = newKMax;
-        wp = newWp;
-
-        colorGraphWelshPowellWithWP();
+        coloring = newColoring;
 
+        showColoring();
 
-        Viewer viewer = new SwingViewer(graph, Viewer.ThreadingModel.GRAPH_IN_ANOTHER_THREAD);
-        ViewPanel viewPanel = (ViewPanel) viewer.addDefaultView(false);
-        viewer.enableAutoLayout();
-        viewPanel.setPreferredSize(new Dimension(900, 895));
-
-        viewPanel.setBorder(javax.swing.BorderFactory.createLineBorder(textColor, 3));
-
-        addZoomAndDrag(viewPanel);
-
-        add(viewPanel);
+        addViewPanel(graph);
     }
 
 
     /**
      * Constructs a new GraphStreamPanel with the specified graph and chosen coloring algorithm.
      * @param graph The graph to be displayed.
+     * @param chosenAlgo The name of the coloring algorithm, see {@link ColoringRegistry}.
      */
-    public GraphStreamPanel(GraphPlus graph, int newKMax, DSatur newDSatur) {
+    public GraphStreamPanel(GraphPlus graph, int newKMax, String chosenAlgo) {
         System.setProperty("org.graphstream.ui", "swing"); // Required setting
 
         kMax = newKMax;
-        dSatur = newDSatur;
-
-        colorGraphDSaturWithDsatur();
-
-
-        Viewer viewer = new SwingViewer(graph, Viewer.ThreadingModel.GRAPH_IN_ANOTHER_THREAD);
-        ViewPanel viewPanel = (ViewPanel) viewer.addDefaultView(false);
-        viewer.enableAutoLayout();
-        viewPanel.setPreferredSize(new Dimension(900, 895));
 
-        viewPanel.setBorder(javax.swing.BorderFactory.createLineBorder(textColor, 3));
-
-        addZoomAndDrag(viewPanel);
+        colorGraph(graph, chosenAlgo);
 
-        add(viewPanel);
+        addViewPanel(graph);
     }
 
 
     /**
-     * Constructs a new GraphStreamPanel with the specified graph and chosen coloring algorithm.
+     * Adds the view of the graph to the panel.
      * @param graph The graph to be displayed.
      */
-    public GraphStreamPanel(GraphPlus graph, int newKMax, String chosenAlgo) {
-        System.setProperty("org.graphstream.ui", "swing"); // Required setting
-
-        kMax = newKMax;
-
-        if (chosenAlgo.equals("DSatur"))
-            colorGraphDSatur(graph);
-        else if (chosenAlgo.equals("Welsh Powell"))
-            colorGraphWelshPowell(graph);
-
-
+    private void addViewPanel(GraphPlus graph) {
         Viewer viewer = new SwingViewer(graph, Viewer.ThreadingModel.GRAPH_IN_ANOTHER_THREAD);
         ViewPanel viewPanel = (ViewPanel) viewer.addDefaultView(false);
         viewer.enableAutoLayout();
@@ -118,41 +89,27 @@ public class GraphStreamPanel extends JPanel {
     }
 
 
-    public DSatur getDSatur() { return dSatur; }
-
-    public WelshPowell getWp() { return wp; }
+    public ColoringAlgorithm getColoring() { return coloring; }
 
     /**
-     * Colors the graph using the DSatur coloring algorithm.
+     * Colors the graph using a registered coloring algorithm.
      * @param graph The graph to be colored.
+     * @param chosenAlgo The name of the coloring algorithm.
      */
-    public void colorGraphDSatur(GraphPlus graph) {
-        dSatur = new DSatur(graph, false);
-        dSatur.setKMax(kMax);
-        dSatur.dSaturAlgo();
-        dSatur.getNodeList().colorGraphGraphStream(dSatur.getNodeColors());
-        nbColors = dSatur.getNbColors();
-    }
-
-
-    public void colorGraphDSaturWithDsatur() {
-        dSatur.getNodeList().colorGraphGraphStream(dSatur.getNodeColors());
-        nbColors = dSatur.getNbColors();
+    public void colorGraph(GraphPlus graph, String chosenAlgo) {
+        coloring = ColoringRegistry.create(chosenAlgo, graph);
+        coloring.setKMax(kMax);
+        coloring.colorGraph();
+        showColoring();
     }
 
 
-    public void colorGraphWelshPowell(GraphPlus graph) {
-        wp = new WelshPowell(graph);
-        wp.setKMax(kMax);
-        wp.welshPowellAlgo();
-        wp.getNodeList().colorGraphGraphStream(wp.getNodeColors());
-        nbColors = wp.getNbColors();
-    }
-
-
-    public void colorGraphWelshPowellWithWP() {
-        wp.getNodeList().colorGraphGraphStream(wp.getNodeColors());
-        nbColors = wp.getNbColors();
+    /**
+     * Colors the GraphStream nodes with the colors of the coloring.
+     */
+    public void showColoring() {
+        new NodeList(coloring.getGraph()).colorGraphGraphStream(coloring.getNodeColors());
+        nbColors = coloring.getNbColors();
     }
 
 
@@ -0,0 +1,62 @@
+import colorationAlgorithms.CliqueBound;
+import colorationAlgorithms.TabuCol;
+import graphTools.GraphPlus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CliqueBoundTest {
+
+    @Test
+    public void testCliqueConflicts() {
+        assertEquals(0, CliqueBound.getCliqueConflicts(4, 4));
+        assertEquals(1, CliqueBound.getCliqueConflicts(7, 6));
+        assertEquals(2, CliqueBound.getCliqueConflicts(5, 3));
+        assertEquals(10, CliqueBound.getCliqueConflicts(5, 1));
+    }
+
+    @Test
+    public void testDisjointCliquesAddUp() {
+        CliqueBound bound = new CliqueBound(createCliquesGraph());
+        assertEquals(5, bound.getColorLowerBound());
+        assertEquals(4, bound.getConflictLowerBound(3));
+        assertEquals(0, bound.getConflictLowerBound(5));
+        assertEquals(0, bound.getConflictLowerBound(0));
+    }
+
+    @Test
+    public void testTabuColStopsAtTheBound() {
+        // With 3 colors, each K5 has at least 2 conflicts, and a coloring with 4 conflicts exists
+        GraphPlus graph = createCliquesGraph();
+        int conflictLowerBound = new CliqueBound(graph).getConflictLowerBound(3);
+        assertEquals(4, conflictLowerBound);
+        long maxIterations = 100000;
+        TabuCol tabuCol = new TabuCol(graph, new int[graph.getNodeCount()]);
+        tabuCol.setKMax(3);
+        tabuCol.setMaxIterations(maxIterations);
+        tabuCol.setConflictLowerBound(conflictLowerBound);
+        tabuCol.tabuColAlgo();
+        assertEquals(conflictLowerBound, tabuCol.getNbConflicts());
+        assertTrue(tabuCol.getNbIterations() < maxIterations);
+    }
+
+    /**
+     * Creates two K5 (1-5 and 6-10) joined by an edge, and a triangle (11-13).
+     */
+    private static GraphPlus createCliquesGraph() {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.createNodes(13);
+        for (int offset : new int[] {0, 5}) {
+            for (int ii = 1; ii <= 5; ii++) {
+                for (int jj = ii + 1; jj <= 5; jj++) {
+                    graph.addEdge((ii + offset) + "," + (jj + offset), String.valueOf(ii + offset), String.valueOf(jj + offset));
+                }
+            }
+        }
+        graph.addEdge("5,6", "5", "6");
+        graph.addEdge("11,12", "11", "12");
+        graph.addEdge("12,13", "12", "13");
+        graph.addEdge("11,13", "11", "13");
+        return graph;
+    }
+}
@@ -0,0 +1,43 @@
+import colorationAlgorithms.ColorOccupancy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColorOccupancyTest {
+
+    @Test
+    public void testLeastConflictColorFollowsTheCounts() {
+        int nbNodes = 5;
+        int kMax = 70;
+        ColorOccupancy occupancy = new ColorOccupancy(nbNodes, kMax);
+        Random random = new Random(7);
+        for (int step = 0; step < 20000; step++) {
+            int node = random.nextInt(nbNodes);
+            int color = random.nextInt(kMax);
+            if (random.nextInt(3) == 0 && occupancy.getCount(node, color) > 0)
+                occupancy.remove(node, color);
+            else
+                occupancy.add(node, color);
+
+            int leastConflictColor = 0;
+            for (int ii = 1; ii < kMax; ii++) {
+                if (occupancy.getCount(node, ii) < occupancy.getCount(node, leastConflictColor))
+                    leastConflictColor = ii;
+            }
+            assertEquals(leastConflictColor, occupancy.getLeastConflictColor(node));
+        }
+
+        occupancy.clear();
+        for (int ii = 0; ii < nbNodes; ii++) {
+            assertEquals(0, occupancy.getLeastConflictColor(ii));
+        }
+    }
+
+    @Test
+    public void testTooManyCountsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ColorOccupancy(100000, 100000));
+        assertEquals(0, new ColorOccupancy(3, 0).getLeastConflictColor(1));
+    }
+}
@@ -0,0 +1,51 @@
+import colorationAlgorithms.Adjacency;
+import colorationAlgorithms.ColoringPortfolio;
+import colorationAlgorithms.DSatur;
+import colorationAlgorithms.WelshPowell;
+import graphTools.GraphPlus;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColoringPortfolioTest {
+
+    @Test
+    public void testBestAttemptIsReproducible() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test17.txt"));
+        ColoringPortfolio portfolio = new ColoringPortfolio(graph);
+        portfolio.setNbAttempts(16);
+        portfolio.setNbThreads(4);
+        portfolio.portfolioAlgo();
+
+        int[] colors;
+        if (portfolio.getBestAlgorithm().equals(ColoringPortfolio.DSATUR)) {
+            DSatur dSatur = new DSatur(graph, new Adjacency(graph), portfolio.getBestSeed());
+            dSatur.dSaturAlgo();
+            colors = dSatur.getNodeColors();
+        } else {
+            WelshPowell wp = new WelshPowell(graph, new Adjacency(graph), portfolio.getBestSeed());
+            wp.welshPowellAlgo();
+            colors = wp.getNodeColors();
+        }
+        assertArrayEquals(colors, portfolio.getNodeColors());
+        assertEquals(16, portfolio.getNbFinishedAttempts());
+    }
+
+    @Test
+    public void testStopsAtZeroConflicts() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test0.txt"));
+        ColoringPortfolio portfolio = new ColoringPortfolio(graph);
+        portfolio.setNbAttempts(50);
+        portfolio.setNbThreads(8);
+        portfolio.portfolioAlgo();
+        assertEquals(0, portfolio.getNbConflicts());
+        // The first attempt already reaches 0 conflicts: it wins whatever attempt finishes first
+        assertEquals(0, portfolio.getBestSeed());
+        assertEquals(1, portfolio.getNbFinishedAttempts());
+        assertThrows(IllegalArgumentException.class, () -> portfolio.setNbAttempts(0));
+    }
+}
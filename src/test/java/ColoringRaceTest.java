@@ -0,0 +1,89 @@
+import colorationAlgorithms.ColoringAlgorithm;
+import colorationAlgorithms.ColoringRace;
+import colorationAlgorithms.ColoringRegistry;
+import graphTools.GraphPlus;
+import testTools.TestColoring;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColoringRaceTest {
+
+    @Test
+    public void testRegisteredAlgorithmsColorTheGraph() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test6.txt"));
+        for (String name : ColoringRegistry.getNames()) {
+            ColoringAlgorithm algorithm = ColoringRegistry.create(name, graph);
+            algorithm.setTimeLimit(200);
+            algorithm.colorGraph();
+            int[] colors = algorithm.getNodeColors();
+            long nbConflicts = TestColoring.countConflicts(graph, colors);
+            assertEquals(nbConflicts, algorithm.getNbConflicts(), name);
+            assertTrue(algorithm.getNbColors() <= graph.getKMax(), name);
+        }
+        assertThrows(IllegalArgumentException.class, () -> ColoringRegistry.create("Unknown", graph));
+    }
+
+    @Test
+    public void testRaceKeepsTheBestColoring() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test16.txt"));
+        ColoringRace race = new ColoringRace(graph, ColoringRegistry.WELSH_POWELL, ColoringRegistry.DSATUR);
+        race.setTimeLimit(0);
+        race.colorGraph();
+
+        int bestConflicts = Integer.MAX_VALUE;
+        for (String name : new String[] {ColoringRegistry.WELSH_POWELL, ColoringRegistry.DSATUR}) {
+            ColoringAlgorithm algorithm = ColoringRegistry.create(name, graph);
+            algorithm.colorGraph();
+            bestConflicts = Math.min(bestConflicts, algorithm.getNbConflicts());
+        }
+        assertEquals(bestConflicts, race.getNbConflicts());
+        assertNotNull(race.getBestAlgorithm());
+    }
+
+    @Test
+    public void testInterruptedRaceHasNoColoring() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test16.txt"));
+        ColoringRace race = new ColoringRace(graph, ColoringRegistry.DSATUR);
+        Thread.currentThread().interrupt();
+        race.colorGraph();
+        assertTrue(Thread.interrupted());
+        assertNull(race.getNodeColors());
+        assertEquals(0, race.getNbColors());
+        assertEquals(-1, race.getNbConflicts());
+        assertTrue(race.getIndConflictsList().isEmpty());
+    }
+
+    @Test
+    public void testRaceWithoutBudgetKeepsTheDefaultTimeLimits() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test17.txt"));
+        ColoringRace race = new ColoringRace(graph, ColoringRegistry.ANNEALING);
+        race.setTimeLimit(0);
+        race.colorGraph();
+        ColoringAlgorithm dSatur = ColoringRegistry.create(ColoringRegistry.DSATUR, graph);
+        dSatur.colorGraph();
+        assertTrue(race.getNbConflicts() < dSatur.getNbConflicts());
+    }
+
+    @Test
+    public void testStoppedRaceKeepsOnlyCompleteColorings() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test16.txt"));
+        ColoringRace race = new ColoringRace(graph, ColoringRegistry.DSATUR, ColoringRegistry.RLF, ColoringRegistry.TABUCOL);
+        race.setTimeLimit(0);
+        race.setStopCondition(() -> true);
+        race.colorGraph();
+        // DSatur and RLF stop before coloring any node, TabuCol keeps its starting coloring
+        assertEquals(ColoringRegistry.TABUCOL, race.getBestAlgorithm());
+        int[] colors = race.getNodeColors();
+        assertTrue(Arrays.stream(colors).allMatch(color -> color >= 0));
+        assertEquals(TestColoring.countConflicts(graph, colors), race.getNbConflicts());
+    }
+}
@@ -0,0 +1,48 @@
+import colorationAlgorithms.ColoringRegistry;
+import colorationAlgorithms.ComponentColoring;
+import colorationAlgorithms.DSatur;
+import graphTools.GraphPlus;
+import testTools.TestColoring;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentColoringTest {
+
+    @Test
+    public void testComponentsAreColoredSeparately() {
+        // K4 (1-4), a path (5-7) and an isolated node (8)
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.createNodes(8);
+        String[][] edges = {{"1", "2"}, {"1", "3"}, {"1", "4"}, {"2", "3"}, {"2", "4"}, {"3", "4"}, {"5", "6"}, {"6", "7"}};
+        for (String[] edge : edges) {
+            graph.addEdge(edge[0] + "," + edge[1], edge[0], edge[1]);
+        }
+        ComponentColoring coloring = new ComponentColoring(graph, ColoringRegistry.DSATUR);
+        coloring.setKMax(3);
+        coloring.colorGraph();
+        assertEquals(3, coloring.getNbComponents());
+        assertEquals(2, coloring.getNbTrivialComponents());
+        assertEquals(1, coloring.getNbConflicts());
+        assertTrue(coloring.getNbColors() <= 3);
+    }
+
+    @Test
+    public void testMatchesWholeGraphOnConnectedGraph() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        // Connected, and every node has at least kMax neighbors: nothing is peeled
+        graph.loadTestGraph(new File("Data Test/graph-test12.txt"));
+        ComponentColoring coloring = new ComponentColoring(graph, ColoringRegistry.DSATUR);
+        coloring.colorGraph();
+        assertEquals(1, coloring.getNbComponents());
+        assertEquals(0, coloring.getNbTrivialComponents());
+        int[] colors = coloring.getNodeColors();
+        long nbConflicts = TestColoring.countConflicts(graph, colors);
+        assertEquals(nbConflicts, coloring.getNbConflicts());
+        DSatur dSatur = new DSatur(graph, false);
+        dSatur.dSaturAlgo();
+        assertArrayEquals(dSatur.getNodeColors(), colors);
+    }
+}
@@ -0,0 +1,50 @@
+import colorationAlgorithms.Adjacency;
+import colorationAlgorithms.ConflictLedger;
+import graphTools.GraphPlus;
+import testTools.TestColoring;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConflictLedgerTest {
+
+    @Test
+    public void testFollowsRandomMoves() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test14.txt"));
+        Adjacency adjacency = new Adjacency(graph);
+        Random random = new Random(7);
+        int[] colors = new int[graph.getNodeCount()];
+        for (int ii = 0; ii < colors.length; ii++) {
+            colors[ii] = random.nextInt(5);
+        }
+        ConflictLedger ledger = new ConflictLedger(adjacency, colors);
+
+        for (int move = 0; move < 2000; move++) {
+            int node = random.nextInt(colors.length);
+            colors[node] = random.nextInt(6) - 1;
+            ledger.setColor(node, colors[node]);
+        }
+
+        long nbConflicts = TestColoring.countConflicts(graph, colors);
+        assertEquals(nbConflicts, ledger.getNbConflicts());
+        int nbConflictingNodes = 0;
+        for (int ii = 0; ii < colors.length; ii++) {
+            int node = ii;
+            long nodeConflicts = graph.getNode(ii).edges().filter(edge -> edge.getOpposite(graph.getNode(node)) != graph.getNode(node)
+                    && colors[node] != -1 && colors[edge.getOpposite(graph.getNode(node)).getIndex()] == colors[node]).count();
+            assertEquals(nodeConflicts, ledger.getNodeConflicts(ii));
+            if (nodeConflicts > 0)
+                nbConflictingNodes++;
+        }
+        assertEquals(nbConflictingNodes, ledger.getNbConflictingNodes());
+        for (int ii = 0; ii < ledger.getNbConflicts(); ii++) {
+            long pair = ledger.getConflict(ii);
+            assertTrue(ConflictLedger.getFirstNode(pair) < ConflictLedger.getSecondNode(pair));
+            assertEquals(colors[ConflictLedger.getFirstNode(pair)], colors[ConflictLedger.getSecondNode(pair)]);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+import colorationAlgorithms.DSatur;
+import graphTools.GraphPlus;
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.Node;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DSaturTest {
+
+    @Test
+    public void testMatchesReferenceOrder() throws Exception {
+        for (int ii = 0; ii <= 19; ii++) {
+            GraphPlus graph = new GraphPlus("testGraph");
+            graph.loadTestGraph(new File("Data Test/graph-test" + ii + ".txt"));
+            DSatur dSatur = new DSatur(graph, false);
+            dSatur.dSaturAlgo();
+            assertArrayEquals(referenceColors(graph), dSatur.getNodeColors(), "graph-test" + ii);
+        }
+    }
+
+    @Test
+    public void testUnlimitedColorsGiveNoConflict() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test6.txt"));
+        int maxDegree = graph.nodes().mapToInt(Node::getDegree).max().orElse(0);
+        for (boolean rand : new boolean[]{false, true}) {
+            DSatur dSatur = new DSatur(graph, rand);
+            dSatur.setKMax(0);
+            dSatur.dSaturAlgo();
+            assertEquals(0, dSatur.getNbConflicts());
+            assertTrue(dSatur.getNbColors() <= maxDegree + 1);
+        }
+    }
+
+    /**
+     * Straightforward DSatur: scans every node at each step and recomputes the saturation degrees.
+     */
+    private static int[] referenceColors(GraphPlus graph) {
+        int nbNodes = graph.getNodeCount(), kMax = graph.getKMax();
+        int[] colors = new int[nbNodes];
+        Arrays.fill(colors, -1);
+        for (int step = 0; step < nbNodes; step++) {
+            int best = -1, bestSaturation = -1;
+            for (int ii = 0; ii < nbNodes; ii++) {
+                if (colors[ii] != -1)
+                    continue;
+                int saturation = (int) neighbors(graph, ii).map(jj -> colors[jj]).filter(c -> c != -1).distinct().count();
+                if (best == -1 || saturation > bestSaturation || (saturation == bestSaturation
+                        && graph.getNode(ii).getDegree() > graph.getNode(best).getDegree())) {
+                    best = ii;
+                    bestSaturation = saturation;
+                }
+            }
+            int[] counts = new int[kMax];
+            neighbors(graph, best).filter(jj -> colors[jj] != -1).forEach(jj -> counts[colors[jj]]++);
+            int color = 0;
+            while (color < kMax && counts[color] > 0) {
+                color++;
+            }
+            if (color == kMax) {
+                color = 0;
+                for (int cc = 1; cc < kMax; cc++) {
+                    if (counts[cc] < counts[color])
+                        color = cc;
+                }
+            }
+            colors[best] = color;
+        }
+        return colors;
+    }
+
+    private static IntStream neighbors(GraphPlus graph, int nodeIndex) {
+        Node node = graph.getNode(nodeIndex);
+        return node.edges().mapToInt((Edge edge) -> edge.getOpposite(node).getIndex());
+    }
+}
@@ -0,0 +1,43 @@
+import colorationAlgorithms.ColoringRegistry;
+import colorationAlgorithms.DegeneracyPeeling;
+import graphTools.GraphPlus;
+import testTools.TestColoring;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DegeneracyPeelingTest {
+
+    @Test
+    public void testOnlyCoreIsLeftToTheAlgorithm() {
+        // K4 (1-4) with a chain hanging from node 4 (5-8)
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.createNodes(8);
+        String[][] edges = {{"1", "2"}, {"1", "3"}, {"1", "4"}, {"2", "3"}, {"2", "4"}, {"3", "4"},
+                {"4", "5"}, {"5", "6"}, {"6", "7"}, {"7", "8"}, {"5", "7"}};
+        for (String[] edge : edges) {
+            graph.addEdge(edge[0] + "," + edge[1], edge[0], edge[1]);
+        }
+        DegeneracyPeeling peeling = new DegeneracyPeeling(graph, ColoringRegistry.DSATUR);
+        peeling.setKMax(3);
+        peeling.colorGraph();
+        assertEquals(4, peeling.getCoreSize());
+        assertEquals(1, peeling.getNbConflicts());
+        assertTrue(peeling.getNbColors() <= 3);
+    }
+
+    @Test
+    public void testPeeledNodesAddNoConflict() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test11.txt"));
+        DegeneracyPeeling peeling = new DegeneracyPeeling(graph, ColoringRegistry.WELSH_POWELL);
+        peeling.colorGraph();
+        assertTrue(peeling.getCoreSize() < graph.getNodeCount());
+        int[] colors = peeling.getNodeColors();
+        long nbConflicts = TestColoring.countConflicts(graph, colors);
+        assertEquals(nbConflicts, peeling.getNbConflicts());
+        assertTrue(peeling.getNbColors() <= graph.getKMax());
+    }
+}
@@ -0,0 +1,50 @@
+import colorationAlgorithms.ExactDSatur;
+import graphTools.GraphPlus;
+import org.graphstream.graph.Edge;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExactDSaturTest {
+
+    @Test
+    public void testFindsFewestConflicts() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test1.txt"));
+        int kMax = graph.getKMax();
+        ExactDSatur exact = new ExactDSatur(graph);
+        exact.setKMax(kMax);
+        exact.colorGraph();
+        assertTrue(exact.isOptimal());
+
+        // Every coloring of the 11 nodes with 2 colors
+        int nbNodes = graph.getNodeCount();
+        int fewestConflicts = Integer.MAX_VALUE;
+        for (int mask = 0; mask < 1 << nbNodes; mask++) {
+            int nbConflicts = 0;
+            for (Edge edge : graph.edges().toList()) {
+                int color0 = (mask >> edge.getNode0().getIndex()) & 1;
+                int color1 = (mask >> edge.getNode1().getIndex()) & 1;
+                if (edge.getNode0() != edge.getNode1() && color0 == color1)
+                    nbConflicts++;
+            }
+            fewestConflicts = Math.min(fewestConflicts, nbConflicts);
+        }
+        assertEquals(fewestConflicts, exact.getNbConflicts());
+        assertTrue(exact.getNbColors() <= kMax);
+    }
+
+    @Test
+    public void testFindsFewestColors() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test6.txt"));
+        ExactDSatur exact = new ExactDSatur(graph);
+        exact.setKMax(0);
+        exact.colorGraph();
+        assertTrue(exact.isOptimal());
+        assertEquals(0, exact.getNbConflicts());
+        assertEquals(7, exact.getNbColors());
+    }
+}
@@ -1,5 +1,7 @@
 import graphTools.GraphPlus;
 import graphTools.IntersectionGraph;
+import intersectionTools.BroadPhase;
+import intersectionTools.MarginConflictList;
 import org.graphstream.graph.Edge;
 import org.graphstream.graph.implementations.MultiGraph;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +9,9 @@ import org.junit.jupiter.api.Test;
 import tools.PointPlus;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class GraphPlusTest {
@@ -47,4 +52,47 @@ public class GraphPlusTest {
         assertNotNull(intersectGraph);
         assertEquals(0, intersectGraph.getEdgeCount());
     }
+
+    @Test
+    public void testBroadPhasesMatchExhaustive() {
+        for (int ii = 6; ii <= 9; ii++) {
+            GraphPlus flightsGraph = new GraphPlus("flightsGraph");
+            flightsGraph.loadFlightsAirportsFile(new File("Data Test/vol-test" + ii + ".csv"),
+                    new File("Data Test/aeroports.txt"));
+            assertTrue(flightsGraph.getEdgeCount() > 0);
+            List<String> expected = edgeIds(flightsGraph.constructIntersectGraph(15, BroadPhase.EXHAUSTIVE));
+            for (BroadPhase mode : BroadPhase.values()) {
+                assertEquals(expected, edgeIds(flightsGraph.constructIntersectGraph(15, mode)), mode.name());
+            }
+            flightsGraph.setParallelism(4);
+            for (BroadPhase mode : BroadPhase.values()) {
+                assertEquals(expected, edgeIds(flightsGraph.constructIntersectGraph(15, mode)), "parallel " + mode.name());
+            }
+        }
+    }
+
+    @Test
+    public void testMarginConflictListMatchesConstruction() {
+        GraphPlus flightsGraph = new GraphPlus("flightsGraph");
+        flightsGraph.loadFlightsAirportsFile(new File("Data Test/vol-test8.csv"), new File("Data Test/aeroports.txt"));
+        MarginConflictList conflicts = flightsGraph.constructMarginConflictList(60);
+        for (double margin : new double[]{1, 5, 15, 30, 60}) {
+            IntersectionGraph expected = flightsGraph.constructIntersectGraph(margin, BroadPhase.EXHAUSTIVE);
+            assertEquals(expected.getEdgeCount(), conflicts.getNbConflicts(margin));
+            assertEquals(edgeIds(expected), edgeIds(flightsGraph.constructIntersectGraph(conflicts, margin)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> conflicts.getNbConflicts(61));
+
+        // A margin of 0 keeps the last margin, as for a direct construction
+        assertEquals(edgeIds(flightsGraph.constructIntersectGraph(0, BroadPhase.EXHAUSTIVE)),
+                edgeIds(flightsGraph.constructIntersectGraph(conflicts, 0)));
+    }
+
+    private static List<String> edgeIds(IntersectionGraph intersectGraph) {
+        List<String> ids = new ArrayList<>();
+        for (Edge edge : intersectGraph.edges().toList()) {
+            ids.add(edge.getId() + "@" + edge.getAttribute("xCoord") + "," + edge.getAttribute("yCoord"));
+        }
+        return ids;
+    }
 }
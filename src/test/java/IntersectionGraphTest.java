@@ -0,0 +1,123 @@
+import airports.AirportsList;
+import flights.Flight;
+import flights.FlightsList;
+import graphTools.EdgeChanges;
+import graphTools.GraphPlus;
+import graphTools.IntersectionGraph;
+import intersectionTools.StreamingConflictDetector;
+import org.graphstream.graph.Edge;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntersectionGraphTest {
+
+    private AirportsList airportsList;
+
+    private FlightsList flightsList;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        airportsList = new AirportsList();
+        airportsList.loadAirportsFile(new File("Data Test/aeroports.txt"));
+        flightsList = new FlightsList();
+        flightsList.loadFlightsFile(new File("Data Test/vol-test8.csv"), airportsList);
+    }
+
+    @Test
+    public void testIncrementalUpdatesMatchRebuild() {
+        int nbFlights = flightsList.size();
+        ArrayList<Flight> firstFlights = new ArrayList<>(flightsList.getFlightsList().subList(0, nbFlights - 5));
+        GraphPlus graph = new GraphPlus("flightsGraph").loadFlightsAirportsList(airportsList, new FlightsList(firstFlights));
+        IntersectionGraph intersectGraph = graph.constructIntersectGraph(15);
+
+        for (int ii = nbFlights - 5; ii < nbFlights; ii++) {
+            EdgeChanges changes = intersectGraph.addFlight(flightsList.get(ii));
+            assertTrue(changes.getRemovedEdges().isEmpty());
+        }
+        intersectGraph.removeFlight(flightsList.get(3).getFlightID());
+        intersectGraph.removeFlight(flightsList.get(nbFlights - 2).getFlightID());
+        intersectGraph.updateFlight(flightsList.get(10).getFlightID(), 600, 45);
+        intersectGraph.updateFlight(flightsList.get(20).getFlightID(), 0, 240);
+        // Unknown or removed flights are ignored, as by removeFlight
+        EdgeChanges ignored = intersectGraph.updateFlight(flightsList.get(3).getFlightID(), 0, 240);
+        assertTrue(ignored.getAddedEdges().isEmpty() && ignored.getRemovedEdges().isEmpty());
+        assertTrue(intersectGraph.removeFlight("unknown").getRemovedEdges().isEmpty());
+
+        // Reference: full reconstruction with the same modifications
+        ArrayList<Flight> remaining = new ArrayList<>(flightsList.getFlightsList());
+        remaining.remove(nbFlights - 2);
+        remaining.remove(3);
+        GraphPlus reference = new GraphPlus("referenceGraph").loadFlightsAirportsList(airportsList, new FlightsList(remaining));
+        Edge retimed = reference.getEdge(flightsList.get(10).getFlightID());
+        retimed.setAttribute("hDeparture", 600.0);
+        retimed.setAttribute("duration", 45);
+        retimed = reference.getEdge(flightsList.get(20).getFlightID());
+        retimed.setAttribute("hDeparture", 0.0);
+        retimed.setAttribute("duration", 240);
+
+        IntersectionGraph expected = reference.constructIntersectGraph(15);
+        assertEquals(expected.getNodeCount(), intersectGraph.getNodeCount());
+        assertEquals(unorderedPairs(expected), unorderedPairs(intersectGraph));
+    }
+
+    @Test
+    public void testStreamingDetectionMatchesConstruction() throws Exception {
+        // The streaming detector needs the flights sorted by departure time
+        List<String> lines = new ArrayList<>(Files.readAllLines(new File("Data Test/vol-test8.csv").toPath()));
+        lines.sort(Comparator.comparingDouble(line -> {
+            String[] fields = line.split(";");
+            return Integer.parseInt(fields[3]) * 60 + Double.parseDouble(fields[4]);
+        }));
+        File sortedFile = File.createTempFile("vol-sorted", ".csv");
+        sortedFile.deleteOnExit();
+        try (FileWriter writer = new FileWriter(sortedFile)) {
+            for (String line : lines) {
+                writer.write(line + "\n");
+            }
+        }
+
+        IntersectionGraph streamed = new IntersectionGraph("streamedGraph");
+        StreamingConflictDetector detector = new StreamingConflictDetector(airportsList, 15, streamed);
+        detector.detect(sortedFile);
+
+        GraphPlus graph = new GraphPlus("flightsGraph").loadFlightsAirportsList(airportsList, flightsList);
+        IntersectionGraph expected = graph.constructIntersectGraph(15);
+        assertEquals(expected.getNodeCount(), streamed.getNodeCount());
+        assertEquals(unorderedPairs(expected), unorderedPairs(streamed));
+        assertEquals(expected.getEdgeCount(), detector.getNbConflicts());
+        assertTrue(detector.getPeakActive() < flightsList.size());
+    }
+
+    @Test
+    public void testStreamingDetectionRejectsUnsortedFile() {
+        IntersectionGraph streamed = new IntersectionGraph("streamedGraph");
+        StreamingConflictDetector detector = new StreamingConflictDetector(airportsList, 15, streamed);
+        assertThrows(Exception.class, () -> detector.detect(new File("Data Test/vol-test8.csv")));
+    }
+
+    private static List<String> unorderedPairs(IntersectionGraph intersectGraph) {
+        TreeSet<String> pairs = new TreeSet<>();
+        for (Edge edge : intersectGraph.edges().toList()) {
+            String id1 = edge.getNode0().getId(), id2 = edge.getNode1().getId();
+            pairs.add(id1.compareTo(id2) < 0 ? id1 + "|" + id2 : id2 + "|" + id1);
+        }
+        return new ArrayList<>(pairs);
+    }
+
+    @Test
+    public void testUpdatesWithoutSourceAreRejected() {
+        IntersectionGraph intersectGraph = new IntersectionGraph("intersectGraph");
+        assertThrows(IllegalStateException.class, () -> intersectGraph.removeFlight("unknown"));
+        assertThrows(IllegalStateException.class, () -> intersectGraph.addFlight(flightsList.get(0)));
+    }
+}
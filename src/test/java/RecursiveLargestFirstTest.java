@@ -0,0 +1,55 @@
+import colorationAlgorithms.DSatur;
+import colorationAlgorithms.RecursiveLargestFirst;
+import graphTools.GraphPlus;
+import testTools.TestColoring;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecursiveLargestFirstTest {
+
+    @Test
+    public void testUnlimitedColorsGiveProperColoring() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test12.txt"));
+        RecursiveLargestFirst rlf = new RecursiveLargestFirst(graph);
+        rlf.setKMax(0);
+        rlf.rlfAlgo();
+        assertEquals(0, rlf.getNbConflicts());
+        int maxDegree = graph.nodes().mapToInt(node -> node.getDegree()).max().orElse(0);
+        assertTrue(rlf.getNbColors() <= maxDegree + 1);
+    }
+
+    @Test
+    public void testRespectsKMax() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test17.txt"));
+        RecursiveLargestFirst rlf = new RecursiveLargestFirst(graph);
+        rlf.rlfAlgo();
+        assertTrue(rlf.getNbColors() <= graph.getKMax());
+
+        int[] colors = rlf.getNodeColors();
+        long nbConflicts = TestColoring.countConflicts(graph, colors);
+        assertEquals(nbConflicts, rlf.getNbConflicts());
+    }
+
+    @Test
+    public void testLargeGraphIsColoredByDSatur() {
+        GraphPlus graph = new GraphPlus("testGraph");
+        int nbNodes = RecursiveLargestFirst.MAX_RLF_NODES + 1;
+        graph.createNodes(nbNodes);
+        for (int ii = 1; ii < nbNodes; ii++) {
+            graph.addEdge(ii + "," + (ii + 1), String.valueOf(ii), String.valueOf(ii + 1));
+        }
+        RecursiveLargestFirst rlf = new RecursiveLargestFirst(graph);
+        rlf.setKMax(2);
+        rlf.rlfAlgo();
+        DSatur dSatur = new DSatur(graph, false);
+        dSatur.setKMax(2);
+        dSatur.dSaturAlgo();
+        assertArrayEquals(dSatur.getNodeColors(), rlf.getNodeColors());
+        assertEquals(0, rlf.getNbConflicts());
+    }
+}
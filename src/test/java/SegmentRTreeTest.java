@@ -0,0 +1,69 @@
+import intersectionTools.FlightTable;
+import intersectionTools.SegmentRTree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentRTreeTest {
+
+    private static final int SIZE = 500;
+
+    private final double[] x1 = new double[SIZE], y1 = new double[SIZE], x2 = new double[SIZE], y2 = new double[SIZE];
+
+    private SegmentRTree tree;
+
+    @BeforeEach
+    public void setUp() {
+        Random random = new Random(42);
+        for (int ii = 0; ii < SIZE; ii++) {
+            x1[ii] = random.nextDouble() * 1000;
+            y1[ii] = random.nextDouble() * 1000;
+            x2[ii] = x1[ii] + random.nextDouble() * 200 - 100;
+            y2[ii] = y1[ii] + random.nextDouble() * 200 - 100;
+        }
+        tree = new SegmentRTree(x1, y1, x2, y2, SIZE);
+    }
+
+    @Test
+    public void testSearchBox() {
+        ArrayList<Integer> expected = new ArrayList<>();
+        for (int ii = 0; ii < SIZE; ii++) {
+            if (Math.min(x1[ii], x2[ii]) <= 400 && Math.max(x1[ii], x2[ii]) >= 300
+                    && Math.min(y1[ii], y2[ii]) <= 700 && Math.max(y1[ii], y2[ii]) >= 500)
+                expected.add(ii);
+        }
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), tree.searchBox(300, 500, 400, 700));
+        assertTrue(tree.getHeight() >= 2);
+    }
+
+    @Test
+    public void testSearchSegment() {
+        ArrayList<Integer> expected = new ArrayList<>();
+        for (int ii = 0; ii < SIZE; ii++) {
+            if (FlightTable.segmentsIntersect(100, 100, 900, 800, x1[ii], y1[ii], x2[ii], y2[ii]))
+                expected.add(ii);
+        }
+        assertFalse(expected.isEmpty());
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), tree.searchSegment(100, 100, 900, 800));
+    }
+
+    @Test
+    public void testSearchRadius() {
+        int[] found = tree.searchRadius(500, 500, 50);
+        assertTrue(found.length > 0);
+        for (int seg : tree.searchBox(450, 450, 550, 550)) {
+            boolean near = false;
+            for (int step = 0; step <= 1000; step++) {
+                double x = x1[seg] + (x2[seg] - x1[seg]) * step / 1000, y = y1[seg] + (y2[seg] - y1[seg]) * step / 1000;
+                near |= Math.hypot(x - 500, y - 500) <= 49.9;
+            }
+            if (near)
+                assertTrue(Arrays.stream(found).anyMatch(ind -> ind == seg));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+import colorationAlgorithms.SimulatedAnnealing;
+import colorationAlgorithms.WelshPowell;
+import graphTools.GraphPlus;
+import testTools.TestColoring;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulatedAnnealingTest {
+
+    @Test
+    public void testImprovesWelshPowellColoring() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test17.txt"));
+        WelshPowell wp = new WelshPowell(graph);
+        wp.welshPowellAlgo();
+
+        SimulatedAnnealing annealing = new SimulatedAnnealing(graph, wp.getNodeColors());
+        annealing.setTimeLimit(0);
+        annealing.setMaxIterations(200000);
+        annealing.annealingAlgo();
+        assertTrue(annealing.getNbConflicts() < wp.getNbConflicts());
+        assertTrue(annealing.getNbColors() <= graph.getKMax());
+
+        int[] colors = annealing.getNodeColors();
+        long nbConflicts = TestColoring.countConflicts(graph, colors);
+        assertEquals(nbConflicts, annealing.getNbConflicts());
+    }
+
+    @Test
+    public void testSameSeedGivesSameColoring() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test14.txt"));
+        SimulatedAnnealing annealing1 = new SimulatedAnnealing(graph, null);
+        annealing1.setTimeLimit(0);
+        annealing1.setMaxIterations(50000);
+        annealing1.setSeed(3);
+        annealing1.annealingAlgo();
+        SimulatedAnnealing annealing2 = new SimulatedAnnealing(graph, null);
+        annealing2.setTimeLimit(0);
+        annealing2.setMaxIterations(50000);
+        annealing2.setSeed(3);
+        annealing2.annealingAlgo();
+        assertArrayEquals(annealing1.getNodeColors(), annealing2.getNodeColors());
+    }
+
+    @Test
+    public void testSearchesWithoutAnyLimit() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test17.txt"));
+        SimulatedAnnealing annealing = new SimulatedAnnealing(graph, null);
+        annealing.setTimeLimit(0);
+        annealing.annealingAlgo();
+        assertTrue(annealing.getNbIterations() > 0);
+        assertTrue(annealing.getNbIterations() <= SimulatedAnnealing.DEFAULT_MAX_ITERATIONS);
+    }
+}
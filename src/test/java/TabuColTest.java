@@ -0,0 +1,77 @@
+import colorationAlgorithms.DSatur;
+import colorationAlgorithms.TabuCol;
+import graphTools.GraphPlus;
+import testTools.TestColoring;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TabuColTest {
+
+    @Test
+    public void testImprovesDSaturColoring() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test14.txt"));
+        DSatur dSatur = new DSatur(graph, false);
+        dSatur.dSaturAlgo();
+
+        TabuCol tabuCol = new TabuCol(graph, dSatur.getNodeColors());
+        tabuCol.setMaxIterations(20000);
+        tabuCol.tabuColAlgo();
+        assertTrue(tabuCol.getNbConflicts() <= dSatur.getNbConflicts());
+        assertTrue(tabuCol.getNbColors() <= graph.getKMax());
+
+        int[] colors = tabuCol.getNodeColors();
+        long nbConflicts = TestColoring.countConflicts(graph, colors);
+        assertEquals(nbConflicts, tabuCol.getNbConflicts());
+    }
+
+    @Test
+    public void testSameSeedGivesSameColoring() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test17.txt"));
+        int[] initialColors = new int[graph.getNodeCount()];
+        TabuCol tabuCol1 = new TabuCol(graph, initialColors);
+        tabuCol1.setMaxIterations(5000);
+        tabuCol1.tabuColAlgo();
+        TabuCol tabuCol2 = new TabuCol(graph, initialColors);
+        tabuCol2.setMaxIterations(5000);
+        tabuCol2.tabuColAlgo();
+        assertArrayEquals(tabuCol1.getNodeColors(), tabuCol2.getNodeColors());
+        assertTrue(tabuCol1.getNbConflicts() < graph.getEdgeCount());
+    }
+
+    @Test
+    public void testOneColorStopsAtOnce() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test14.txt"));
+        int[] initialColors = new int[graph.getNodeCount()];
+        Arrays.fill(initialColors, 3);
+        TabuCol tabuCol = new TabuCol(graph, initialColors);
+        tabuCol.setKMax(1);
+        tabuCol.tabuColAlgo();
+        assertEquals(0, tabuCol.getNbIterations());
+        assertEquals(1, tabuCol.getNbColors());
+    }
+
+    @Test
+    public void testLoopsAreNotCountedAsNeighbors() {
+        // Path 1-2-3 with a loop on 1: from one color, only moving 2 removes both conflicts
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.createNodes(3);
+        graph.addEdge("1,1", "1", "1");
+        graph.addEdge("1,2", "1", "2");
+        graph.addEdge("2,3", "2", "3");
+        for (long seed = 0; seed < 20; seed++) {
+            TabuCol tabuCol = new TabuCol(graph, new int[3]);
+            tabuCol.setKMax(2);
+            tabuCol.setSeed(seed);
+            tabuCol.setMaxIterations(1);
+            tabuCol.tabuColAlgo();
+            assertEquals(0, tabuCol.getNbConflicts());
+        }
+    }
+}
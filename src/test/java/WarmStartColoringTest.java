@@ -0,0 +1,52 @@
+import colorationAlgorithms.DSatur;
+import colorationAlgorithms.WarmStartColoring;
+import graphTools.GraphPlus;
+import testTools.TestColoring;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WarmStartColoringTest {
+
+    @Test
+    public void testShrinkKeepsColorsBelowKMax() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test14.txt"));
+        DSatur dSatur = new DSatur(graph, false);
+        dSatur.dSaturAlgo();
+        int[] previousColors = dSatur.getNodeColors();
+
+        int kMax = graph.getKMax() - 1;
+        WarmStartColoring warmStart = new WarmStartColoring(graph, previousColors);
+        warmStart.setKMax(kMax);
+        warmStart.setMaxIterations(0);
+        warmStart.colorGraph();
+        int[] colors = warmStart.getNodeColors();
+        for (int ii = 0; ii < colors.length; ii++) {
+            assertTrue(colors[ii] < kMax);
+            if (previousColors[ii] < kMax)
+                assertEquals(previousColors[ii], colors[ii]);
+        }
+
+        long nbConflicts = TestColoring.countConflicts(graph, colors);
+        assertEquals(nbConflicts, warmStart.getNbConflicts());
+    }
+
+    @Test
+    public void testGrowSplitsConflicts() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test17.txt"));
+        DSatur dSatur = new DSatur(graph, false);
+        dSatur.setKMax(graph.getKMax());
+        dSatur.dSaturAlgo();
+
+        WarmStartColoring warmStart = new WarmStartColoring(graph, dSatur.getNodeColors());
+        warmStart.setKMax(graph.getKMax() + 2);
+        warmStart.setMaxIterations(0);
+        warmStart.colorGraph();
+        assertTrue(warmStart.getNbColors() <= graph.getKMax() + 2);
+        assertTrue(warmStart.getNbConflicts() < dSatur.getNbConflicts());
+    }
+}
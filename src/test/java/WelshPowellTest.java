@@ -0,0 +1,34 @@
+import colorationAlgorithms.WelshPowell;
+import graphTools.GraphPlus;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WelshPowellTest {
+
+    @Test
+    public void testUnlimitedColorsGiveProperColoring() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test13.txt"));
+        WelshPowell wp = new WelshPowell(graph);
+        wp.setKMax(0);
+        wp.welshPowellAlgo();
+        assertEquals(0, wp.getNbConflicts());
+        int maxDegree = graph.nodes().mapToInt(node -> node.getDegree()).max().orElse(0);
+        assertTrue(wp.getNbColors() <= maxDegree + 1);
+    }
+
+    @Test
+    public void testColoringIsDeterministic() throws Exception {
+        GraphPlus graph = new GraphPlus("testGraph");
+        graph.loadTestGraph(new File("Data Test/graph-test17.txt"));
+        WelshPowell wp1 = new WelshPowell(graph);
+        wp1.welshPowellAlgo();
+        WelshPowell wp2 = new WelshPowell(graph);
+        wp2.welshPowellAlgo();
+        assertArrayEquals(wp1.getNodeColors(), wp2.getNodeColors());
+        assertTrue(wp1.getNbColors() <= graph.getKMax());
+    }
+}
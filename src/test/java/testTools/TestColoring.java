@@ -0,0 +1,19 @@
+package testTools;
+
+import graphTools.GraphPlus;
+
+public class TestColoring {
+
+    /**
+     * Counts the conflicts of a coloring directly from the edges of the graph.
+     *
+     * @param graph The colored graph.
+     * @param colors The color of each node, -1 for an uncolored node.
+     * @return The number of edges between two distinct nodes of the same color, loops and uncolored nodes left out.
+     */
+    public static long countConflicts(GraphPlus graph, int[] colors) {
+        return graph.edges().filter(edge -> edge.getNode0() != edge.getNode1()
+                && colors[edge.getNode0().getIndex()] != -1
+                && colors[edge.getNode0().getIndex()] == colors[edge.getNode1().getIndex()]).count();
+    }
+}